@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld;
+
+import io.spine.base.Identifier;
+import io.spine.helloworld.client.Client;
+import io.spine.helloworld.client.EventRenderer;
+import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.hello.event.Printed;
+import io.spine.helloworld.metrics.Metrics;
+import io.spine.helloworld.server.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Measures the round trip from sending the {@link Print} command by the {@link Client}
+ * to receiving the {@link Printed} event by the client.
+ *
+ * <p>The client and the server are connected either in-process or over the loopback network
+ * interface, so that the overhead of the network transport is seen by comparing the two.
+ */
+@State(Scope.Benchmark)
+public class RoundTripBenchmark {
+
+    private static final int PIPELINED_COMMANDS = 100;
+
+    @Param({"in-process", "network"})
+    private String transport;
+
+    private Server server;
+    private Client client;
+
+    @Setup
+    public void setUp() throws IOException {
+        EventRenderer discard = event -> {};
+        if ("network".equals(transport)) {
+            server = Server.atPort(0);
+            server.start();
+            client = Client.connectTo("localhost", server.port(), Client.DEFAULT_CHANNELS,
+                                      Metrics.disabled(), discard);
+        } else {
+            String serverName = Identifier.newUuid();
+            server = new Server(serverName);
+            server.start();
+            client = new Client(serverName, Metrics.disabled(), discard);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public Printed sendAndObserve() {
+        return client.print("Hello World!")
+                     .join();
+    }
+
+    /**
+     * Sends a number of commands without waiting for the events, and then waits for all
+     * the events, which shows the throughput of the transport.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PIPELINED_COMMANDS)
+    public void sendPipelined() {
+        CompletableFuture<?>[] results = new CompletableFuture<?>[PIPELINED_COMMANDS];
+        for (int i = 0; i < PIPELINED_COMMANDS; i++) {
+            results[i] = client.print("Hello World!");
+        }
+        CompletableFuture.allOf(results)
+                         .join();
+    }
+}
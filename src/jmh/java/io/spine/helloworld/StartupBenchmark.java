@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.helloworld.hello.event.Printed;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Measures the time from launching the {@link Example} JVM to the first {@link Printed} event
+ * received by its client.
+ *
+ * <p>JMH measures a running JVM and cannot see the class loading which dominates the wall time
+ * of the short-lived example. Therefore, this benchmark launches a separate JVM per run and
+ * stops the clock when the client renders the event to the standard output.
+ *
+ * <p>The example is launched in the following configurations:
+ * <ol>
+ *     <li>{@code default} — the server initializes the Hello Context before accepting requests;
+ *     <li>{@code lazy} — the server accepts requests right away and initializes the Context
+ *         in background;
+ *     <li>{@code cds+lazy} — the lazy server run with the application class-data sharing
+ *         archive and the C1-only compilation.
+ * </ol>
+ *
+ * <p>The program is run by the {@code startupBenchmark} Gradle task with the following
+ * arguments:
+ * <ol>
+ *     <li>the number of runs per configuration;
+ *     <li>the JAR-only classpath of the example;
+ *     <li>the path to the shared archive produced by the {@code cdsArchive} task.
+ * </ol>
+ */
+public final class StartupBenchmark {
+
+    /**
+     * The prefix of the line printed by the client upon receiving the event.
+     */
+    private static final String EVENT_LINE = "The client received the event";
+
+    private static final String LAZY = "-Dio.spine.helloworld.lazy=true";
+
+    /** Prevents instantiation of this program class. */
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 3) {
+            System.err.println("Usage: StartupBenchmark <runs> <classpath> <shared archive>");
+            System.exit(1);
+        }
+        int runs = Integer.parseInt(args[0]);
+        String classpath = args[1];
+        String archive = args[2];
+
+        measure("default", runs, classpath, ImmutableList.of());
+        measure("lazy", runs, classpath, ImmutableList.of(LAZY));
+        measure("cds+lazy", runs, classpath,
+                ImmutableList.of("-Xshare:auto",
+                                 "-XX:SharedArchiveFile=" + archive,
+                                 "-XX:TieredStopAtLevel=1",
+                                 LAZY));
+    }
+
+    private static void measure(String configuration, int runs, String classpath,
+                                List<String> jvmArgs)
+            throws IOException, InterruptedException {
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = timeToFirstEvent(classpath, jvmArgs);
+        }
+        Arrays.sort(millis);
+        System.out.println(format("%-10s min %5d ms, median %5d ms, max %5d ms",
+                                  configuration, millis[0], millis[runs / 2], millis[runs - 1]));
+    }
+
+    private static long timeToFirstEvent(String classpath, List<String> jvmArgs)
+            throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin"
+                + File.separator + "java";
+        ImmutableList<String> command = ImmutableList.<String>builder()
+                .add(java)
+                .addAll(jvmArgs)
+                .add("-cp", classpath, Example.class.getName())
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .start();
+        long elapsed = -1;
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (elapsed < 0 && line.startsWith(EVENT_LINE)) {
+                    elapsed = System.nanoTime() - start;
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        if (elapsed < 0) {
+            throw new IllegalStateException(format(
+                    "The example exited with code %d without receiving the event.", exitCode));
+        }
+        return NANOSECONDS.toMillis(elapsed);
+    }
+}
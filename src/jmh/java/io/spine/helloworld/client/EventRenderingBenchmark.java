@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import com.google.common.io.ByteStreams;
+import io.spine.helloworld.hello.event.Printed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.PrintStream;
+
+import static io.spine.json.Json.toCompactJson;
+import static java.lang.String.format;
+
+/**
+ * Compares rendering of a received event via {@code Json.toCompactJson()} and
+ * {@code String.format()}, as the client did before, with the {@link EventRenderer}s.
+ *
+ * <p>The benchmarks run in one thread, so the throughput is the number of events rendered
+ * per second by one core. The events are written to a stream which discards them.
+ */
+@State(Scope.Thread)
+public class EventRenderingBenchmark {
+
+    private final Printed event = Printed.newBuilder()
+            .setUsername("john")
+            .setText("Hello World!")
+            .setLine(42)
+            .build();
+
+    private final PrintStream out = new PrintStream(ByteStreams.nullOutputStream());
+    private final EventRenderer text = EventRenderer.text(out);
+    private final EventRenderer binary = EventRenderer.binary(ByteStreams.nullOutputStream());
+    private final EventRenderer sampled = EventRenderer.sampled(text, 100);
+
+    @TearDown
+    public void closeRenderers() {
+        text.close();
+        binary.close();
+    }
+
+    /**
+     * The rendering used by {@code Client} before the renderers were introduced.
+     */
+    @Benchmark
+    public void compactJson() {
+        String line = format(
+                "The client received the event: %s%s",
+                event.getClass()
+                     .getName(),
+                toCompactJson(event)
+        );
+        out.println(line);
+    }
+
+    @Benchmark
+    public void textRenderer() {
+        text.render(event);
+    }
+
+    @Benchmark
+    public void binaryRenderer() {
+        binary.render(event);
+    }
+
+    @Benchmark
+    public void sampledTextRenderer() {
+        sampled.render(event);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.delivery;
+
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.UserId;
+import io.spine.environment.DefaultMode;
+import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.server.hello.HelloContext;
+import io.spine.helloworld.server.hello.HelloSettings;
+import io.spine.server.BoundedContext;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.commandbus.CommandBus;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static io.spine.grpc.StreamObservers.noOpObserver;
+
+/**
+ * Measures the throughput of handling {@code Print} commands of many users depending on
+ * the number of delivery shards.
+ *
+ * <p>Each operation posts a command, and each invocation waits until all the posted
+ * commands are delivered to the consoles. The consoles do not print anywhere.
+ */
+@State(Scope.Benchmark)
+public class ShardedDeliveryBenchmark {
+
+    private static final int USERS = 256;
+    private static final int COMMANDS_PER_INVOCATION = 1_024;
+
+    @Param({"1", "2", "4", "8"})
+    private int shards;
+
+    private ShardedDelivery delivery;
+    private BoundedContext context;
+    private ActorRequestFactory requests;
+    private Print[] commands;
+
+    @Setup
+    public void setUp() {
+        delivery = ShardedDelivery.withShards(shards);
+        ServerEnvironment.when(DefaultMode.class)
+                .use(InMemoryStorageFactory.newInstance())
+                .use(delivery.delivery())
+                .use(InMemoryTransportFactory.newInstance());
+        HelloSettings settings = HelloSettings.newBuilder()
+                .setSink((username, text) -> {})
+                .build();
+        context = HelloContext.newBuilder(settings)
+                              .build();
+        UserId actor = UserId.newBuilder()
+                .setValue(ShardedDeliveryBenchmark.class.getSimpleName())
+                .build();
+        requests = ActorRequestFactory.newBuilder()
+                .setActor(actor)
+                .build();
+        commands = new Print[USERS];
+        for (int i = 0; i < USERS; i++) {
+            commands[i] = Print.newBuilder()
+                    .setUsername("user-" + i)
+                    .setText("Hello World!")
+                    .vBuild();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS_PER_INVOCATION)
+    public void deliver() {
+        CommandBus bus = context.commandBus();
+        for (int i = 0; i < COMMANDS_PER_INVOCATION; i++) {
+            bus.post(requests.command()
+                             .create(commands[i % USERS]), noOpObserver());
+        }
+        while (delivery.pendingMessages() > 0) {
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.zip.Deflater;
+
+import static java.lang.String.format;
+
+/**
+ * Measures compressing the texts of a {@link Console} for a snapshot.
+ *
+ * <p>The size of the serialized compressed state of {@value #PRINTED_LINES} lines is reported
+ * as the {@code storedBytes} counter.
+ */
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+
+    private static final int PRINTED_LINES = 1_000;
+
+    /** The {@linkplain Deflater#setLevel(int) level} of the compression. */
+    @Param({"1", "6", "9"})
+    private int level;
+
+    private Compression compression;
+    private Output state;
+
+    @Setup
+    public void printLines() {
+        compression = Compression.deflate(level, 16 * 1024);
+        Output.Builder screen = Output.newBuilder()
+                                      .setUsername("jmh");
+        for (int i = 0; i < PRINTED_LINES; i++) {
+            String line = format("[INFO] Handled the request #%d of the user `jmh` in %d ms.",
+                                 i, i % 17);
+            Scrollback.unlimited()
+                      .append(screen, line);
+        }
+        state = screen.build();
+    }
+
+    @Benchmark
+    public Output compress(StoredBytes stored) {
+        Output result = compression.compress(state);
+        stored.storedBytes = result.getSerializedSize();
+        return result;
+    }
+
+    /**
+     * Reports the size of the serialized compressed state.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StoredBytes {
+
+        public long storedBytes;
+    }
+}
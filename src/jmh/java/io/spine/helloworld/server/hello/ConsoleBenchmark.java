@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.core.Command;
+import io.spine.helloworld.hello.command.Print;
+import io.spine.server.type.CommandEnvelope;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import static io.spine.testing.server.entity.given.Given.processManagerOfClass;
+import static io.spine.testing.server.procman.PmDispatcher.dispatch;
+
+/**
+ * Measures handling of the {@link Print} command by the {@link Console} alone.
+ *
+ * <p>The command is dispatched directly to the process manager instance, bypassing
+ * the buses, routing, and storage of the Hello Context.
+ */
+@State(Scope.Benchmark)
+public class ConsoleBenchmark {
+
+    private static final String USERNAME = "jmh";
+
+    private final TestActorRequestFactory requests =
+            new TestActorRequestFactory(ConsoleBenchmark.class);
+
+    private final Print message = Print.newBuilder()
+            .setUsername(USERNAME)
+            .setText("Hello World!")
+            .vBuild();
+
+    private Console console;
+
+    /**
+     * Starts each iteration with a fresh process manager, so that the history accumulated
+     * by the previous iterations does not affect the measurement.
+     */
+    @Setup(Level.Iteration)
+    public void createConsole() {
+        console = processManagerOfClass(Console.class)
+                .withId(USERNAME)
+                .build();
+    }
+
+    @Benchmark
+    public Object handle() {
+        Command command = requests.createCommand(message);
+        return dispatch(console, CommandEnvelope.of(command));
+    }
+}
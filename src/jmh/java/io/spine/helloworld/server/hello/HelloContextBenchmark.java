@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.base.CommandMessage;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Command;
+import io.spine.core.UserId;
+import io.spine.environment.DefaultMode;
+import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.hello.command.PrintAll;
+import io.spine.server.BoundedContext;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.delivery.Delivery;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static io.spine.grpc.StreamObservers.noOpObserver;
+
+/**
+ * Measures posting the {@link Print} command to the Hello Context running in-process.
+ *
+ * <p>The Context is served synchronously by {@link Delivery#local()}, so that each measured
+ * operation includes validation, routing, loading and storing of the {@link Console},
+ * and posting of the resulting event.
+ */
+@State(Scope.Benchmark)
+public class HelloContextBenchmark {
+
+    /** The number of lines in a {@link PrintAll} command. */
+    private static final int BATCH_SIZE = 100;
+
+    /** The number of users to which the posted commands are distributed round-robin. */
+    @Param({"1", "16"})
+    private int users;
+
+    private BoundedContext context;
+    private ActorRequestFactory requests;
+    private Print[] commands;
+    private PrintAll[] batches;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ServerEnvironment.when(DefaultMode.class)
+                .use(InMemoryStorageFactory.newInstance())
+                .use(Delivery.local())
+                .use(InMemoryTransportFactory.newInstance());
+        context = HelloContext.newBuilder()
+                              .build();
+        UserId actor = UserId.newBuilder()
+                .setValue(HelloContextBenchmark.class.getSimpleName())
+                .build();
+        requests = ActorRequestFactory.newBuilder()
+                .setActor(actor)
+                .build();
+        commands = new Print[users];
+        for (int i = 0; i < users; i++) {
+            commands[i] = Print.newBuilder()
+                    .setUsername("user-" + i)
+                    .setText("Hello World!")
+                    .vBuild();
+        }
+        batches = new PrintAll[users];
+        for (int i = 0; i < users; i++) {
+            PrintAll.Builder batch = PrintAll.newBuilder()
+                    .setUsername("user-" + i);
+            for (int line = 0; line < BATCH_SIZE; line++) {
+                batch.addText("Hello World!");
+            }
+            batches[i] = batch.vBuild();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    public void postPrint() {
+        Print message = commands[next];
+        next = (next + 1) % users;
+        post(message);
+    }
+
+    /**
+     * Posts the lines in {@link PrintAll} batches, reporting the measurements per line.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void postPrintAll() {
+        PrintAll message = batches[next];
+        next = (next + 1) % users;
+        post(message);
+    }
+
+    private void post(CommandMessage message) {
+        Command command = requests.command()
+                                  .create(message);
+        context.commandBus()
+               .post(command, noOpObserver());
+    }
+}
@@ -33,9 +33,6 @@ import io.spine.helloworld.hello.event.Printed;
 import io.spine.helloworld.server.Server;
 
 import java.io.IOException;
-import java.time.Duration;
-
-import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
 
 /**
  * This example application demonstrates sending a command to a server, observing the results
@@ -67,7 +64,7 @@ public final class Example {
      *     <li>Generates the name for the in-process server.
      *     <li>Creates the server with the generated name and starts it.
      *     <li>Creates a client which connects to the server.
-     *     <li>The client sends the command.
+     *     <li>The client sends the command and waits for the resulting event.
      * </ol>
      *
      * <p>After that the method performs the clean-up by shutting down the client and then
@@ -76,7 +73,6 @@ public final class Example {
      * @see Server
      * @see Client
      */
-    @SuppressWarnings("UnstableApiUsage") // `sleepUninterruptibly()` is @Beta. OK for this example.
     public static void main(String[] args) {
         String serverName = Identifier.newUuid();
         Server server = new Server(serverName);
@@ -84,10 +80,8 @@ public final class Example {
         try {
             server.start();
             client = new Client(serverName);
-            client.sendCommand();
-            while (!client.isDone()) {
-                sleepUninterruptibly(Duration.ofMillis(100));
-            }
+            client.sendCommand()
+                  .join();
         } catch (IOException e) {
             onError(e);
         } finally {
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld;
+
+import com.google.common.net.HostAndPort;
+import io.spine.base.Identifier;
+import io.spine.core.TenantId;
+import io.spine.helloworld.client.Client;
+import io.spine.helloworld.client.LoadReport;
+import io.spine.helloworld.server.Server;
+import io.spine.helloworld.server.hello.HelloSettings;
+import io.spine.helloworld.server.output.AsyncOutputSink;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Generates load on the Hello server and reports the throughput and latencies.
+ *
+ * <p>The application accepts five optional arguments:
+ * <ol>
+ *     <li>the number of simulated users, 10 by default;
+ *     <li>the number of commands sent on behalf of each user, 1000 by default;
+ *     <li>the maximum number of commands in flight, 100 by default;
+ *     <li>the {@code host:port} of the server started by {@link ServerExample};
+ *     <li>the tenant on behalf of which the commands are sent to a multitenant server.
+ * </ol>
+ *
+ * <p>If the address of the server is not passed, the application starts an in-process
+ * server. The lines printed by its consoles are written to a temporary file, so that
+ * the output of the report is not mixed with them.
+ */
+public final class LoadExample {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(5);
+
+    /** Prevents instantiation of this application class. */
+    private LoadExample() {
+    }
+
+    @SuppressWarnings("UseOfSystemOutOrSystemErr")
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int users = argument(args, 0, 10);
+        int commandsPerUser = argument(args, 1, 1000);
+        int maxInFlight = argument(args, 2, 100);
+
+        if (args.length > 3) {
+            HostAndPort server = HostAndPort.fromString(args[3]);
+            Client client = args.length > 4
+                            ? Client.connectTo(server.getHost(), server.getPort(),
+                                               TenantId.newBuilder()
+                                                       .setValue(args[4])
+                                                       .build())
+                            : Client.connectTo(server.getHost(), server.getPort());
+            try {
+                generateLoad(client, users, commandsPerUser, maxInFlight);
+            } finally {
+                client.close();
+            }
+            return;
+        }
+        String serverName = Identifier.newUuid();
+        Path output = Files.createTempFile("hello-load", ".txt");
+        HelloSettings settings = HelloSettings.newBuilder()
+                .setSink(AsyncOutputSink.toFile(output))
+                .build();
+        Server server = new Server(serverName, settings);
+        Client client = null;
+        try {
+            server.start();
+            client = new Client(serverName);
+            generateLoad(client, users, commandsPerUser, maxInFlight);
+            System.out.println("The printed lines are written to " + output);
+        } finally {
+            if (client != null) {
+                client.close();
+            }
+            server.shutdown();
+        }
+    }
+
+    @SuppressWarnings("UseOfSystemOutOrSystemErr")
+    private static void generateLoad(Client client,
+                                     int users,
+                                     int commandsPerUser,
+                                     int maxInFlight) throws InterruptedException {
+        LoadReport report = client.loadGenerator(users, commandsPerUser, maxInFlight, TIMEOUT)
+                                  .run();
+        System.out.println(report);
+    }
+
+    private static int argument(String[] args, int index, int defaultValue) {
+        return args.length > index
+               ? Integer.parseInt(args[index])
+               : defaultValue;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld;
+
+import io.spine.helloworld.server.Server;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs the Hello server which accepts the clients over the network until the process
+ * is terminated.
+ *
+ * <p>The application accepts the port to listen as an optional argument,
+ * {@linkplain Server#DEFAULT_PORT 8484} by default.
+ *
+ * @see LoadExample
+ */
+public final class ServerExample {
+
+    /** Prevents instantiation of this application class. */
+    private ServerExample() {
+    }
+
+    @SuppressWarnings("UseOfSystemOutOrSystemErr")
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0
+                   ? Integer.parseInt(args[0])
+                   : Server.DEFAULT_PORT;
+        Server server = Server.atPort(port);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime()
+               .addShutdownHook(new Thread(() -> {
+                   server.shutdown();
+                   stopped.countDown();
+               }));
+        server.start();
+        System.out.println("The Hello server is listening at port " + server.port() + '.');
+        stopped.await();
+    }
+}
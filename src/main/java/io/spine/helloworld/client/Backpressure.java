@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Tells the producers of commands to slow down while the server is overloaded.
+ *
+ * <p>Each command which the server rejects or drops because too many commands are waiting
+ * for the consoles, or because the tenant exceeds its quota, is an overload, and each
+ * received event is a success. While overloads
+ * keep coming, the suggested {@linkplain #delay() delay} between commands doubles from
+ * a millisecond up to a second. Each success halves the delay, so the producers speed up
+ * as soon as the server catches up.
+ *
+ * <p>Producers call {@link #pause()} before sending a command. Holding the commands on
+ * the client keeps the inboxes of the server short, and so keeps the latency of
+ * the admitted commands bounded.
+ */
+public final class Backpressure {
+
+    private static final long MIN_DELAY = MILLISECONDS.toNanos(1);
+    private static final long MAX_DELAY = SECONDS.toNanos(1);
+
+    private final AtomicLong delay = new AtomicLong();
+    private final LongAdder overloads = new LongAdder();
+
+    Backpressure() {
+    }
+
+    /**
+     * Records that a command was not accepted by the overloaded server.
+     */
+    void onOverloaded() {
+        overloads.increment();
+        delay.updateAndGet(d -> d == 0 ? MIN_DELAY : Math.min(d * 2, MAX_DELAY));
+    }
+
+    /**
+     * Records that the event of a command was received.
+     */
+    void onAccepted() {
+        if (delay.get() != 0) {
+            delay.updateAndGet(d -> d <= MIN_DELAY ? 0 : d / 2);
+        }
+    }
+
+    /**
+     * Tells if the server was overloaded recently, so the producers should slow down.
+     */
+    public boolean isOverloaded() {
+        return delay.get() != 0;
+    }
+
+    /**
+     * Obtains the suggested delay before sending the next command.
+     *
+     * @return the delay, or zero if the server is not overloaded
+     */
+    public Duration delay() {
+        return Duration.ofNanos(delay.get());
+    }
+
+    /**
+     * Waits for the {@linkplain #delay() suggested delay}, if any.
+     */
+    public void pause() throws InterruptedException {
+        long nanos = delay.get();
+        if (nanos != 0) {
+            NANOSECONDS.sleep(nanos);
+        }
+    }
+
+    /**
+     * Obtains the number of the commands which the server did not accept since the client
+     * was created.
+     */
+    public long overloads() {
+        return overloads.sum();
+    }
+}
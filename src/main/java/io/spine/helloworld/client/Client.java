@@ -26,101 +26,655 @@
 
 package io.spine.helloworld.client;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import io.spine.base.EventMessage;
-import io.spine.client.Subscription;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.util.Timestamps;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.spine.base.Error;
+import io.spine.base.Identifier;
+import io.spine.base.Time;
+import io.spine.client.ActorRequestFactory;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceFutureStub;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.Status;
+import io.spine.core.TenantId;
+import io.spine.core.UserId;
+import io.spine.helloworld.hello.ErrorTypes;
+import io.spine.helloworld.hello.Tokens;
 import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.hello.command.PrintAll;
+import io.spine.helloworld.hello.command.PrintChunk;
 import io.spine.helloworld.hello.event.Printed;
+import io.spine.helloworld.hello.event.PrintedChunk;
+import io.spine.helloworld.hello.observation.PrintedChunkEvent;
+import io.spine.helloworld.hello.observation.PrintedEvent;
+import io.spine.helloworld.hello.observation.PrintedFilter;
+import io.spine.helloworld.hello.query.TokenIndex;
+import io.spine.helloworld.hello.query.UserPrints;
+import io.spine.helloworld.metrics.Counter;
+import io.spine.helloworld.metrics.Metrics;
+import io.spine.helloworld.metrics.Timer;
+import io.spine.helloworld.net.ChannelPool;
+import io.spine.helloworld.net.Retries;
+import io.spine.helloworld.trace.Span;
+import io.spine.helloworld.trace.Stage;
+import io.spine.helloworld.trace.Tracing;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
-import static io.spine.client.Client.inProcess;
-import static io.spine.json.Json.toCompactJson;
-import static java.lang.String.format;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.spine.client.Client.usingChannel;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 
 /**
  * A simple client that sends the {@link Print} command to the Hello server, subscribes to
- * the resulting events, and prints them as they arrive.
+ * the resulting events, and renders them as they arrive.
+ *
+ * <p>The outcome of a sent command is available as a {@link CompletableFuture}, so that
+ * callers can await or compose the results of many commands without polling.
+ *
+ * <p>A client of a multitenant server is created for a tenant, and acts on behalf of
+ * the tenant in all its requests.
+ *
+ * <p>The stages of sending a command and receiving its event are {@linkplain Tracing traced}.
  */
 public final class Client {
 
+    /** The number of pooled channels of a client connected over the network. */
+    public static final int DEFAULT_CHANNELS = 4;
+
+    /** The maximum number of characters in a chunk of a streamed text by default. */
+    public static final int DEFAULT_CHUNK_CHARS = 16 * 1024;
+
     private final io.spine.client.Client client;
+    private final ManagedChannel channel;
+    private final CommandServiceFutureStub commands;
+    private final ActorRequestFactory requests;
+    private final TenantId tenant;
+    private final String userName = System.getProperty("user.name");
+
+    /** The commands waiting for their events by the command IDs. */
+    private final Map<String, CompletableFuture<Printed>> pending = new ConcurrentHashMap<>();
+
+    /** The streamed texts waiting for the events of their chunks by the command IDs. */
+    private final Map<String, CompletableFuture<PrintedChunk>> pendingChunks =
+            new ConcurrentHashMap<>();
+
+    /** The observation of the events of the current user, opened on demand. */
+    private @Nullable PrintedStream userEvents;
+
+    /** The time from emitting a {@link Printed} event on the server to receiving it. */
+    private final Timer printedLag;
 
-    /** The subscriptions to the outcome of the sent command. */
-    private @Nullable ImmutableSet<Subscription> subscriptions;
+    /** The number of received {@link Printed} events. */
+    private final Counter printedReceived;
+
+    /** Renders the events received in response to {@link #sendCommand()}. */
+    private final EventRenderer renderer;
+
+    /** The time of answering the queries on the printed text. */
+    private final Timer queryTime;
+
+    /** Tells the producers to slow down when the server does not accept commands. */
+    private final Backpressure backpressure = new Backpressure();
+
+    /** Sends the lines of {@linkplain PrintBatch batches} by timeout, created on demand. */
+    private @Nullable ScheduledExecutorService scheduler;
 
     public Client(String serverName) {
-        this.client = inProcess(serverName)
-                .shutdownTimeout(2, TimeUnit.SECONDS)
-                .build();
+        this(serverName, Metrics.disabled());
+    }
+
+    /**
+     * Creates the client which reports the delivery of events to the given metrics.
+     */
+    public Client(String serverName, Metrics metrics) {
+        this(serverName, metrics, EventRenderer.systemOut());
     }
 
     /**
-     * Sends the {@link Print} command to the server subscribing to resulting event.
+     * Creates the client which reports the delivery of events to the given metrics and
+     * renders the received events with the given renderer.
+     *
+     * <p>The renderer is closed together with the client.
+     */
+    public Client(String serverName, Metrics metrics, EventRenderer renderer) {
+        this(inProcessChannel(serverName), metrics, renderer, TenantId.getDefaultInstance());
+    }
+
+    /**
+     * Creates the client which sends the commands and the queries on behalf of the given
+     * tenant of a multitenant server.
      */
-    public void sendCommand() {
-        String userName = System.getProperty("user.name");
+    public Client(String serverName, TenantId tenant) {
+        this(inProcessChannel(serverName), Metrics.disabled(), EventRenderer.systemOut(), tenant);
+    }
+
+    private static ManagedChannel inProcessChannel(String serverName) {
+        return Retries.retryUnavailable(InProcessChannelBuilder.forName(serverName))
+                      .build();
+    }
+
+    private Client(ManagedChannel channel,
+                   Metrics metrics,
+                   EventRenderer renderer,
+                   TenantId tenant) {
+        this.renderer = checkNotNull(renderer);
+        this.tenant = checkNotNull(tenant);
+        this.channel = channel;
+        boolean multitenant = !tenant.equals(TenantId.getDefaultInstance());
+        io.spine.client.Client.Builder clientBuilder = usingChannel(channel)
+                .shutdownTimeout(2, TimeUnit.SECONDS);
+        ActorRequestFactory.Builder requestsBuilder = ActorRequestFactory
+                .newBuilder()
+                .setActor(UserId.newBuilder()
+                                .setValue(userName)
+                                .build());
+        if (multitenant) {
+            clientBuilder.forTenant(tenant);
+            requestsBuilder.setTenantId(tenant);
+        }
+        this.client = clientBuilder.build();
+        this.requests = requestsBuilder.build();
+        this.commands = CommandServiceGrpc.newFutureStub(channel);
+        this.printedLag = metrics.timer("client.printed.lag");
+        this.printedReceived = metrics.counter("client.printed.received");
+        this.queryTime = metrics.timer("client.query");
+    }
+
+    /**
+     * Creates the client connected to the server at the given address over the network.
+     *
+     * <p>The requests are spread over the {@linkplain #DEFAULT_CHANNELS default number}
+     * of pooled channels.
+     *
+     * @see io.spine.helloworld.server.Server#atPort(int)
+     */
+    public static Client connectTo(String host, int port) {
+        return connectTo(host, port, DEFAULT_CHANNELS, Metrics.disabled(),
+                         EventRenderer.systemOut());
+    }
+
+    /**
+     * Creates the client connected to the multitenant server at the given address over
+     * the network, which sends the commands and the queries on behalf of the given tenant.
+     *
+     * @see #connectTo(String, int)
+     */
+    public static Client connectTo(String host, int port, TenantId tenant) {
+        ChannelPool pool = ChannelPool.connectTo(host, port, DEFAULT_CHANNELS);
+        return new Client(pool, Metrics.disabled(), EventRenderer.systemOut(), tenant);
+    }
+
+    /**
+     * Creates the client connected to the server at the given address over the network.
+     *
+     * @param host
+     *         the host of the server
+     * @param port
+     *         the port of the server
+     * @param channels
+     *         the number of pooled channels, each with its own connection to the server
+     * @param metrics
+     *         the metrics to report the delivery of events to
+     * @param renderer
+     *         the renderer of the received events
+     */
+    public static Client connectTo(String host,
+                                   int port,
+                                   int channels,
+                                   Metrics metrics,
+                                   EventRenderer renderer) {
+        ChannelPool pool = ChannelPool.connectTo(host, port, channels);
+        return new Client(pool, metrics, renderer, TenantId.getDefaultInstance());
+    }
+
+    /**
+     * Sends the {@link Print} command to the server and renders the resulting event
+     * when it arrives.
+     *
+     * @return the future which completes after the event is rendered
+     */
+    public CompletableFuture<Printed> sendCommand() {
+        return print("Hello World!")
+                .whenComplete((event, error) -> {
+                    if (event != null) {
+                        renderer.render(event);
+                    }
+                });
+    }
+
+    /**
+     * Sends the {@link Print} command with the passed text on behalf of the current user.
+     *
+     * <p>The returned future completes when the {@link Printed} event produced in response
+     * to the command arrives, or fails if the command is not acknowledged by the server.
+     * If the server is overloaded, the future fails with {@link OverloadedException}, and
+     * the {@linkplain #backpressure() backpressure} signals the producers to slow down.
+     *
+     * <p>The events are received via the {@linkplain PrintedStream observation} of the events
+     * of the current user, which is opened once for the client. So, the server sends to
+     * the client only the events of its user.
+     */
+    @SuppressWarnings("FutureReturnValueIgnored") // The stages complete the result.
+    public CompletableFuture<Printed> print(String text) {
+        Span validation = Tracing.begin(Stage.VALIDATE);
         Print commandMessage =
                 Print.newBuilder()
                      .setUsername(userName)
-                     .setText("Hello World!")
+                     .setText(text)
                      .vBuild();
-        this.subscriptions =
-                client.asGuest()
-                      .command(commandMessage)
-                      .observe(Printed.class, this::onPrinted)
-                      .post();
+        Command command = requests.command()
+                                  .create(commandMessage);
+        String commandId = command.getId()
+                                  .getUuid();
+        validation.commit(commandId);
+        CompletableFuture<Printed> result = new CompletableFuture<>();
+        pending.put(commandId, result);
+        result.whenComplete((event, error) -> pending.remove(commandId));
+        userEvents().registered()
+                    .thenRun(() -> post(command, result, () -> {}))
+                    .exceptionally(error -> {
+                        result.completeExceptionally(error);
+                        return null;
+                    });
+        return result;
+    }
+
+    /**
+     * Streams the text to the server in {@link PrintChunk} commands of
+     * the {@linkplain #DEFAULT_CHUNK_CHARS default size} on behalf of the current user.
+     *
+     * @see #printStreamed(Reader, int)
+     */
+    public CompletableFuture<PrintedChunk> printStreamed(Reader text) {
+        return printStreamed(text, DEFAULT_CHUNK_CHARS);
+    }
+
+    /**
+     * Streams the text to the server in {@link PrintChunk} commands on behalf of
+     * the current user.
+     *
+     * <p>The text is read a chunk at a time, and each chunk is sent after the previous one is
+     * acknowledged, so neither the client nor the server holds the whole text in memory.
+     * The reading happens in the thread which receives the acknowledgements.
+     *
+     * <p>The returned future completes when the event of the last chunk arrives. It fails if
+     * the text is empty or cannot be read, or if any of the chunks is not printed, in which
+     * case the rest of the text is not sent.
+     *
+     * @param text
+     *         the text to print
+     * @param chunkChars
+     *         the maximum number of characters in a chunk, at least two
+     */
+    @SuppressWarnings("FutureReturnValueIgnored") // The stages complete the result.
+    public CompletableFuture<PrintedChunk> printStreamed(Reader text, int chunkChars) {
+        TextChunks chunks = new TextChunks(text, chunkChars);
+        String streamId = Identifier.newUuid();
+        CompletableFuture<PrintedChunk> result = new CompletableFuture<>();
+        result.whenComplete((chunk, error) -> {
+            if (error != null) {
+                pendingChunks.values()
+                             .removeIf(result::equals);
+            }
+        });
+        userEvents().registered()
+                    .thenRun(() -> sendChunk(streamId, chunks, 0, result))
+                    .exceptionally(error -> {
+                        result.completeExceptionally(error);
+                        return null;
+                    });
+        return result;
+    }
+
+    /**
+     * Reads and posts the chunk of the streamed text with the given index, posting
+     * the next chunk after this one is acknowledged.
+     */
+    private void sendChunk(String streamId,
+                           TextChunks chunks,
+                           int index,
+                           CompletableFuture<PrintedChunk> result) {
+        if (result.isDone()) {
+            return;
+        }
+        @Nullable String text;
+        boolean last;
+        try {
+            text = chunks.next();
+            last = chunks.isLast();
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        if (text == null) {
+            result.completeExceptionally(new IllegalArgumentException("The text is empty."));
+            return;
+        }
+        Span validation = Tracing.begin(Stage.VALIDATE);
+        PrintChunk commandMessage =
+                PrintChunk.newBuilder()
+                          .setUsername(userName)
+                          .setStreamId(streamId)
+                          .setIndex(index)
+                          .setText(text)
+                          .setLast(last)
+                          .vBuild();
+        Command command = requests.command()
+                                  .create(commandMessage);
+        String commandId = command.getId()
+                                  .getUuid();
+        validation.commit(commandId);
+        pendingChunks.put(commandId, result);
+        Runnable next = last
+                        ? () -> {}
+                        : () -> sendChunk(streamId, chunks, index + 1, result);
+        post(command, result, next);
     }
 
     /**
-     * Prints the passed event and clears the subscriptions.
+     * Posts the command, failing the result if the command is not acknowledged.
      *
-     * @implNote Since we expect only one event produced in response to the {@link Print}
-     *         command
-     *         we clear the subscriptions as the event arrives.
+     * @param command
+     *         the command to post
+     * @param result
+     *         the result of the command to fail
+     * @param onAccepted
+     *         the action to run after the command is acknowledged
+     */
+    private void post(Command command, CompletableFuture<?> result, Runnable onAccepted) {
+        String commandId = command.getId()
+                                  .getUuid();
+        Span posting = Tracing.begin(Stage.POST);
+        FutureCallback<Ack> callback = new FutureCallback<Ack>() {
+            @Override
+            public void onSuccess(Ack ack) {
+                posting.commit(commandId);
+                Status status = ack.getStatus();
+                if (status.hasError()) {
+                    Error error = status.getError();
+                    if (isOverload(error)) {
+                        backpressure.onOverloaded();
+                        result.completeExceptionally(new OverloadedException(error.getMessage()));
+                    } else {
+                        result.completeExceptionally(new IllegalStateException(
+                                error.getMessage()));
+                    }
+                } else if (status.hasRejection()) {
+                    result.completeExceptionally(new IllegalStateException(
+                            "The command is rejected: " + status.getRejection()
+                                                                .getId()
+                                                                .getValue()));
+                } else {
+                    onAccepted.run();
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                posting.commit(commandId);
+                result.completeExceptionally(t);
+            }
+        };
+        Futures.addCallback(commands.post(command), callback, directExecutor());
+    }
+
+    /**
+     * Posts the lines of a {@linkplain PrintBatch batch}.
+     *
+     * @return the future which completes when the command is acknowledged, or fails if it is
+     *         not acknowledged
+     */
+    private CompletableFuture<Void> postBatch(PrintAll batch) {
+        Command command = requests.command()
+                                  .create(batch);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        post(command, result, () -> result.complete(null));
+        return result;
+    }
+
+    /**
+     * Tells if the error means that the server did not accept the command because it is
+     * overloaded or because the tenant exceeds its quota.
+     */
+    static boolean isOverload(Error error) {
+        String type = error.getType();
+        return ErrorTypes.OVERLOADED.equals(type) || ErrorTypes.QUOTA_EXCEEDED.equals(type);
+    }
+
+    /**
+     * Obtains the observation of the events of the current user, opening it if needed.
      */
-    private void onPrinted(Printed event) {
-        printEvent(event);
-        cancelSubscriptions();
+    private synchronized PrintedStream userEvents() {
+        if (userEvents == null) {
+            PrintedFilter filter = PrintedFilter.newBuilder()
+                    .setUsername(userName)
+                    .setTenant(tenant)
+                    .build();
+            userEvents = PrintedStream.open(channel, filter, this::onPrinted, this::onChunk,
+                                            this::onDropped, this::onClosed);
+        }
+        return userEvents;
     }
 
     /**
-     * Prints the JSON form of the passed event message to the console.
+     * Completes the command whose event arrived, recording the delivery to the metrics.
      */
-    private void printEvent(EventMessage e) {
-        String out = format(
-                "The client received the event: %s%s",
-                e.getClass()
-                 .getName(),
-                toCompactJson(e)
-        );
-        System.out.println(out);
+    private void onPrinted(PrintedEvent event) {
+        Span delivery = Tracing.begin(Stage.DELIVER);
+        printedReceived.increment();
+        if (printedLag.isEnabled()) {
+            long emitted = Timestamps.toNanos(event.getTimestamp());
+            long received = Timestamps.toNanos(Time.currentTime());
+            printedLag.record(received - emitted);
+        }
+        backpressure.onAccepted();
+        CompletableFuture<Printed> result = pending.remove(event.getCommandId());
+        if (result != null) {
+            result.complete(event.getMessage());
+        }
+        delivery.commit(event.getCommandId());
     }
 
     /**
-     * Cancels all current subscriptions, if any.
+     * Completes the streamed text when the event of its last chunk arrives.
      */
-    private void cancelSubscriptions() {
-        if (subscriptions != null) {
-            subscriptions.forEach(s -> client.subscriptions().cancel(s));
-            subscriptions = null;
+    private void onChunk(PrintedChunkEvent event) {
+        Span delivery = Tracing.begin(Stage.DELIVER);
+        backpressure.onAccepted();
+        CompletableFuture<PrintedChunk> result = pendingChunks.remove(event.getCommandId());
+        PrintedChunk chunk = event.getMessage();
+        if (result != null && chunk.getLast()) {
+            result.complete(chunk);
         }
+        delivery.commit(event.getCommandId());
     }
 
     /**
-     * Tests if the client finished cancelling active subscriptions.
+     * Fails the command dropped by the overloaded server.
+     *
+     * <p>If the command is a chunk of a streamed text, fails the whole text, as the server
+     * drops the rest of its chunks.
      */
-    public boolean isDone() {
-        return client
-                .subscriptions()
-                .isEmpty();
+    private void onDropped(String commandId) {
+        backpressure.onOverloaded();
+        CompletableFuture<Printed> result = pending.remove(commandId);
+        if (result != null) {
+            result.completeExceptionally(new OverloadedException(
+                    "The command is dropped by the overloaded server."));
+        }
+        CompletableFuture<PrintedChunk> text = pendingChunks.remove(commandId);
+        if (text != null) {
+            text.completeExceptionally(new OverloadedException(
+                    "A chunk of the text is dropped by the server."));
+        }
+    }
+
+    /**
+     * Obtains the signal which tells the producers of commands to slow down while
+     * the server is overloaded.
+     */
+    public Backpressure backpressure() {
+        return backpressure;
+    }
+
+    /**
+     * Fails the commands waiting for events, so that the next command opens
+     * a new observation.
+     */
+    private void onClosed(Throwable cause) {
+        synchronized (this) {
+            userEvents = null;
+        }
+        for (CompletableFuture<Printed> result : pending.values()) {
+            result.completeExceptionally(cause);
+        }
+        for (CompletableFuture<PrintedChunk> text : pendingChunks.values()) {
+            text.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Creates a batch which collects lines printed by the current user and sends them
+     * in {@link PrintAll} commands.
+     *
+     * @param maxLines
+     *         the number of lines which makes the batch sent
+     * @param maxDelay
+     *         the maximum time a collected line waits before the batch is sent
+     */
+    public synchronized PrintBatch newBatch(int maxLines, Duration maxDelay) {
+        if (scheduler == null) {
+            ThreadFactory threads = new ThreadFactoryBuilder()
+                    .setNameFormat("hello-batch-%d")
+                    .setDaemon(true)
+                    .build();
+            scheduler = newSingleThreadScheduledExecutor(threads);
+        }
+        return new PrintBatch(this::postBatch, scheduler, userName, maxLines, maxDelay);
+    }
+
+    /**
+     * Creates a generator of the load on the server.
+     *
+     * <p>The generator slows down following the {@linkplain #backpressure() backpressure} of
+     * this client.
+     *
+     * @param users
+     *         the number of simulated users
+     * @param commandsPerUser
+     *         the number of commands sent on behalf of each user
+     * @param maxInFlight
+     *         the maximum number of commands sent without receiving the events
+     * @param timeout
+     *         the time to wait for the events of all the sent commands
+     */
+    public LoadGenerator loadGenerator(int users,
+                                       int commandsPerUser,
+                                       int maxInFlight,
+                                       Duration timeout) {
+        return new LoadGenerator(channel, tenant, backpressure, users, commandsPerUser,
+                                 maxInFlight, timeout);
+    }
+
+    /**
+     * Finds the users who printed all the words of the passed text.
+     *
+     * <p>The words may be printed in different lines. The case of the letters and
+     * the punctuation are ignored.
+     *
+     * <p>The answer comes from the index of printed words kept by the server, so its cost
+     * depends on the number of words in the text rather than on the number of printed lines.
+     *
+     * @return the login names of the users, or an empty set if the text has no words
+     */
+    public ImmutableSet<String> whoPrinted(String text) {
+        checkNotNull(text);
+        ImmutableSet<String> tokens = Tokens.of(text);
+        if (tokens.isEmpty()) {
+            return ImmutableSet.of();
+        }
+        long start = queryTime.start();
+        ImmutableList<TokenIndex> found = client.asGuest()
+                                                .select(TokenIndex.class)
+                                                .byId(tokens)
+                                                .run();
+        Set<String> users = new HashSet<>();
+        if (found.size() == tokens.size()) {
+            users.addAll(found.get(0)
+                              .getLinesByUserMap()
+                              .keySet());
+            for (TokenIndex index : found.subList(1, found.size())) {
+                users.retainAll(index.getLinesByUserMap()
+                                     .keySet());
+            }
+        }
+        queryTime.stop(start);
+        return ImmutableSet.copyOf(users);
+    }
+
+    /**
+     * Obtains the last lines printed by the user in the order of printing.
+     *
+     * <p>The server keeps a hundred of the most recent lines of each user for answering this
+     * query, regardless of the scrollback of the user's console.
+     *
+     * @param username
+     *         the login name of the user
+     * @param count
+     *         the maximum number of lines to obtain
+     */
+    public ImmutableList<String> lastLines(String username, int count) {
+        checkNotNull(username);
+        checkArgument(count >= 0, "The number of lines cannot be negative.");
+        long start = queryTime.start();
+        ImmutableList<UserPrints> found = client.asGuest()
+                                                .select(UserPrints.class)
+                                                .byId(username)
+                                                .run();
+        ImmutableList<String> result = ImmutableList.of();
+        if (!found.isEmpty()) {
+            List<String> lines = found.get(0)
+                                      .getRecentLineList();
+            int from = Math.max(0, lines.size() - count);
+            result = ImmutableList.copyOf(lines.subList(from, lines.size()));
+        }
+        queryTime.stop(start);
+        return result;
     }
 
     /**
      * Closes the client, performing all necessary cleanups.
      */
-    public void close() {
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (userEvents != null) {
+            userEvents.cancel();
+        }
         client.close();
+        renderer.close();
     }
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor.Type;
+import com.google.protobuf.Message;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Comparator;
+
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.BOOL;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.ENUM;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.FIXED32;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.FIXED64;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.INT32;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.INT64;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.SFIXED32;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.SFIXED64;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.SINT32;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.SINT64;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.STRING;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.UINT32;
+import static com.google.protobuf.Descriptors.FieldDescriptor.Type.UINT64;
+import static io.spine.json.Json.toCompactJson;
+
+/**
+ * Prints messages of one type as compact JSON without the reflective machinery of
+ * the Protobuf JSON printer.
+ *
+ * <p>The printer is built once per message type from its descriptor. It supports messages
+ * with the fields of strings, integers, booleans, and enums, which is the case of
+ * the events of the Hello Context. The messages of other types are printed via
+ * {@link io.spine.json.Json#toCompactJson(Message) Json.toCompactJson()}.
+ *
+ * <p>The output is the JSON of the message as defined by the Protobuf JSON mapping.
+ * The characters which JSON allows as is are not escaped.
+ */
+final class CompactJsonPrinter {
+
+    private static final ImmutableSet<Type> SUPPORTED_TYPES = ImmutableSet.of(
+            STRING, BOOL, ENUM,
+            INT32, SINT32, SFIXED32, UINT32, FIXED32,
+            INT64, SINT64, SFIXED64, UINT64, FIXED64
+    );
+
+    private static final CompactJsonPrinter FALLBACK = new CompactJsonPrinter(null);
+
+    /** The fields in the order of their numbers, or {@code null} for the fallback printer. */
+    private final @Nullable ImmutableList<Field> fields;
+
+    private CompactJsonPrinter(@Nullable ImmutableList<Field> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Builds the printer of the messages of the given type.
+     */
+    static CompactJsonPrinter of(Descriptor type) {
+        boolean supported = type.getFields()
+                                .stream()
+                                .allMatch(f -> SUPPORTED_TYPES.contains(f.getType()));
+        if (!supported) {
+            return FALLBACK;
+        }
+        ImmutableList<Field> fields =
+                type.getFields()
+                    .stream()
+                    .sorted(Comparator.comparingInt(FieldDescriptor::getNumber))
+                    .map(Field::new)
+                    .collect(ImmutableList.toImmutableList());
+        return new CompactJsonPrinter(fields);
+    }
+
+    /**
+     * Appends the JSON of the message to the given builder.
+     */
+    void print(Message message, StringBuilder out) {
+        if (fields == null) {
+            out.append(toCompactJson(message));
+            return;
+        }
+        out.append('{');
+        boolean first = true;
+        for (Field field : fields) {
+            first = field.print(message, out, first);
+        }
+        out.append('}');
+    }
+
+    /**
+     * A field of the message with its JSON name escaped in advance.
+     */
+    private static final class Field {
+
+        private final FieldDescriptor descriptor;
+        private final String name;
+
+        private Field(FieldDescriptor descriptor) {
+            this.descriptor = descriptor;
+            this.name = '"' + descriptor.getJsonName() + "\":";
+        }
+
+        /**
+         * Appends the field unless it has the default value.
+         *
+         * @return whether no field was printed yet
+         */
+        private boolean print(Message message, StringBuilder out, boolean first) {
+            if (descriptor.isRepeated()) {
+                int count = message.getRepeatedFieldCount(descriptor);
+                if (count == 0) {
+                    return first;
+                }
+                appendName(out, first);
+                out.append('[');
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        out.append(',');
+                    }
+                    appendValue(message.getRepeatedField(descriptor, i), out);
+                }
+                out.append(']');
+                return false;
+            }
+            Object value = message.getField(descriptor);
+            if (value.equals(descriptor.getDefaultValue())) {
+                return first;
+            }
+            appendName(out, first);
+            appendValue(value, out);
+            return false;
+        }
+
+        private void appendName(StringBuilder out, boolean first) {
+            if (!first) {
+                out.append(',');
+            }
+            out.append(name);
+        }
+
+        private void appendValue(Object value, StringBuilder out) {
+            switch (descriptor.getType()) {
+                case STRING:
+                    appendString((String) value, out);
+                    break;
+                case ENUM:
+                    appendString(((EnumValueDescriptor) value).getName(), out);
+                    break;
+                case UINT32:
+                case FIXED32:
+                    out.append(Integer.toUnsignedString((Integer) value));
+                    break;
+                case INT64:
+                case SINT64:
+                case SFIXED64:
+                    out.append('"')
+                       .append(value)
+                       .append('"');
+                    break;
+                case UINT64:
+                case FIXED64:
+                    out.append('"')
+                       .append(Long.toUnsignedString((Long) value))
+                       .append('"');
+                    break;
+                default:
+                    out.append(value);
+            }
+        }
+    }
+
+    private static void appendString(String value, StringBuilder out) {
+        out.append('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        appendUnicodeEscape(c, out);
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    private static void appendUnicodeEscape(char c, StringBuilder out) {
+        String hex = Integer.toHexString(c);
+        out.append("\\u");
+        for (int i = hex.length(); i < 4; i++) {
+            out.append('0');
+        }
+        out.append(hex);
+    }
+}
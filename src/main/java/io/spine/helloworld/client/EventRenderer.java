@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import io.spine.base.EventMessage;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Renders the events received by the {@link Client}.
+ *
+ * <p>Events are received on the threads of the client, so implementations must be safe for
+ * use from multiple threads.
+ */
+@FunctionalInterface
+public interface EventRenderer extends AutoCloseable {
+
+    /**
+     * Obtains the renderer which prints events to {@link System#out} as compact JSON.
+     */
+    static EventRenderer systemOut() {
+        return TextRenderer.SYSTEM_OUT;
+    }
+
+    /**
+     * Creates the renderer which prints a line with compact JSON of each event to the given
+     * stream.
+     */
+    static EventRenderer text(PrintStream out) {
+        return new TextRenderer(out);
+    }
+
+    /**
+     * Creates the renderer which writes each event to the given stream as a length-delimited
+     * {@link com.google.protobuf.Any Any}, so that machine consumers may read the events
+     * with {@code Any.parseDelimitedFrom()}.
+     */
+    static EventRenderer binary(OutputStream out) {
+        return new BinaryRenderer(out);
+    }
+
+    /**
+     * Creates the renderer which passes only one of each {@code rate} events to
+     * the {@code delegate}.
+     */
+    static EventRenderer sampled(EventRenderer delegate, int rate) {
+        return new SampledRenderer(delegate, rate);
+    }
+
+    /**
+     * Renders the received event.
+     */
+    void render(EventMessage event);
+
+    /**
+     * Writes all the rendered events and releases the resources of the renderer.
+     *
+     * <p>Does nothing by default.
+     */
+    @Override
+    default void close() {
+        // Nothing to release by default.
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import io.grpc.Channel;
+import io.spine.base.Identifier;
+import io.spine.client.ActorRequestFactory;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceFutureStub;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.Status;
+import io.spine.core.TenantId;
+import io.spine.core.UserId;
+import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.hello.event.Printed;
+import io.spine.helloworld.hello.observation.PrintedEvent;
+import io.spine.helloworld.hello.observation.PrintedFilter;
+import io.spine.helloworld.trace.Span;
+import io.spine.helloworld.trace.Stage;
+import io.spine.helloworld.trace.Tracing;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Sends {@link Print} commands on behalf of simulated users and measures the time
+ * from sending a command to receiving the corresponding {@link Printed} event.
+ *
+ * <p>Up to the given number of commands are sent without waiting for the events of
+ * the previous ones. The generator correlates an event with its command by the command ID.
+ *
+ * <p>The commands which the server does not accept or drops are counted as rejected.
+ * The generator pauses before each command as suggested by the {@link Backpressure}, so
+ * that it slows down while the server is overloaded.
+ *
+ * <p>The generator stops sending commands when the timeout passes, or when the observation
+ * of the events is closed by the server, in which case the commands waiting for their
+ * events are counted as rejected.
+ *
+ * <p>The events of each simulated user are {@linkplain PrintedStream observed} separately,
+ * so that the server sends the generator only the events of its users.
+ *
+ * <p>The latencies are recorded in microseconds.
+ */
+public final class LoadGenerator {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final UserId ACTOR = UserId.newBuilder()
+                                              .setValue("load-generator")
+                                              .build();
+
+    private final CommandServiceFutureStub commands;
+    private final ActorRequestFactory requests;
+    private final TenantId tenant;
+    private final Channel channel;
+    private final Backpressure backpressure;
+    private final int users;
+    private final int commandsPerUser;
+    private final int maxInFlight;
+    private final Duration timeout;
+
+    LoadGenerator(Channel channel,
+                  TenantId tenant,
+                  Backpressure backpressure,
+                  int users,
+                  int commandsPerUser,
+                  int maxInFlight,
+                  Duration timeout) {
+        checkArgument(users > 0, "The number of users must be positive.");
+        checkArgument(commandsPerUser > 0, "The number of commands must be positive.");
+        checkArgument(maxInFlight > 0, "The number of commands in flight must be positive.");
+        this.channel = checkNotNull(channel);
+        this.backpressure = checkNotNull(backpressure);
+        this.commands = CommandServiceGrpc.newFutureStub(channel);
+        ActorRequestFactory.Builder requests = ActorRequestFactory.newBuilder()
+                                                                  .setActor(ACTOR);
+        if (!tenant.equals(TenantId.getDefaultInstance())) {
+            requests.setTenantId(tenant);
+        }
+        this.requests = requests.build();
+        this.tenant = tenant;
+        this.users = users;
+        this.commandsPerUser = commandsPerUser;
+        this.maxInFlight = maxInFlight;
+        this.timeout = checkNotNull(timeout);
+    }
+
+    /**
+     * Sends all the commands and waits for their events.
+     *
+     * <p>If not all the events arrive within the timeout, reports the commands completed
+     * so far.
+     */
+    public LoadReport run() throws InterruptedException {
+        Run run = new Run();
+        List<PrintedStream> streams = new ArrayList<>(users);
+        try {
+            for (int user = 0; user < users; user++) {
+                PrintedFilter filter = PrintedFilter.newBuilder()
+                        .setUsername(run.username(user))
+                        .setTenant(tenant)
+                        .build();
+                streams.add(PrintedStream.open(channel, filter, run::onPrinted, chunk -> {},
+                                               run::onDropped, run::onClosed));
+            }
+            for (PrintedStream stream : streams) {
+                stream.registered()
+                      .join();
+            }
+            return run.execute();
+        } finally {
+            streams.forEach(PrintedStream::cancel);
+        }
+    }
+
+    /**
+     * The state of a single run of the generator.
+     */
+    private final class Run {
+
+        private final String prefix = Identifier.newUuid();
+        private final Map<String, Long> sentAt = new ConcurrentHashMap<>();
+        private final Histogram latencies = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private final CountDownLatch completed = new CountDownLatch(users * commandsPerUser);
+        private final AtomicLong rejected = new AtomicLong();
+        private volatile boolean closed;
+
+        private LoadReport execute() throws InterruptedException {
+            long start = System.nanoTime();
+            long deadline = start + timeout.toNanos();
+            sending:
+            for (int command = 0; command < commandsPerUser; command++) {
+                for (int user = 0; user < users; user++) {
+                    backpressure.pause();
+                    long remaining = deadline - System.nanoTime();
+                    if (closed || !inFlight.tryAcquire(remaining, NANOSECONDS)) {
+                        break sending;
+                    }
+                    send(user, command);
+                }
+            }
+            completed.await(Math.max(0, deadline - System.nanoTime()), NANOSECONDS);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            long total = (long) users * commandsPerUser;
+            long done = total - completed.getCount() - rejected.get();
+            return new LoadReport(total, done, rejected.get(), elapsed, latencies);
+        }
+
+        private void send(int user, int command) {
+            String text = prefix + '-' + user + '-' + command;
+            Print print = Print.newBuilder()
+                    .setUsername(username(user))
+                    .setText(text)
+                    .vBuild();
+            Command posted = requests.command()
+                                     .create(print);
+            String commandId = posted.getId()
+                                     .getUuid();
+            sentAt.put(commandId, System.nanoTime());
+            Span posting = Tracing.begin(Stage.POST);
+            FutureCallback<Ack> callback = new FutureCallback<Ack>() {
+                @Override
+                public void onSuccess(Ack ack) {
+                    posting.commit(commandId);
+                    Status status = ack.getStatus();
+                    if (status.hasError()) {
+                        if (Client.isOverload(status.getError())) {
+                            backpressure.onOverloaded();
+                        }
+                        reject(commandId);
+                    } else if (status.hasRejection()) {
+                        reject(commandId);
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    posting.commit(commandId);
+                    reject(commandId);
+                }
+            };
+            Futures.addCallback(commands.post(posted), callback, directExecutor());
+        }
+
+        private String username(int user) {
+            return prefix + '-' + user;
+        }
+
+        private void onPrinted(PrintedEvent event) {
+            Long sent = sentAt.remove(event.getCommandId());
+            if (sent == null) {
+                return;
+            }
+            Span delivery = Tracing.begin(Stage.DELIVER);
+            backpressure.onAccepted();
+            long micros = NANOSECONDS.toMicros(System.nanoTime() - sent);
+            latencies.recordValue(micros);
+            inFlight.release();
+            completed.countDown();
+            delivery.commit(event.getCommandId());
+        }
+
+        private void onDropped(String commandId) {
+            backpressure.onOverloaded();
+            reject(commandId);
+        }
+
+        /**
+         * Stops sending the commands and rejects the ones waiting for their events, which
+         * will never arrive.
+         */
+        private void onClosed(Throwable cause) {
+            closed = true;
+            for (String commandId : sentAt.keySet()) {
+                reject(commandId);
+            }
+        }
+
+        private void reject(String commandId) {
+            if (sentAt.remove(commandId) == null) {
+                return;
+            }
+            rejected.incrementAndGet();
+            inFlight.release();
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The results of a {@linkplain LoadGenerator load generator} run.
+ */
+public final class LoadReport {
+
+    private final long sent;
+    private final long completed;
+    private final long rejected;
+    private final Duration elapsed;
+    private final Histogram latencies;
+
+    LoadReport(long sent, long completed, long rejected, Duration elapsed, Histogram latencies) {
+        this.sent = sent;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.elapsed = elapsed;
+        this.latencies = latencies.copy();
+    }
+
+    /**
+     * Obtains the number of sent commands.
+     */
+    public long sent() {
+        return sent;
+    }
+
+    /**
+     * Obtains the number of commands for which the events were received.
+     */
+    public long completed() {
+        return completed;
+    }
+
+    /**
+     * Obtains the number of commands which the overloaded server rejected or dropped.
+     */
+    public long rejected() {
+        return rejected;
+    }
+
+    /**
+     * Obtains the number of completed commands per second.
+     */
+    public double throughput() {
+        double seconds = (double) elapsed.toNanos() / SECONDS.toNanos(1);
+        return completed / seconds;
+    }
+
+    /**
+     * Obtains the latency in microseconds below which the given percentage of commands
+     * completed.
+     */
+    public long latencyAt(double percentile) {
+        return latencies.getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public String toString() {
+        return format("Completed %d of %d commands in %d ms, %.1f commands/s, %d rejected.%n"
+                              + "Latency, us: p50=%d p99=%d p99.9=%d max=%d",
+                      completed, sent, elapsed.toMillis(), throughput(), rejected,
+                      latencyAt(50), latencyAt(99), latencyAt(99.9), latencies.getMaxValue());
+    }
+}
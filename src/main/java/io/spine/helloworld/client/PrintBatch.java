@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.spine.helloworld.hello.command.PrintAll;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Collects lines printed by a user and sends them to the server in
+ * {@link PrintAll} commands.
+ *
+ * <p>The collected lines are sent when their number reaches the batch size, or when
+ * the maximum delay passes since the first of them was collected, whichever comes first.
+ *
+ * <p>The lines are sent in the same way as the {@linkplain Client#print(String) printed} ones.
+ * Each sent batch has a future which completes when the server acknowledges the command, or
+ * fails if the command is not acknowledged. If the server is overloaded, the future fails
+ * with {@link OverloadedException}, and the {@linkplain Client#backpressure() backpressure}
+ * signals the producers to slow down.
+ *
+ * <p>Closing the batch sends the lines collected so far.
+ *
+ * <p>The class is thread-safe.
+ */
+public final class PrintBatch implements AutoCloseable {
+
+    private final Function<PrintAll, CompletableFuture<Void>> sender;
+    private final ScheduledExecutorService scheduler;
+    private final String username;
+    private final int maxLines;
+    private final long maxDelayNanos;
+
+    private List<String> lines;
+
+    /** The result of sending the collected lines. */
+    private CompletableFuture<Void> sent;
+
+    private @Nullable ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    PrintBatch(Function<PrintAll, CompletableFuture<Void>> sender,
+               ScheduledExecutorService scheduler,
+               String username,
+               int maxLines,
+               Duration maxDelay) {
+        checkArgument(maxLines > 0, "The batch size must be positive.");
+        checkArgument(!maxDelay.isNegative() && !maxDelay.isZero(),
+                      "The maximum delay must be positive.");
+        this.sender = checkNotNull(sender);
+        this.scheduler = scheduler;
+        this.username = checkNotNull(username);
+        this.maxLines = maxLines;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.lines = new ArrayList<>(maxLines);
+        this.sent = new CompletableFuture<>();
+    }
+
+    /**
+     * Adds the line to the batch, sending the batch if it is full.
+     *
+     * @return the result of sending the batch with the line
+     */
+    public synchronized CompletableFuture<Void> print(String text) {
+        checkNotNull(text);
+        checkState(!closed, "The batch is closed.");
+        lines.add(text);
+        CompletableFuture<Void> result = sent;
+        if (lines.size() >= maxLines) {
+            flush();
+        } else if (scheduledFlush == null) {
+            scheduledFlush = scheduler.schedule(this::flush, maxDelayNanos, NANOSECONDS);
+        }
+        return result;
+    }
+
+    /**
+     * Sends the collected lines, if any.
+     *
+     * @return the result of sending the lines, which is already complete if there are no
+     *         collected lines
+     */
+    @CanIgnoreReturnValue
+    public synchronized CompletableFuture<Void> flush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (lines.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> result = sent;
+        List<String> batch = lines;
+        lines = new ArrayList<>(maxLines);
+        sent = new CompletableFuture<>();
+        try {
+            PrintAll command = PrintAll.newBuilder()
+                    .setUsername(username)
+                    .addAllText(batch)
+                    .vBuild();
+            sender.apply(command)
+                  .whenComplete((ignored, error) -> {
+                      if (error == null) {
+                          result.complete(null);
+                      } else {
+                          result.completeExceptionally(error);
+                      }
+                  });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Sends the collected lines and prevents the batch from collecting more lines.
+     */
+    @Override
+    public synchronized void close() {
+        flush();
+        closed = true;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.stub.StreamObserver;
+import io.spine.helloworld.hello.observation.PrintedChunkEvent;
+import io.spine.helloworld.hello.observation.PrintedEvent;
+import io.spine.helloworld.hello.observation.PrintedFilter;
+import io.spine.helloworld.hello.observation.PrintedUpdate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static io.grpc.stub.ClientCalls.asyncServerStreamingCall;
+import static io.spine.helloworld.net.PrintedObservation.OBSERVE;
+
+/**
+ * Receives the {@code Printed} and {@code PrintedChunk} events selected by a filter on
+ * the server.
+ *
+ * @see io.spine.helloworld.net.PrintedObservation
+ */
+final class PrintedStream implements StreamObserver<PrintedUpdate> {
+
+    private final ClientCall<PrintedFilter, PrintedUpdate> call;
+    private final Consumer<PrintedEvent> onEvent;
+    private final Consumer<PrintedChunkEvent> onChunk;
+    private final Consumer<String> onDropped;
+    private final Consumer<Throwable> onClosed;
+    private final CompletableFuture<Void> registered = new CompletableFuture<>();
+
+    private PrintedStream(ClientCall<PrintedFilter, PrintedUpdate> call,
+                          Consumer<PrintedEvent> onEvent,
+                          Consumer<PrintedChunkEvent> onChunk,
+                          Consumer<String> onDropped,
+                          Consumer<Throwable> onClosed) {
+        this.call = call;
+        this.onEvent = onEvent;
+        this.onChunk = onChunk;
+        this.onDropped = onDropped;
+        this.onClosed = onClosed;
+    }
+
+    /**
+     * Starts observing the events.
+     *
+     * @param channel
+     *         the channel to the server
+     * @param filter
+     *         the filter of the events
+     * @param onEvent
+     *         the callback receiving the events
+     * @param onChunk
+     *         the callback receiving the events of the chunks of streamed texts
+     * @param onDropped
+     *         the callback receiving the IDs of the commands dropped without printing
+     * @param onClosed
+     *         the callback called with the cause when the server closes the stream
+     */
+    static PrintedStream open(Channel channel,
+                              PrintedFilter filter,
+                              Consumer<PrintedEvent> onEvent,
+                              Consumer<PrintedChunkEvent> onChunk,
+                              Consumer<String> onDropped,
+                              Consumer<Throwable> onClosed) {
+        ClientCall<PrintedFilter, PrintedUpdate> call =
+                channel.newCall(OBSERVE, CallOptions.DEFAULT);
+        PrintedStream stream = new PrintedStream(call, onEvent, onChunk, onDropped, onClosed);
+        asyncServerStreamingCall(call, filter, stream);
+        return stream;
+    }
+
+    /**
+     * Obtains the future which completes when the server starts sending the events.
+     *
+     * <p>The events emitted before the future completes may be missed.
+     */
+    CompletableFuture<Void> registered() {
+        return registered;
+    }
+
+    /**
+     * Stops observing the events.
+     */
+    void cancel() {
+        call.cancel("The observation is cancelled by the client.", null);
+    }
+
+    @Override
+    public void onNext(PrintedUpdate update) {
+        if (update.getRegistered()) {
+            registered.complete(null);
+        } else if (update.hasEvent()) {
+            onEvent.accept(update.getEvent());
+        } else if (update.hasChunk()) {
+            onChunk.accept(update.getChunk());
+        } else if (!update.getDropped().isEmpty()) {
+            onDropped.accept(update.getDropped());
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        registered.completeExceptionally(t);
+        onClosed.accept(t);
+    }
+
+    @Override
+    public void onCompleted() {
+        onError(new IllegalStateException("The observation is completed by the server."));
+    }
+}
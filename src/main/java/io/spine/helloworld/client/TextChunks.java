@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reads a text in chunks of a limited number of characters.
+ *
+ * <p>A chunk is read only when it is requested, so the text is never held in memory as
+ * a whole. A chunk does not end in the middle of a surrogate pair, so that each chunk is
+ * a valid string on its own.
+ *
+ * <p>The class is not thread-safe.
+ */
+final class TextChunks {
+
+    private final Reader text;
+    private final char[] buffer;
+    private int carried;
+    private @Nullable String ahead;
+    private boolean ended;
+
+    /**
+     * Creates the chunks of the text.
+     *
+     * @param text
+     *         the text to read
+     * @param chunkChars
+     *         the maximum number of characters in a chunk; at least two characters, so that
+     *         a chunk can hold a surrogate pair
+     */
+    TextChunks(Reader text, int chunkChars) {
+        checkArgument(chunkChars >= 2, "A chunk must hold at least two characters.");
+        this.text = checkNotNull(text);
+        this.buffer = new char[chunkChars];
+    }
+
+    /**
+     * Reads the next chunk of the text.
+     *
+     * @return the next chunk, or {@code null} if the text has ended
+     */
+    @Nullable String next() throws IOException {
+        String result = ahead != null
+                        ? ahead
+                        : read();
+        ahead = null;
+        return result;
+    }
+
+    /**
+     * Tells if the text has no chunks after the last {@linkplain #next() read} one.
+     */
+    boolean isLast() throws IOException {
+        if (ahead == null) {
+            ahead = read();
+        }
+        return ahead == null;
+    }
+
+    private @Nullable String read() throws IOException {
+        int length = carried;
+        while (!ended && length < buffer.length) {
+            int count = text.read(buffer, length, buffer.length - length);
+            if (count < 0) {
+                ended = true;
+            } else {
+                length += count;
+            }
+        }
+        if (length == 0) {
+            return null;
+        }
+        int chunkLength = length;
+        if (!ended && Character.isHighSurrogate(buffer[length - 1])) {
+            chunkLength--;
+        }
+        String chunk = new String(buffer, 0, chunkLength);
+        carried = length - chunkLength;
+        if (carried > 0) {
+            buffer[0] = buffer[chunkLength];
+        }
+        return chunk;
+    }
+}
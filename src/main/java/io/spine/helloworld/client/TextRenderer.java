@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import io.spine.base.EventMessage;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Prints each event to a stream as a line with the compact JSON of the event.
+ *
+ * <p>The printers of the event types are built once and reused. The line is composed in
+ * a per-thread buffer, so that printing an event allocates only the resulting string.
+ */
+final class TextRenderer implements EventRenderer {
+
+    static final TextRenderer SYSTEM_OUT = new TextRenderer(System.out);
+
+    private static final String PREFIX = "The client received the event: ";
+    private static final int MAX_RETAINED_CAPACITY = 8 * 1024;
+
+    private final PrintStream out;
+    private final Map<Descriptor, CompactJsonPrinter> printers = new ConcurrentHashMap<>();
+    private final ThreadLocal<StringBuilder> buffers =
+            ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    TextRenderer(PrintStream out) {
+        this.out = checkNotNull(out);
+    }
+
+    @Override
+    public void render(EventMessage event) {
+        out.println(format(event));
+    }
+
+    /**
+     * Obtains the line printed for the event.
+     */
+    String format(EventMessage event) {
+        Descriptor type = event.getDescriptorForType();
+        CompactJsonPrinter printer = printers.computeIfAbsent(type, CompactJsonPrinter::of);
+        StringBuilder line = buffers.get();
+        line.setLength(0);
+        line.append(PREFIX)
+            .append(event.getClass()
+                         .getName());
+        printer.print(event, line);
+        String result = line.toString();
+        if (line.capacity() > MAX_RETAINED_CAPACITY) {
+            buffers.remove();
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        out.flush();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.hello;
+
+/**
+ * The types of the errors with which the server acknowledges the commands it does not accept.
+ *
+ * <p>The clients tell by these types that the command may be sent again after a delay.
+ */
+public final class ErrorTypes {
+
+    /**
+     * The type of the error with which the commands exceeding the limits of
+     * the {@linkplain io.spine.helloworld.server.hello.Admission admission} are acknowledged.
+     */
+    public static final String OVERLOADED = "hello.Overloaded";
+
+    /**
+     * The type of the error with which the commands exceeding
+     * the {@linkplain io.spine.helloworld.server.hello.Quotas quota} of their tenant
+     * are acknowledged.
+     */
+    public static final String QUOTA_EXCEEDED = "hello.QuotaExceeded";
+
+    /** Prevents instantiation of this utility class. */
+    private ErrorTypes() {
+    }
+}
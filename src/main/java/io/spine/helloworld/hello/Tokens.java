@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.hello;
+
+import com.google.common.collect.ImmutableSet;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Splits printed text into the words by which the text is indexed.
+ *
+ * <p>A token is a sequence of letters and digits in lower case. All the other characters
+ * separate tokens.
+ *
+ * <p>The server indexes the printed lines by the tokens, and the clients query the index
+ * by the tokens of the searched text.
+ */
+public final class Tokens {
+
+    /** Prevents instantiation of this utility class. */
+    private Tokens() {
+    }
+
+    /**
+     * Obtains the distinct tokens of the passed text in the order of their appearance.
+     */
+    public static ImmutableSet<String> of(String text) {
+        checkNotNull(text);
+        ImmutableSet.Builder<String> tokens = ImmutableSet.builder();
+        addTokens(text, tokens);
+        return tokens.build();
+    }
+
+    /**
+     * Obtains the distinct tokens of all the passed lines.
+     */
+    public static ImmutableSet<String> ofAll(Iterable<String> lines) {
+        checkNotNull(lines);
+        ImmutableSet.Builder<String> tokens = ImmutableSet.builder();
+        for (String line : lines) {
+            addTokens(line, tokens);
+        }
+        return tokens.build();
+    }
+
+    private static void addTokens(String text, ImmutableSet.Builder<String> tokens) {
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i < length; i++) {
+            boolean partOfToken = Character.isLetterOrDigit(text.charAt(i));
+            if (partOfToken && start < 0) {
+                start = i;
+            } else if (!partOfToken && start >= 0) {
+                tokens.add(toLowerCase(text, start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(toLowerCase(text, start, length));
+        }
+    }
+
+    private static String toLowerCase(String text, int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = Character.toLowerCase(text.charAt(i));
+        }
+        return new String(chars);
+    }
+}
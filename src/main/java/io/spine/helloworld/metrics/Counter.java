@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.metrics;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counter of events which is cheap to increment from many threads.
+ *
+ * <p>A counter obtained from {@linkplain Metrics#disabled() disabled metrics} does nothing.
+ */
+public final class Counter {
+
+    static final Counter DISABLED = new Counter(null);
+
+    private final @Nullable LongAdder adder;
+
+    private Counter(@Nullable LongAdder adder) {
+        this.adder = adder;
+    }
+
+    static Counter create() {
+        return new Counter(new LongAdder());
+    }
+
+    /**
+     * Increments the counter by one.
+     */
+    public void increment() {
+        if (adder != null) {
+            adder.increment();
+        }
+    }
+
+    /**
+     * Increments the counter by the given number.
+     */
+    public void add(long count) {
+        if (adder != null) {
+            adder.add(count);
+        }
+    }
+
+    /**
+     * Obtains the current value of the counter.
+     */
+    public long value() {
+        return adder != null ? adder.sum() : 0;
+    }
+}
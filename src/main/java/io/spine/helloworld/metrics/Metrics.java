@@ -0,0 +1,215 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.metrics;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.LongSupplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A registry of named counters, timers, and gauges.
+ *
+ * <p>The metrics may be {@linkplain #registerMBean(String) exposed via JMX} and
+ * {@linkplain #startReporting(Duration) logged periodically}.
+ *
+ * <p>{@linkplain #disabled() Disabled} metrics hand out counters and timers which do
+ * nothing, so that instrumented code costs only a branch when the metrics are off.
+ */
+public final class Metrics implements MetricsMXBean, AutoCloseable, Logging {
+
+    private static final String DOMAIN = "io.spine.helloworld";
+
+    private static final Metrics DISABLED = new Metrics(false);
+
+    private final boolean enabled;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    private @Nullable ScheduledExecutorService reporter;
+    private @Nullable ObjectName mbeanName;
+
+    private Metrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Creates new metrics which record the measurements.
+     */
+    public static Metrics enabled() {
+        return new Metrics(true);
+    }
+
+    /**
+     * Obtains the metrics which record nothing.
+     */
+    public static Metrics disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Tells if the metrics record the measurements.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Obtains the counter with the given name creating it if needed.
+     */
+    public Counter counter(String name) {
+        checkNotNull(name);
+        if (!enabled) {
+            return Counter.DISABLED;
+        }
+        return counters.computeIfAbsent(name, n -> Counter.create());
+    }
+
+    /**
+     * Obtains the timer with the given name creating it if needed.
+     */
+    public Timer timer(String name) {
+        checkNotNull(name);
+        if (!enabled) {
+            return Timer.DISABLED;
+        }
+        return timers.computeIfAbsent(name, n -> Timer.create());
+    }
+
+    /**
+     * Registers the gauge which reads its value when the metrics are reported.
+     */
+    public void gauge(String name, LongSupplier value) {
+        checkNotNull(name);
+        checkNotNull(value);
+        if (enabled) {
+            gauges.put(name, value);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        ImmutableSortedMap.Builder<String, Long> result = ImmutableSortedMap.naturalOrder();
+        counters.forEach((name, counter) -> result.put(name, counter.value()));
+        gauges.forEach((name, gauge) -> result.put(name, gauge.getAsLong()));
+        return result.build();
+    }
+
+    @Override
+    public Map<String, String> getTimers() {
+        ImmutableSortedMap.Builder<String, String> result = ImmutableSortedMap.naturalOrder();
+        timers.forEach((name, timer) -> result.put(name, timer.summary()));
+        return result.build();
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder result = new StringBuilder();
+        getCounters().forEach((name, value) -> result.append(format("%s: %d%n", name, value)));
+        getTimers().forEach((name, summary) -> result.append(format("%s: %s%n", name, summary)));
+        return result.toString();
+    }
+
+    /**
+     * Exposes the metrics via the platform MBean server under the given name.
+     */
+    public synchronized void registerMBean(String name) {
+        checkNotNull(name);
+        checkState(mbeanName == null, "The metrics are already registered as `%s`.", mbeanName);
+        if (!enabled) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=Metrics,name=" + name);
+            server.registerMBean(this, objectName);
+            mbeanName = objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException(format("Unable to register metrics `%s`.", name), e);
+        }
+    }
+
+    /**
+     * Starts logging the {@linkplain #getReport() report} with the given period.
+     */
+    @SuppressWarnings("FutureReturnValueIgnored") // The task is cancelled by `close()`.
+    public synchronized void startReporting(Duration period) {
+        checkNotNull(period);
+        checkState(reporter == null, "The metrics are already reported.");
+        if (!enabled) {
+            return;
+        }
+        reporter = newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("hello-metrics-%d")
+                                          .setDaemon(true)
+                                          .build());
+        long nanos = period.toNanos();
+        reporter.scheduleAtFixedRate(this::report, nanos, nanos, NANOSECONDS);
+    }
+
+    private void report() {
+        _info().log("Metrics:%n%s", getReport());
+    }
+
+    /**
+     * Stops reporting and unregisters the metrics from the MBean server.
+     */
+    @Override
+    public synchronized void close() {
+        if (reporter != null) {
+            reporter.shutdown();
+            reporter = null;
+        }
+        if (mbeanName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer()
+                                 .unregisterMBean(mbeanName);
+            } catch (JMException e) {
+                _warn().withCause(e)
+                       .log("Unable to unregister metrics `%s`.", mbeanName);
+            }
+            mbeanName = null;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Records durations into a histogram.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * long start = timer.start();
+ * // ...
+ * timer.stop(start);
+ * }</pre>
+ *
+ * <p>A timer obtained from {@linkplain Metrics#disabled() disabled metrics} does not read
+ * the clock and records nothing.
+ */
+public final class Timer {
+
+    static final Timer DISABLED = new Timer(null);
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final @Nullable Histogram histogram;
+
+    private Timer(@Nullable Histogram histogram) {
+        this.histogram = histogram;
+    }
+
+    static Timer create() {
+        return new Timer(new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+    }
+
+    /**
+     * Tells if the timer records durations.
+     */
+    public boolean isEnabled() {
+        return histogram != null;
+    }
+
+    /**
+     * Obtains the start time of a measured operation.
+     */
+    public long start() {
+        return histogram != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the duration of the operation started at the given time.
+     */
+    public void stop(long start) {
+        if (histogram != null) {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the duration in nanoseconds.
+     *
+     * <p>Negative durations, which may appear when comparing clocks of different machines,
+     * are recorded as zero.
+     */
+    public void record(long nanos) {
+        if (histogram != null) {
+            histogram.recordValue(Math.max(0, nanos));
+        }
+    }
+
+    /**
+     * Obtains the number of recorded durations.
+     */
+    public long count() {
+        return histogram != null ? histogram.getTotalCount() : 0;
+    }
+
+    /**
+     * Obtains the duration in microseconds below which the given percentage of
+     * the recorded durations are.
+     */
+    public long percentileMicros(double percentile) {
+        return histogram != null
+               ? NANOSECONDS.toMicros(histogram.getValueAtPercentile(percentile))
+               : 0;
+    }
+
+    /**
+     * Obtains a one-line summary of the recorded durations.
+     */
+    String summary() {
+        if (histogram == null) {
+            return "disabled";
+        }
+        return format("count=%d mean=%.1fus p50=%dus p99=%dus p99.9=%dus max=%dus",
+                      histogram.getTotalCount(),
+                      histogram.getMean() / 1_000,
+                      percentileMicros(50),
+                      percentileMicros(99),
+                      percentileMicros(99.9),
+                      NANOSECONDS.toMicros(histogram.getMaxValue()));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.net;
+
+import io.grpc.HandlerRegistry;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.netty.shaded.io.netty.channel.Channel;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.ServerChannel;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollServerSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Creates gRPC servers and channels running on Netty.
+ *
+ * <p>Native epoll is used on Linux when it is available. Otherwise, Java NIO is used.
+ *
+ * <p>The servers and channels are tuned for many small messages exchanged over
+ * long-living connections:
+ * <ul>
+ *     <li>The HTTP/2 flow-control window is larger than the default one, so that
+ *         pipelined commands and streamed events do not stall waiting for window updates.
+ *     <li>Keepalive pings detect broken connections of idle clients and subscriptions.
+ * </ul>
+ */
+public final class NettyTransport {
+
+    /** The HTTP/2 flow-control window of a connection. */
+    private static final int FLOW_CONTROL_WINDOW = 4 * 1024 * 1024;
+
+    /** The time without reads after which a keepalive ping is sent. */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    /** The time to wait for the acknowledgement of a keepalive ping. */
+    private static final long KEEP_ALIVE_TIMEOUT_SECONDS = 10;
+
+    /** The event loops of all the channels created by this process. */
+    private static final EventLoopGroup clientGroup =
+            newEventLoopGroup(0, new DefaultThreadFactory("hello-client", true));
+
+    /** Prevents instantiation of this utility class. */
+    private NettyTransport() {
+    }
+
+    /**
+     * Tells if native epoll is used.
+     */
+    public static boolean isEpollUsed() {
+        return Epoll.isAvailable();
+    }
+
+    /**
+     * Creates the server which serves the given services at the given port.
+     *
+     * <p>The event loops of the server are shut down when the server terminates.
+     *
+     * @param port
+     *         the port to listen, or zero for any free port
+     * @param services
+     *         the registry of the services to serve
+     */
+    public static Server newServer(int port, HandlerRegistry services) {
+        checkArgument(port >= 0, "The port cannot be negative.");
+        checkNotNull(services);
+        EventLoopGroup boss = newEventLoopGroup(1, new DefaultThreadFactory("hello-boss"));
+        EventLoopGroup workers = newEventLoopGroup(0, new DefaultThreadFactory("hello-worker"));
+        NettyServerBuilder builder = NettyServerBuilder
+                .forPort(port)
+                .bossEventLoopGroup(boss)
+                .workerEventLoopGroup(workers)
+                .channelType(serverChannelType())
+                .flowControlWindow(FLOW_CONTROL_WINDOW)
+                .keepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS)
+                .keepAliveTimeout(KEEP_ALIVE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .permitKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS)
+                .permitKeepAliveWithoutCalls(true)
+                .fallbackHandlerRegistry(services);
+        Server server = builder.build();
+        return new EventLoopServer(server, boss, workers);
+    }
+
+    /**
+     * Creates the channel to the server at the given address.
+     *
+     * <p>All the channels share the event loops which run on daemon threads. The channels
+     * {@linkplain Retries retry} the calls arriving before the server is ready.
+     */
+    public static ManagedChannel newChannel(String host, int port) {
+        checkNotNull(host);
+        NettyChannelBuilder channel = NettyChannelBuilder.forAddress(host, port);
+        return Retries.retryUnavailable(channel)
+                .usePlaintext()
+                .eventLoopGroup(clientGroup)
+                .channelType(channelType())
+                .flowControlWindow(FLOW_CONTROL_WINDOW)
+                .keepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS)
+                .keepAliveTimeout(KEEP_ALIVE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .keepAliveWithoutCalls(true)
+                .build();
+    }
+
+    /**
+     * Creates the event loops with the given number of threads.
+     *
+     * @param threads
+     *         the number of threads, or zero for twice the number of processors
+     */
+    private static EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        return isEpollUsed()
+               ? new EpollEventLoopGroup(threads, threadFactory)
+               : new NioEventLoopGroup(threads, threadFactory);
+    }
+
+    private static Class<? extends ServerChannel> serverChannelType() {
+        return isEpollUsed()
+               ? EpollServerSocketChannel.class
+               : NioServerSocketChannel.class;
+    }
+
+    private static Class<? extends Channel> channelType() {
+        return isEpollUsed()
+               ? EpollSocketChannel.class
+               : NioSocketChannel.class;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.net;
+
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.stub.ServerCalls.ServerStreamingMethod;
+import io.spine.helloworld.hello.observation.PrintedFilter;
+import io.spine.helloworld.hello.observation.PrintedUpdate;
+
+import static io.grpc.MethodDescriptor.generateFullMethodName;
+import static io.grpc.protobuf.ProtoUtils.marshaller;
+import static io.grpc.stub.ServerCalls.asyncServerStreamingCall;
+
+/**
+ * The gRPC service which streams the {@code Printed} events matching a filter.
+ *
+ * <p>Unlike a subscription of the Spine client, which is matched against every event of
+ * the subscribed type, an observation is found by the username or the command ID of
+ * the event, so that an event is sent only to the interested observers.
+ *
+ * <p>The service is defined without generated stubs, as it has a single method.
+ */
+public final class PrintedObservation {
+
+    /** The name of the service. */
+    public static final String SERVICE_NAME = "hello.PrintedObservation";
+
+    /**
+     * The method which registers the observer with the passed filter and streams
+     * the updates to it.
+     */
+    public static final MethodDescriptor<PrintedFilter, PrintedUpdate> OBSERVE =
+            MethodDescriptor.<PrintedFilter, PrintedUpdate>newBuilder()
+                    .setType(MethodDescriptor.MethodType.SERVER_STREAMING)
+                    .setFullMethodName(generateFullMethodName(SERVICE_NAME, "Observe"))
+                    .setRequestMarshaller(marshaller(PrintedFilter.getDefaultInstance()))
+                    .setResponseMarshaller(marshaller(PrintedUpdate.getDefaultInstance()))
+                    .build();
+
+    /** Prevents instantiation of this utility class. */
+    private PrintedObservation() {
+    }
+
+    /**
+     * Creates the definition of the service with the given implementation of
+     * the {@link #OBSERVE} method.
+     */
+    public static ServerServiceDefinition service(
+            ServerStreamingMethod<PrintedFilter, PrintedUpdate> observe) {
+        return ServerServiceDefinition.builder(SERVICE_NAME)
+                                      .addMethod(OBSERVE, asyncServerStreamingCall(observe))
+                                      .build();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.net;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.grpc.ManagedChannelBuilder;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.QueryServiceGrpc;
+import io.spine.client.grpc.SubscriptionServiceGrpc;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The policy of retrying the calls rejected by a server which is not ready yet.
+ *
+ * <p>A lazy server accepts the connections before its services are created, and closes
+ * the calls arriving before that with the {@code UNAVAILABLE} status. The channels configured
+ * by this policy retry such calls with an exponential backoff for about five seconds.
+ */
+public final class Retries {
+
+    private static final int MAX_ATTEMPTS = 10;
+
+    private static final ImmutableList<String> SERVICES = ImmutableList.of(
+            CommandServiceGrpc.SERVICE_NAME,
+            QueryServiceGrpc.SERVICE_NAME,
+            SubscriptionServiceGrpc.SERVICE_NAME,
+            PrintedObservation.SERVICE_NAME
+    );
+
+    /** Prevents instantiation of this utility class. */
+    private Retries() {
+    }
+
+    /**
+     * Configures the channel to retry the calls of the Hello services closed with
+     * the {@code UNAVAILABLE} status.
+     *
+     * @return the passed builder
+     */
+    public static <T extends ManagedChannelBuilder<T>> T retryUnavailable(T channel) {
+        checkNotNull(channel);
+        return channel.defaultServiceConfig(serviceConfig())
+                      .maxRetryAttempts(MAX_ATTEMPTS)
+                      .enableRetry();
+    }
+
+    /**
+     * Creates the service config in the form of parsed JSON, which stores numbers
+     * as {@code Double} values.
+     */
+    private static ImmutableMap<String, ?> serviceConfig() {
+        ImmutableList.Builder<ImmutableMap<String, String>> names = ImmutableList.builder();
+        for (String service : SERVICES) {
+            names.add(ImmutableMap.of("service", service));
+        }
+        ImmutableMap<String, Object> retryPolicy = ImmutableMap.of(
+                "maxAttempts", (double) MAX_ATTEMPTS,
+                "initialBackoff", "0.1s",
+                "maxBackoff", "2s",
+                "backoffMultiplier", 2.0,
+                "retryableStatusCodes", ImmutableList.of("UNAVAILABLE")
+        );
+        ImmutableMap<String, Object> methodConfig = ImmutableMap.of(
+                "name", names.build(),
+                "retryPolicy", retryPolicy
+        );
+        return ImmutableMap.of("methodConfig", ImmutableList.of(methodConfig));
+    }
+}
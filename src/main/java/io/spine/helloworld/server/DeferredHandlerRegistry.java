@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.grpc.HandlerRegistry;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.Marshaller;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The registry of gRPC services which are created after the server starts.
+ *
+ * <p>A call arriving before the services are {@linkplain #initialize() created} is closed
+ * with the {@code UNAVAILABLE} status, so that the transport threads which look up
+ * the methods never wait for the services. The clients
+ * {@linkplain io.spine.helloworld.net.Retries retry} such calls.
+ *
+ * <p>If the services cannot be created, the calls are closed with the {@code INTERNAL}
+ * status, which the clients do not retry.
+ */
+final class DeferredHandlerRegistry extends HandlerRegistry {
+
+    private static final Status NOT_READY =
+            Status.UNAVAILABLE.withDescription("The server is starting.");
+
+    private static final Status FAILED =
+            Status.INTERNAL.withDescription("The server failed to start.");
+
+    private static final Marshaller<InputStream> RAW = new RawMarshaller();
+
+    private final Supplier<ImmutableList<ServerServiceDefinition>> factory;
+
+    private volatile @Nullable ImmutableList<ServerServiceDefinition> services;
+    private volatile @Nullable ImmutableMap<String, ServerMethodDefinition<?, ?>> methods;
+    private volatile boolean failed;
+
+    DeferredHandlerRegistry(Supplier<ImmutableList<ServerServiceDefinition>> factory) {
+        super();
+        this.factory = factory;
+    }
+
+    /**
+     * Creates the services unless they are already created.
+     *
+     * <p>Blocks the calling thread until the services are created.
+     *
+     * <p>If the services cannot be created, rethrows the failure, and the registry rejects
+     * all the calls since then.
+     */
+    void initialize() {
+        if (methods == null && !failed) {
+            createServices();
+        }
+    }
+
+    private synchronized void createServices() {
+        if (methods != null || failed) {
+            return;
+        }
+        ImmutableList<ServerServiceDefinition> created;
+        try {
+            created = factory.get();
+        } catch (RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+        ImmutableMap.Builder<String, ServerMethodDefinition<?, ?>> index = ImmutableMap.builder();
+        for (ServerServiceDefinition service : created) {
+            for (ServerMethodDefinition<?, ?> method : service.getMethods()) {
+                index.put(method.getMethodDescriptor()
+                                .getFullMethodName(), method);
+            }
+        }
+        services = created;
+        methods = index.build();
+    }
+
+    @Override
+    public @Nullable ServerMethodDefinition<?, ?> lookupMethod(String methodName,
+                                                              @Nullable String authority) {
+        ImmutableMap<String, ServerMethodDefinition<?, ?>> current = methods;
+        if (current == null) {
+            return rejecting(methodName, failed ? FAILED : NOT_READY);
+        }
+        return current.get(methodName);
+    }
+
+    private static ServerMethodDefinition<InputStream, InputStream>
+    rejecting(String methodName, Status status) {
+        MethodDescriptor<InputStream, InputStream> method =
+                MethodDescriptor.<InputStream, InputStream>newBuilder()
+                        .setType(MethodDescriptor.MethodType.UNKNOWN)
+                        .setFullMethodName(methodName)
+                        .setRequestMarshaller(RAW)
+                        .setResponseMarshaller(RAW)
+                        .build();
+        ServerCallHandler<InputStream, InputStream> handler = (call, headers) -> {
+            call.close(status, new Metadata());
+            return new ServerCall.Listener<InputStream>() {};
+        };
+        return ServerMethodDefinition.create(method, handler);
+    }
+
+    @Override
+    public List<ServerServiceDefinition> getServices() {
+        ImmutableList<ServerServiceDefinition> current = services;
+        return current == null ? ImmutableList.of() : current;
+    }
+
+    /**
+     * Passes the messages of the rejected calls as they are.
+     */
+    private static final class RawMarshaller implements Marshaller<InputStream> {
+
+        @Override
+        public InputStream stream(InputStream value) {
+            return value;
+        }
+
+        @Override
+        public InputStream parse(InputStream stream) {
+            return stream;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server;
+
+import com.google.common.collect.ImmutableList;
+import io.grpc.HandlerRegistry;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.spine.helloworld.net.NettyTransport;
+import io.spine.helloworld.net.PrintedObservation;
+import io.spine.helloworld.server.hello.HelloContext;
+import io.spine.helloworld.server.hello.HelloSettings;
+import io.spine.helloworld.server.hello.PrintedObservers;
+import io.spine.helloworld.server.hello.RecoveryReport;
+import io.spine.logging.Logging;
+import io.spine.server.BoundedContext;
+import io.spine.server.CommandService;
+import io.spine.server.QueryService;
+import io.spine.server.SubscriptionService;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Serves the Hello Context via gRPC.
+ *
+ * <p>Besides the command, query, and subscription services of Spine, the endpoint serves
+ * the {@link PrintedObservation} of the {@code Printed} events.
+ *
+ * <p>The Context and its services are created either when the endpoint starts, or, if
+ * the endpoint is lazy, in background after the endpoint starts. In the latter case,
+ * the requests arriving before the Context is ready are rejected as unavailable, and
+ * the clients retry them. If the Context cannot be created, the requests fail with
+ * the {@code INTERNAL} status.
+ */
+final class GrpcEndpoint implements Logging {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final HelloSettings settings;
+    private final DeferredHandlerRegistry registry;
+    private final io.grpc.Server server;
+
+    /** The served Context, if it is created. Guarded by {@code this}. */
+    private @Nullable BoundedContext context;
+
+    /** Guarded by {@code this}. */
+    private boolean shutDown;
+
+    private GrpcEndpoint(HelloSettings settings,
+                         Function<HandlerRegistry, io.grpc.Server> server) {
+        this.settings = settings;
+        this.registry = new DeferredHandlerRegistry(this::createServices);
+        this.server = server.apply(registry);
+    }
+
+    /**
+     * Creates the endpoint for the clients running in the same process.
+     */
+    static GrpcEndpoint inProcess(String serverName, HelloSettings settings) {
+        return new GrpcEndpoint(settings, registry -> InProcessServerBuilder
+                .forName(serverName)
+                .fallbackHandlerRegistry(registry)
+                .build());
+    }
+
+    /**
+     * Creates the endpoint for the clients connecting over the network at the given port.
+     */
+    static GrpcEndpoint atPort(int port, HelloSettings settings) {
+        return new GrpcEndpoint(settings, registry -> NettyTransport.newServer(port, registry));
+    }
+
+    /**
+     * Recovers the consoles and creates the Context with its services.
+     */
+    private ImmutableList<ServerServiceDefinition> createServices() {
+        Server.configureEnvironment();
+        int processors = Runtime.getRuntime()
+                                .availableProcessors();
+        RecoveryReport report = HelloContext.recover(settings, processors);
+        _info().log("%s", report);
+        PrintedObservers observers = new PrintedObservers();
+        BoundedContext context = HelloContext.newBuilder(settings, observers)
+                                             .build();
+        synchronized (this) {
+            if (shutDown) {
+                close(context);
+                throw new IllegalStateException("The endpoint is shut down.");
+            }
+            this.context = context;
+        }
+        return ImmutableList.of(
+                CommandService.newBuilder()
+                              .add(context)
+                              .build()
+                              .bindService(),
+                QueryService.newBuilder()
+                            .add(context)
+                            .build()
+                            .bindService(),
+                SubscriptionService.newBuilder()
+                                   .add(context)
+                                   .build()
+                                   .bindService(),
+                PrintedObservation.service(observers)
+        );
+    }
+
+    /**
+     * Starts accepting the requests.
+     *
+     * @param lazy
+     *         if {@code true}, the Context is created in background, otherwise before
+     *         the requests are accepted
+     */
+    void start(boolean lazy) throws IOException {
+        if (lazy) {
+            Thread initializer = new Thread(this::initialize, "hello-init");
+            initializer.setDaemon(true);
+            initializer.start();
+        } else {
+            registry.initialize();
+        }
+        server.start();
+        if (server.getPort() >= 0) {
+            _info().log("The server is listening at port %d using %s.",
+                        server.getPort(), NettyTransport.isEpollUsed() ? "epoll" : "NIO");
+        }
+    }
+
+    private void initialize() {
+        try {
+            registry.initialize();
+        } catch (RuntimeException e) {
+            _error().withCause(e)
+                    .log("Unable to create the Context.");
+        }
+    }
+
+    /**
+     * Obtains the port at which the server listens, or {@code -1} if the server
+     * runs in-process.
+     */
+    int port() {
+        return server.getPort();
+    }
+
+    /**
+     * Stops accepting the requests and closes the served Context.
+     */
+    void shutdown() {
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            server.shutdownNow();
+        }
+        BoundedContext current;
+        synchronized (this) {
+            shutDown = true;
+            current = context;
+        }
+        if (current != null) {
+            close(current);
+        }
+    }
+
+    /**
+     * Closes the Context created either before the endpoint was shut down, or by a lazy
+     * endpoint after that.
+     */
+    private void close(BoundedContext context) {
+        try {
+            context.close();
+        } catch (Exception e) {
+            _error().withCause(e)
+                    .log("Unable to close the Context.");
+        }
+    }
+}
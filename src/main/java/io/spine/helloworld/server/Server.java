@@ -26,63 +26,388 @@
 
 package io.spine.helloworld.server;
 
+import com.google.common.collect.ImmutableList;
 import io.spine.environment.DefaultMode;
+import io.spine.helloworld.metrics.Metrics;
+import io.spine.helloworld.server.delivery.ShardedDelivery;
+import io.spine.helloworld.server.hello.Compression;
 import io.spine.helloworld.server.hello.HelloContext;
+import io.spine.helloworld.server.hello.HelloSettings;
+import io.spine.helloworld.server.hello.Quotas;
+import io.spine.helloworld.server.hello.WriteBehind;
+import io.spine.helloworld.server.output.AsyncOutputSink;
+import io.spine.helloworld.server.storage.DurableStore;
+import io.spine.helloworld.server.storage.RecordLog;
+import io.spine.helloworld.server.storage.RetainingStorageFactory;
+import io.spine.helloworld.server.storage.Retention;
 import io.spine.server.ServerEnvironment;
-import io.spine.server.delivery.Delivery;
 import io.spine.server.storage.memory.InMemoryStorageFactory;
 import io.spine.server.transport.memory.InMemoryTransportFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
 
-import static io.spine.server.Server.inProcess;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
 
 /**
  * Backend implementation of the Hello Context.
  */
 public final class Server {
 
-    static {
-        configureEnvironment();
-    }
+    /**
+     * The system property with the number of shards in which the messages to entities
+     * are delivered in parallel.
+     *
+     * <p>If the property is not set, the number of available processors is used.
+     */
+    public static final String DELIVERY_SHARDS_PROPERTY = "io.spine.helloworld.shards";
+
+    /**
+     * The system property which turns on the metrics of the server when set to {@code true}.
+     *
+     * <p>The enabled metrics are exposed via JMX and logged every minute. The metrics of
+     * the servers created in the same JVM are registered as {@code HelloContext-1},
+     * {@code HelloContext-2}, and so on, in the order of creation.
+     */
+    public static final String METRICS_PROPERTY = "io.spine.helloworld.metrics";
+
+    /**
+     * The system property which makes the server serve several tenants when set
+     * to {@code true}.
+     *
+     * <p>The clients of a multitenant server must be created for a tenant.
+     */
+    public static final String MULTITENANT_PROPERTY = "io.spine.helloworld.multitenant";
+
+    /**
+     * The system property with the number of lines per second which each tenant may print.
+     *
+     * <p>If the property is not set, the tenants are not limited.
+     */
+    public static final String QUOTA_PROPERTY = "io.spine.helloworld.quota";
+
+    /**
+     * The system property which makes the server create the Context in background after
+     * the server starts, when set to {@code true}.
+     *
+     * <p>This shortens the time to the first handled command for short-living processes,
+     * as creating the Context overlaps with connecting the client. The requests arriving
+     * before the Context is ready are rejected with the {@code UNAVAILABLE} status, and
+     * the clients {@linkplain io.spine.helloworld.net.Retries retry} them.
+     */
+    public static final String LAZY_PROPERTY = "io.spine.helloworld.lazy";
 
-    private final io.spine.server.Server server;
+    /**
+     * The system property with the maximum age of the kept events in the ISO-8601 format,
+     * e.g. {@code PT1H}.
+     *
+     * <p>If the property is not set, the {@linkplain Retention#defaultPolicy() default} age
+     * is used. The same applies to the other limits of the kept events.
+     */
+    public static final String EVENTS_MAX_AGE_PROPERTY = "io.spine.helloworld.events.maxAge";
+
+    /**
+     * The system property with the maximum number of the kept events of a console.
+     */
+    public static final String EVENTS_MAX_PER_CONSOLE_PROPERTY =
+            "io.spine.helloworld.events.maxPerConsole";
 
     /**
-     * Configures the server environment and creates in-process implementation
-     * with the passed name.
+     * The system property with the maximum length of all the kept events in bytes.
+     */
+    public static final String EVENTS_MAX_BYTES_PROPERTY = "io.spine.helloworld.events.maxBytes";
+
+    /**
+     * The system property with the directory in which the server keeps the states of
+     * consoles across restarts.
+     *
+     * <p>If the property is not set, the states are kept only in memory.
+     */
+    public static final String STORAGE_DIRECTORY_PROPERTY = "io.spine.helloworld.storage";
+
+    /**
+     * The system property which turns on the {@linkplain Compression compression} of
+     * the texts in the snapshots of consoles when set to {@code true}.
+     */
+    public static final String COMPRESSION_PROPERTY = "io.spine.helloworld.compression";
+
+    /** The default port at which the server accepts the requests over the network. */
+    public static final int DEFAULT_PORT = 8484;
+
+    private static final Duration METRICS_REPORT_PERIOD = Duration.ofMinutes(1);
+
+    /** The storage of the environment, or {@code null} until it is configured. */
+    private static volatile @Nullable RetainingStorageFactory storage = null;
+
+    /** The delivery of the environment, or {@code null} until it is configured. */
+    private static volatile @Nullable ShardedDelivery delivery = null;
+
+    /** The number of the servers which registered their metrics via JMX. */
+    private static final AtomicInteger registeredMetrics = new AtomicInteger();
+
+    private final GrpcEndpoint endpoint;
+
+    /** The settings of the served context, whose sink and store are closed on shutdown. */
+    private final HelloSettings settings;
+
+    /**
+     * Creates in-process implementation with the passed name.
+     *
+     * <p>The consoles print to the system output asynchronously. If
+     * the {@linkplain #STORAGE_DIRECTORY_PROPERTY storage directory} is set, the states of
+     * the consoles are kept in a {@link RecordLog} in that directory, written
+     * {@linkplain WriteBehind#defaultPolicy() behind} the commands. If
+     * the {@linkplain #METRICS_PROPERTY metrics} are turned on, they are exposed via JMX
+     * and logged periodically.
      */
     public Server(String serverName) {
-        this.server = inProcess(serverName)
-                .add(HelloContext.newBuilder())
+        this(serverName, defaultSettings());
+    }
+
+    /**
+     * Creates in-process implementation with the passed name and the settings of
+     * the Hello Context.
+     *
+     * <p>The server reports the depths of the delivery inboxes to the metrics of the settings.
+     *
+     * <p>The server closes the output sink, the durable store, and the metrics of
+     * the settings when it {@linkplain #shutdown() shuts down}.
+     */
+    public Server(String serverName, HelloSettings settings) {
+        this(settings, GrpcEndpoint.inProcess(serverName, settings));
+    }
+
+    private Server(HelloSettings settings, GrpcEndpoint endpoint) {
+        this.settings = checkNotNull(settings);
+        Metrics metrics = settings.metrics();
+        for (int shard = 0; shard < shardCount(); shard++) {
+            int index = shard;
+            metrics.gauge("delivery.shard." + shard + ".depth", () -> inboxDepth(index));
+        }
+        metrics.gauge("events.stored",
+                      () -> ofStorage(RetainingStorageFactory::storedEvents));
+        metrics.gauge("events.storedBytes",
+                      () -> ofStorage(RetainingStorageFactory::storedBytes));
+        metrics.gauge("events.reclaimed",
+                      () -> ofStorage(RetainingStorageFactory::reclaimedEvents));
+        metrics.gauge("events.reclaimedBytes",
+                      () -> ofStorage(RetainingStorageFactory::reclaimedBytes));
+        metrics.gauge("events.compaction.maxPauseMicros",
+                      () -> ofStorage(Server::maxCompactionPauseMicros));
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Creates the server which accepts the requests of clients over the network at
+     * the given port.
+     *
+     * <p>The server uses the same settings as the {@linkplain #Server(String) in-process one}.
+     *
+     * @param port
+     *         the port to listen, or zero for any free port
+     * @see io.spine.helloworld.net.NettyTransport
+     */
+    public static Server atPort(int port) {
+        return atPort(port, defaultSettings());
+    }
+
+    /**
+     * Creates the server which accepts the requests of clients over the network at
+     * the given port and serves the Hello Context with the given settings.
+     *
+     * @param port
+     *         the port to listen, or zero for any free port
+     * @see io.spine.helloworld.net.NettyTransport
+     */
+    public static Server atPort(int port, HelloSettings settings) {
+        return new Server(settings, GrpcEndpoint.atPort(port, settings));
+    }
+
+    private static HelloSettings defaultSettings() {
+        Metrics metrics = metrics();
+        return HelloSettings.newBuilder()
+                .setSink(AsyncOutputSink.toSystemOut(metrics))
+                .setStore(durableStore())
+                .setWriteBehind(WriteBehind.defaultPolicy())
+                .setCompression(Boolean.getBoolean(COMPRESSION_PROPERTY)
+                                ? Compression.deflate()
+                                : Compression.none())
+                .setMetrics(metrics)
+                .setMultitenant(Boolean.getBoolean(MULTITENANT_PROPERTY))
+                .setQuotas(quotas())
                 .build();
     }
 
+    private static Metrics metrics() {
+        if (!Boolean.getBoolean(METRICS_PROPERTY)) {
+            return Metrics.disabled();
+        }
+        Metrics metrics = Metrics.enabled();
+        metrics.registerMBean(HelloContext.class.getSimpleName()
+                                      + '-' + registeredMetrics.incrementAndGet());
+        metrics.startReporting(METRICS_REPORT_PERIOD);
+        return metrics;
+    }
+
+    private static Quotas quotas() {
+        String quota = System.getProperty(QUOTA_PROPERTY);
+        return quota == null
+               ? Quotas.unlimited()
+               : Quotas.perTenant(Double.parseDouble(quota));
+    }
+
+    /**
+     * Selects the durable store in addition to the in-memory storage configured
+     * for the environment.
+     */
+    private static DurableStore durableStore() {
+        String directory = System.getProperty(STORAGE_DIRECTORY_PROPERTY);
+        if (directory == null) {
+            return DurableStore.none();
+        }
+        try {
+            return RecordLog.open(Paths.get(directory));
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                    format("Unable to open the storage in `%s`.", directory), e);
+        }
+    }
+
+    /**
+     * Obtains the value of the gauge of the storage, or zero if the environment is
+     * not configured yet.
+     */
+    private static long ofStorage(ToLongFunction<RetainingStorageFactory> gauge) {
+        RetainingStorageFactory current = storage;
+        return current == null ? 0 : gauge.applyAsLong(current);
+    }
+
+    private static long maxCompactionPauseMicros(RetainingStorageFactory storage) {
+        return storage.maxPause()
+                      .toNanos() / 1_000;
+    }
+
+    private static long inboxDepth(int shard) {
+        ShardedDelivery current = delivery;
+        return current == null ? 0 : current.inboxDepth(shard);
+    }
+
+    private static Retention retention() {
+        Retention retention = Retention.defaultPolicy();
+        String maxAge = System.getProperty(EVENTS_MAX_AGE_PROPERTY);
+        if (maxAge != null) {
+            retention = retention.withMaxAge(Duration.parse(maxAge));
+        }
+        Long maxPerConsole = Long.getLong(EVENTS_MAX_PER_CONSOLE_PROPERTY);
+        if (maxPerConsole != null) {
+            retention = retention.withMaxPerProducer(maxPerConsole);
+        }
+        Long maxBytes = Long.getLong(EVENTS_MAX_BYTES_PROPERTY);
+        if (maxBytes != null) {
+            retention = retention.withMaxBytes(maxBytes);
+        }
+        return retention;
+    }
+
+    private static int shardCount() {
+        int processors = Runtime.getRuntime()
+                                .availableProcessors();
+        return Integer.getInteger(DELIVERY_SHARDS_PROPERTY, processors);
+    }
+
     /**
-     * Configures the server-side environment for non-testing mode.
+     * Configures the server-side environment for non-testing mode, unless it is
+     * already configured.
      *
      * <p>We use in-memory implementations (that are typically used in tests) to simplify this
      * example application. Real applications would use implementations that correspond
      * to their environments.
+     *
+     * <p>The messages are delivered by the {@link ShardedDelivery}, so that the consoles of
+     * different users are served in parallel.
+     *
+     * <p>The events are kept as told by the {@linkplain #EVENTS_MAX_AGE_PROPERTY retention}
+     * properties, so that the events of a long-running server do not take all the memory.
+     *
+     * <p>The environment is configured right before the first Context is created, so that
+     * lazy servers do not spend time on it before they start. The delivery is created after
+     * the storage is used by the environment.
      */
-    private static void configureEnvironment() {
+    static synchronized void configureEnvironment() {
+        if (delivery != null) {
+            return;
+        }
+        RetainingStorageFactory retaining =
+                RetainingStorageFactory.wrap(InMemoryStorageFactory.newInstance(), retention());
+        ServerEnvironment.when(DefaultMode.class)
+                .use(retaining);
+        storage = retaining;
+        ShardedDelivery sharded = ShardedDelivery.withShards(shardCount());
         ServerEnvironment.when(DefaultMode.class)
-                .use(InMemoryStorageFactory.newInstance())
-                .use(Delivery.localAsync())
+                .use(sharded.delivery())
                 .use(InMemoryTransportFactory.newInstance());
+        delivery = sharded;
     }
 
     /**
      * Starts the server.
+     *
+     * <p>Before handling commands, the server recovers the states of all the consoles kept
+     * in the durable store in parallel and logs how long it took. Then, it creates
+     * the Context. Unless the server is {@linkplain #LAZY_PROPERTY lazy}, this happens before
+     * this method returns.
      */
     public void start() throws IOException {
-        server.start();
+        endpoint.start(Boolean.getBoolean(LAZY_PROPERTY));
+    }
+
+    /**
+     * Obtains the port at which the started server accepts the requests over the network.
+     *
+     * @throws IllegalStateException
+     *         if the server runs in-process
+     */
+    public int port() {
+        int port = endpoint.port();
+        checkState(port >= 0, "The server runs in-process.");
+        return port;
+    }
+
+    /**
+     * Obtains the number of messages waiting for delivery in each shard.
+     *
+     * <p>Before the first Context is created, all the shards are empty.
+     */
+    public ImmutableList<Long> inboxDepths() {
+        ShardedDelivery current = delivery;
+        if (current == null) {
+            return ImmutableList.copyOf(Collections.nCopies(shardCount(), 0L));
+        }
+        return current.inboxDepths();
     }
 
     /**
      * Shuts downs the server.
+     *
+     * <p>After the server stops, writes the states of consoles which are pending in
+     * the {@linkplain HelloContext#flush(HelloSettings) write-behind} cache and the lines which
+     * are still queued in the output sink, and closes the durable store and the metrics.
      */
     public void shutdown() {
-        server.shutdown();
+        endpoint.shutdown();
+        HelloContext.flush(settings);
+        settings.sink()
+                .close();
+        settings.store()
+                .close();
+        settings.metrics()
+                .close();
     }
 }
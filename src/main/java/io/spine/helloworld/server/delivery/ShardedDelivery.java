@@ -0,0 +1,158 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.delivery;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.server.delivery.Delivery;
+import io.spine.server.delivery.DeliveryStats;
+import io.spine.server.delivery.InboxMessage;
+import io.spine.server.delivery.ShardIndex;
+import io.spine.server.delivery.ShardObserver;
+import io.spine.server.delivery.UniformAcrossAllShards;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+
+/**
+ * The delivery which processes the inboxes of entities in several shards in parallel.
+ *
+ * <p>The entities are distributed across the shards by the hash of their IDs, so that
+ * the consoles of different users are spread evenly, while all the messages of a user get
+ * into the same shard. Each shard is served by its own worker thread, which keeps
+ * the messages of each entity in order.
+ *
+ * <p>The number of messages received by a shard but not yet delivered is available
+ * via {@link #inboxDepths()}.
+ */
+public final class ShardedDelivery implements ShardObserver {
+
+    private final Delivery delivery;
+    private final ExecutorService[] workers;
+    private final AtomicBoolean[] scheduled;
+    private final AtomicLongArray received;
+    private final AtomicLongArray delivered;
+
+    private ShardedDelivery(int shards) {
+        this.delivery = Delivery.newBuilder()
+                                .setStrategy(UniformAcrossAllShards.forNumber(shards))
+                                .build();
+        this.workers = new ExecutorService[shards];
+        this.scheduled = new AtomicBoolean[shards];
+        this.received = new AtomicLongArray(shards);
+        this.delivered = new AtomicLongArray(shards);
+        ThreadFactory threads = new ThreadFactoryBuilder()
+                .setNameFormat("hello-shard-%d")
+                .setDaemon(true)
+                .build();
+        for (int shard = 0; shard < shards; shard++) {
+            workers[shard] = newSingleThreadExecutor(threads);
+            scheduled[shard] = new AtomicBoolean();
+        }
+        delivery.subscribe(this);
+    }
+
+    /**
+     * Creates the delivery with the given number of shards.
+     */
+    public static ShardedDelivery withShards(int shards) {
+        checkArgument(shards > 0, "The number of shards must be positive.");
+        return new ShardedDelivery(shards);
+    }
+
+    /**
+     * Obtains the delivery to be used by the server environment.
+     */
+    public Delivery delivery() {
+        return delivery;
+    }
+
+    /**
+     * Obtains the number of shards.
+     */
+    public int shardCount() {
+        return workers.length;
+    }
+
+    /**
+     * Obtains the number of messages waiting for delivery in each shard.
+     */
+    public ImmutableList<Long> inboxDepths() {
+        ImmutableList.Builder<Long> result = ImmutableList.builderWithExpectedSize(shardCount());
+        for (int shard = 0; shard < shardCount(); shard++) {
+            result.add(inboxDepth(shard));
+        }
+        return result.build();
+    }
+
+    /**
+     * Obtains the number of messages waiting for delivery in all the shards.
+     */
+    public long pendingMessages() {
+        long result = 0;
+        for (int shard = 0; shard < shardCount(); shard++) {
+            result += inboxDepth(shard);
+        }
+        return result;
+    }
+
+    /**
+     * Obtains the number of messages waiting for delivery in the given shard.
+     */
+    public long inboxDepth(int shard) {
+        return Math.max(0, received.get(shard) - delivered.get(shard));
+    }
+
+    /**
+     * Schedules the delivery from the shard of the received message.
+     *
+     * <p>Messages received while the delivery from their shard is already scheduled
+     * are delivered by the same run of the worker.
+     */
+    @Override
+    public void onMessage(InboxMessage message) {
+        ShardIndex index = message.getShardIndex();
+        int shard = index.getIndex();
+        received.incrementAndGet(shard);
+        if (scheduled[shard].compareAndSet(false, true)) {
+            workers[shard].execute(() -> deliver(index));
+        }
+    }
+
+    private void deliver(ShardIndex index) {
+        int shard = index.getIndex();
+        scheduled[shard].set(false);
+        Optional<DeliveryStats> stats = delivery.deliverMessagesFrom(index);
+        stats.ifPresent(s -> delivered.addAndGet(shard, s.deliveredCount()));
+    }
+}
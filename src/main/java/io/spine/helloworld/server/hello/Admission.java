@@ -0,0 +1,169 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.helloworld.hello.ErrorTypes;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Limits the number of printing commands waiting in the inboxes of the consoles.
+ *
+ * <p>A command is waiting from being posted until its console starts handling it. When
+ * a command would exceed the limit of its console or the limit of all the consoles,
+ * the {@linkplain Overflow overflow policy} decides what happens to it.
+ *
+ * <p>The posters of the commands rejected because of the limits receive an acknowledgement
+ * with the error of the {@link ErrorTypes#OVERLOADED} type.
+ */
+public final class Admission {
+
+    private static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(10);
+
+    private static final Admission DEFAULT = of(10_000, 1_000_000, Overflow.REJECT);
+    private static final Admission UNLIMITED =
+            new Admission(0, 0, Overflow.REJECT, DEFAULT_MAX_WAIT);
+
+    private final int maxPerConsole;
+    private final long maxTotal;
+    private final Overflow overflow;
+    private final Duration maxWait;
+
+    private Admission(int maxPerConsole, long maxTotal, Overflow overflow, Duration maxWait) {
+        this.maxPerConsole = maxPerConsole;
+        this.maxTotal = maxTotal;
+        this.overflow = overflow;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Obtains the policy which rejects the commands exceeding 10 000 waiting commands of
+     * a console or a million waiting commands of all the consoles.
+     */
+    public static Admission defaultPolicy() {
+        return DEFAULT;
+    }
+
+    /**
+     * Obtains the policy which admits all the posted commands.
+     */
+    public static Admission unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Creates the policy with the given limits.
+     *
+     * <p>The posters blocked by the {@link Overflow#BLOCK BLOCK} policy wait for up to
+     * 10 seconds, unless {@linkplain #withMaxWait(Duration) configured} otherwise.
+     *
+     * @param maxPerConsole
+     *         the maximum number of commands waiting for a console
+     * @param maxTotal
+     *         the maximum number of commands waiting for all the consoles
+     * @param overflow
+     *         what happens to a command exceeding the limits
+     */
+    public static Admission of(int maxPerConsole, long maxTotal, Overflow overflow) {
+        checkArgument(maxPerConsole > 0, "The number of commands per console must be positive.");
+        checkArgument(maxTotal >= maxPerConsole,
+                      "The total number of commands cannot be less than the one per console.");
+        checkNotNull(overflow);
+        return new Admission(maxPerConsole, maxTotal, overflow, DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * Creates a copy of this policy in which the blocked posters wait for up to
+     * the given time before their commands are rejected.
+     */
+    public Admission withMaxWait(Duration maxWait) {
+        checkNotNull(maxWait);
+        checkArgument(!maxWait.isNegative(), "The time to wait cannot be negative.");
+        return new Admission(maxPerConsole, maxTotal, overflow, maxWait);
+    }
+
+    boolean isEnabled() {
+        return maxPerConsole > 0;
+    }
+
+    int maxPerConsole() {
+        return maxPerConsole;
+    }
+
+    long maxTotal() {
+        return maxTotal;
+    }
+
+    Overflow overflow() {
+        return overflow;
+    }
+
+    Duration maxWait() {
+        return maxWait;
+    }
+
+    @Override
+    public String toString() {
+        return "Admission{maxPerConsole=" + maxPerConsole + ", maxTotal=" + maxTotal
+                + ", overflow=" + overflow + ", maxWait=" + maxWait + '}';
+    }
+
+    /**
+     * Tells what happens to a command which exceeds the limits.
+     */
+    public enum Overflow {
+
+        /**
+         * The command is rejected right away.
+         */
+        REJECT,
+
+        /**
+         * The poster waits until a console handles one of its commands and makes room for
+         * the new one.
+         *
+         * <p>If no room is made within the {@linkplain #withMaxWait(Duration) time limit},
+         * the command is rejected.
+         */
+        BLOCK,
+
+        /**
+         * The command is admitted, while the oldest command waiting for the same console is
+         * dropped without printing.
+         *
+         * <p>The dropped command stays in the inbox until its turn comes, but the console
+         * skips it emitting {@code PrintDropped} instead of printing. Besides its waiting
+         * commands, a console keeps up to as many dropped ones as it may have waiting.
+         * The limit of all the consoles counts the dropped commands too. The commands
+         * exceeding either limit are rejected.
+         */
+        DROP_OLDEST
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.base.CommandMessage;
+import io.spine.base.Error;
+import io.spine.core.Ack;
+import io.spine.core.Status;
+import io.spine.core.TenantId;
+import io.spine.helloworld.hello.ErrorTypes;
+import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.hello.command.PrintAll;
+import io.spine.helloworld.hello.command.PrintChunk;
+import io.spine.helloworld.metrics.Counter;
+import io.spine.helloworld.metrics.Metrics;
+import io.spine.server.bus.BusFilter;
+import io.spine.server.type.CommandEnvelope;
+
+import java.util.Optional;
+
+import static io.spine.protobuf.AnyPacker.pack;
+import static java.lang.String.format;
+
+/**
+ * Admits the printing commands into the inboxes of the consoles within the limits of
+ * the {@link Admission} policy.
+ *
+ * <p>The commands which are not admitted are acknowledged with the error of
+ * the {@link ErrorTypes#OVERLOADED} type, so that the posters can slow down.
+ *
+ * <p>The filter reports the number of rejected commands and the number of the commands
+ * waiting in the inboxes to the metrics.
+ */
+final class AdmissionFilter implements BusFilter<CommandEnvelope> {
+
+    private final Inboxes inboxes;
+    private final Counter rejected;
+
+    AdmissionFilter(Inboxes inboxes, Metrics metrics) {
+        this.inboxes = inboxes;
+        this.rejected = metrics.counter("commands.rejected");
+        metrics.gauge("inboxes.waiting", inboxes::size);
+    }
+
+    @Override
+    public Optional<Ack> filter(CommandEnvelope envelope) {
+        Optional<String> username = usernameOf(envelope.message());
+        if (!username.isPresent()) {
+            return Optional.empty();
+        }
+        TenantId tenant = envelope.context()
+                                  .getActorContext()
+                                  .getTenantId();
+        if (admit(ConsoleKey.of(tenant, username.get()))) {
+            return Optional.empty();
+        }
+        rejected.increment();
+        Error error = Error.newBuilder()
+                .setType(ErrorTypes.OVERLOADED)
+                .setMessage(format("The console of `%s` has too many commands waiting.",
+                                   username.get()))
+                .build();
+        Ack ack = Ack.newBuilder()
+                .setMessageId(pack(envelope.id()))
+                .setStatus(Status.newBuilder()
+                                 .setError(error))
+                .build();
+        return Optional.of(ack);
+    }
+
+    private boolean admit(String console) {
+        try {
+            return inboxes.admit(console);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            return false;
+        }
+    }
+
+    private static Optional<String> usernameOf(CommandMessage command) {
+        if (command instanceof Print) {
+            return Optional.of(((Print) command).getUsername());
+        }
+        if (command instanceof PrintAll) {
+            return Optional.of(((PrintAll) command).getUsername());
+        }
+        if (command instanceof PrintChunk) {
+            return Optional.of(((PrintChunk) command).getUsername());
+        }
+        return Optional.empty();
+    }
+}
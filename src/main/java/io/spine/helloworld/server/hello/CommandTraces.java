@@ -0,0 +1,208 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.spine.base.CommandMessage;
+import io.spine.core.Ack;
+import io.spine.core.TenantId;
+import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.hello.command.PrintAll;
+import io.spine.helloworld.hello.command.PrintChunk;
+import io.spine.helloworld.trace.Span;
+import io.spine.helloworld.trace.Stage;
+import io.spine.helloworld.trace.Tracing;
+import io.spine.server.bus.BusFilter;
+import io.spine.server.type.CommandEnvelope;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traces the stages of the printing commands which happen on the server, telling
+ * the consoles the IDs of the commands they handle.
+ *
+ * <p>The handlers of the consoles do not know the IDs of the commands. As the last filter of
+ * the command bus, this object puts the IDs of the passed commands into the queue of
+ * the console of each command. The console takes the ID of the oldest queued command equal
+ * to the one it handles, as the commands are delivered to a console in the order of posting.
+ * The commands queued before that one never reached the console, and are dropped from
+ * the queue. A queue keeps at most {@value #MAX_QUEUED} commands, so the commands which are
+ * never delivered do not pile up while the recording goes on.
+ *
+ * <p>The span of posting an event is kept by the ID of its command until the event is
+ * {@linkplain PrintedObservers observed}.
+ *
+ * <p>The IDs are only queued while the tracing is {@linkplain Tracing#isRecording() recording}.
+ * A console takes an ID only if a queued command is the one it handles, so the commands
+ * which were posted before the recording started are traced without their IDs.
+ */
+final class CommandTraces implements BusFilter<CommandEnvelope> {
+
+    /**
+     * The traces which are not a filter of a command bus, so that the consoles using them
+     * do not know the IDs of their commands.
+     */
+    static final CommandTraces DETACHED = new CommandTraces();
+
+    /** The time after which the span of posting an event is dropped if the event is lost. */
+    private static final int EVENT_TIMEOUT_MINUTES = 1;
+
+    /** The maximum number of commands queued for a console. */
+    private static final int MAX_QUEUED = 1024;
+
+    private final Map<String, Deque<Dispatch>> dispatching = new ConcurrentHashMap<>();
+    private final Cache<String, Span> eventPosting = CacheBuilder.newBuilder()
+            .expireAfterWrite(EVENT_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    /**
+     * Begins the {@linkplain Stage#DISPATCH dispatching} of the printing command, if
+     * the tracing is recording.
+     *
+     * @return always empty, as this filter passes all the commands
+     */
+    @Override
+    public Optional<Ack> filter(CommandEnvelope envelope) {
+        if (!Tracing.isRecording()) {
+            return Optional.empty();
+        }
+        Optional<String> console = consoleOf(envelope);
+        if (console.isPresent()) {
+            Dispatch dispatch = new Dispatch(envelope.id()
+                                                     .getUuid(),
+                                             envelope.message(),
+                                             Tracing.begin(Stage.DISPATCH));
+            Deque<Dispatch> queue = dispatching.computeIfAbsent(console.get(),
+                                                                c -> new ArrayDeque<>());
+            synchronized (queue) {
+                if (queue.size() >= MAX_QUEUED) {
+                    queue.removeFirst();
+                }
+                queue.addLast(dispatch);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Ends the dispatching of the next command of the console.
+     *
+     * @param console
+     *         the {@linkplain ConsoleKey key} of the console
+     * @param command
+     *         the command handled by the console
+     * @return the ID of the dispatched command, or an empty string if it is not known
+     */
+    String dispatched(String console, CommandMessage command) {
+        if (dispatching.isEmpty()) {
+            return "";
+        }
+        Deque<Dispatch> queue = dispatching.get(console);
+        if (queue == null) {
+            return "";
+        }
+        @Nullable Dispatch dispatch = null;
+        synchronized (queue) {
+            if (queue.stream()
+                     .anyMatch(queued -> queued.command.equals(command))) {
+                do {
+                    dispatch = queue.removeFirst();
+                } while (!dispatch.command.equals(command));
+            }
+        }
+        if (dispatch == null) {
+            return "";
+        }
+        dispatch.span.commit(dispatch.commandId);
+        return dispatch.commandId;
+    }
+
+    /**
+     * Begins {@linkplain Stage#EVENT_POST posting} the event of the command with
+     * the given ID.
+     */
+    void posting(String commandId) {
+        if (!commandId.isEmpty() && Tracing.isRecording()) {
+            eventPosting.put(commandId, Tracing.begin(Stage.EVENT_POST));
+        }
+    }
+
+    /**
+     * Ends posting the event of the command with the given ID.
+     */
+    void posted(String commandId) {
+        if (commandId.isEmpty()) {
+            return;
+        }
+        Span span = eventPosting.asMap()
+                                .remove(commandId);
+        if (span != null) {
+            span.commit(commandId);
+        }
+    }
+
+    private static Optional<String> consoleOf(CommandEnvelope envelope) {
+        CommandMessage command = envelope.message();
+        String username;
+        if (command instanceof Print) {
+            username = ((Print) command).getUsername();
+        } else if (command instanceof PrintAll) {
+            username = ((PrintAll) command).getUsername();
+        } else if (command instanceof PrintChunk) {
+            username = ((PrintChunk) command).getUsername();
+        } else {
+            return Optional.empty();
+        }
+        TenantId tenant = envelope.context()
+                                  .getActorContext()
+                                  .getTenantId();
+        return Optional.of(ConsoleKey.of(tenant, username));
+    }
+
+    /**
+     * A command waiting for its console with the span of its dispatching.
+     */
+    private static final class Dispatch {
+
+        private final String commandId;
+        private final CommandMessage command;
+        private final Span span;
+
+        private Dispatch(String commandId, CommandMessage command, Span span) {
+            this.commandId = commandId;
+            this.command = command;
+            this.span = span;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Tells how the texts of consoles are compressed in the snapshots written to the durable store.
+ *
+ * <p>The distinct texts of a console are split into blocks of about the configured length,
+ * and each block is compressed with the {@link Deflater}. The rest of the state, which is
+ * the indices of the texts, is kept as is.
+ *
+ * <p>The blocks are decompressed only when their texts are read. So, reading a few lines of
+ * a compressed state via {@link Scrollback#linesOf(OutputOrBuilder, int, int)} costs
+ * decompressing the blocks of these lines only.
+ *
+ * <p>The compression is a trade of the CPU time spent when a snapshot is written for
+ * the size of the snapshot in the store and in memory, while the snapshot waits for its
+ * console after the {@linkplain HelloContext#recover(HelloSettings, int) recovery}.
+ * The {@code console.compression.*} metrics tell both for a deployment.
+ */
+public final class Compression {
+
+    /** The length of the texts compressed together by {@linkplain #deflate() default}. */
+    private static final int DEFAULT_BLOCK_BYTES = 16 * 1024;
+
+    private static final Compression NONE = new Compression(false, 0, 0);
+    private static final Compression DEFAULT =
+            new Compression(true, Deflater.BEST_SPEED, DEFAULT_BLOCK_BYTES);
+
+    private final boolean enabled;
+    private final int level;
+    private final int blockBytes;
+
+    private Compression(boolean enabled, int level, int blockBytes) {
+        this.enabled = enabled;
+        this.level = level;
+        this.blockBytes = blockBytes;
+    }
+
+    /**
+     * Obtains the policy which keeps the texts uncompressed.
+     */
+    public static Compression none() {
+        return NONE;
+    }
+
+    /**
+     * Obtains the policy which compresses the texts in blocks of 16 KiB at
+     * the {@linkplain Deflater#BEST_SPEED fastest} level.
+     */
+    public static Compression deflate() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates the policy which compresses the texts at the given level in blocks of
+     * the given length.
+     *
+     * @param level
+     *         the {@linkplain Deflater#setLevel(int) level} of the compression
+     * @param blockBytes
+     *         the length of the texts compressed together, in UTF-8 bytes
+     */
+    public static Compression deflate(int level, int blockBytes) {
+        checkArgument(level == Deflater.DEFAULT_COMPRESSION
+                              || (level >= Deflater.BEST_SPEED
+                              && level <= Deflater.BEST_COMPRESSION),
+                      "Unknown compression level: %s.", level);
+        checkArgument(blockBytes > 0, "The length of a block must be positive.");
+        return new Compression(true, level, blockBytes);
+    }
+
+    /**
+     * Tells if the texts are compressed.
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Obtains the state with the texts compressed in blocks.
+     *
+     * <p>Returns the passed state if the compression is not enabled, or if the state has
+     * no texts to compress.
+     */
+    Output compress(Output state) {
+        if (!enabled || state.getTextCount() == 0) {
+            return state;
+        }
+        List<TextBlock> blocks = new ArrayList<>();
+        Deflater deflater = new Deflater(level);
+        try {
+            int first = 0;
+            while (first < state.getTextCount()) {
+                TextBlock block = compressBlock(state, first, deflater);
+                blocks.add(block);
+                first += block.getTextCount();
+                deflater.reset();
+            }
+        } finally {
+            deflater.end();
+        }
+        return state.toBuilder()
+                    .clearText()
+                    .addAllTextBlock(blocks)
+                    .build();
+    }
+
+    private TextBlock compressBlock(Output state, int first, Deflater deflater) {
+        ByteString.Output raw = ByteString.newOutput(blockBytes);
+        CodedOutputStream entries = CodedOutputStream.newInstance(raw);
+        int count = 0;
+        int size = 0;
+        try {
+            while (first + count < state.getTextCount() && size < blockBytes) {
+                String text = state.getText(first + count);
+                entries.writeStringNoTag(text);
+                size += CodedOutputStream.computeStringSizeNoTag(text);
+                count++;
+            }
+            entries.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write the texts of a console.", e);
+        }
+        byte[] input = raw.toByteString()
+                          .toByteArray();
+        deflater.setInput(input);
+        deflater.finish();
+        ByteString.Output deflated = ByteString.newOutput(input.length / 4 + 64);
+        byte[] buffer = new byte[4096];
+        while (!deflater.finished()) {
+            int length = deflater.deflate(buffer);
+            deflated.write(buffer, 0, length);
+        }
+        return TextBlock.newBuilder()
+                .setFirstText(first)
+                .setTextCount(count)
+                .setDeflated(deflated.toByteString())
+                .setRawSize(input.length)
+                .build();
+    }
+
+    /**
+     * Tells if the texts of the state are compressed.
+     */
+    static boolean isCompressed(OutputOrBuilder state) {
+        return state.getTextBlockCount() > 0;
+    }
+
+    /**
+     * Decompresses the texts of the state, if they are compressed.
+     */
+    static void expand(Output.Builder state) {
+        if (!isCompressed(state)) {
+            return;
+        }
+        List<String> texts = new ArrayList<>();
+        for (TextBlock block : state.getTextBlockList()) {
+            texts.addAll(decompress(block));
+        }
+        state.clearTextBlock()
+             .addAllText(texts);
+    }
+
+    /**
+     * Obtains the state with the texts decompressed.
+     */
+    static Output expanded(Output state) {
+        if (!isCompressed(state)) {
+            return state;
+        }
+        Output.Builder result = state.toBuilder();
+        expand(result);
+        return result.build();
+    }
+
+    /**
+     * Obtains the function which reads the texts of the state by their indices.
+     *
+     * <p>If the texts are compressed, the function decompresses a block when one of its
+     * texts is read for the first time.
+     */
+    static IntFunction<String> textsOf(OutputOrBuilder state) {
+        return isCompressed(state)
+               ? new Blocks(state)::text
+               : state::getText;
+    }
+
+    private static List<String> decompress(TextBlock block) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block.getDeflated()
+                                   .toByteArray());
+            byte[] raw = new byte[block.getRawSize()];
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            checkState(length == raw.length,
+                          "The block of texts is truncated: %s of %s bytes.",
+                          length, raw.length);
+            CodedInputStream entries = CodedInputStream.newInstance(raw);
+            List<String> texts = new ArrayList<>(block.getTextCount());
+            for (int i = 0; i < block.getTextCount(); i++) {
+                texts.add(entries.readStringRequireUtf8());
+            }
+            return texts;
+        } catch (DataFormatException | IOException e) {
+            throw new IllegalStateException("Unable to decompress the texts of a console.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return enabled
+               ? "Compression{level=" + level + ", blockBytes=" + blockBytes + '}'
+               : "Compression{none}";
+    }
+
+    /**
+     * The compressed blocks of texts of a state, decompressed when they are read.
+     */
+    private static final class Blocks {
+
+        private final OutputOrBuilder state;
+        private final Map<Integer, List<String>> decompressed = new HashMap<>();
+
+        private Blocks(OutputOrBuilder state) {
+            this.state = state;
+        }
+
+        private String text(int index) {
+            int block = blockOf(index);
+            List<String> texts = decompressed.computeIfAbsent(
+                    block, b -> decompress(state.getTextBlock(b)));
+            return texts.get(index - state.getTextBlock(block)
+                                          .getFirstText());
+        }
+
+        /**
+         * Finds the block holding the text with the given index.
+         */
+        private int blockOf(int index) {
+            int low = 0;
+            int high = state.getTextBlockCount() - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (state.getTextBlock(middle)
+                         .getFirstText() <= index) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low;
+        }
+    }
+}
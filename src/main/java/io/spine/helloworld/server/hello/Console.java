@@ -26,47 +26,316 @@
 
 package io.spine.helloworld.server.hello;
 
+import com.google.common.collect.ImmutableList;
+import io.spine.core.CommandContext;
 import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.hello.command.PrintAll;
+import io.spine.helloworld.hello.command.PrintChunk;
+import io.spine.helloworld.hello.event.PrintDropped;
 import io.spine.helloworld.hello.event.Printed;
+import io.spine.helloworld.hello.event.PrintedAll;
+import io.spine.helloworld.hello.event.PrintedChunk;
+import io.spine.helloworld.server.output.OutputSink;
+import io.spine.helloworld.trace.Span;
+import io.spine.helloworld.trace.Stage;
+import io.spine.helloworld.trace.Tracing;
 import io.spine.server.command.Assign;
 import io.spine.server.procman.ProcessManager;
+import io.spine.server.tuple.EitherOf2;
 
-import static java.lang.String.format;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This Process Manager handles the {@linkplain Print printing} commands.
+ *
+ * <p>Lines printed in a batch via {@link PrintAll} are handled in a single dispatch.
+ *
+ * <p>A large text is streamed in {@link PrintChunk} commands. Each chunk takes its own line
+ * and is printed as it arrives, so the console never holds the whole text in one string.
+ *
+ * <p>A command which the {@linkplain Admission admission policy} dropped while it was waiting
+ * in the inbox is not printed. The console emits {@link PrintDropped} for it instead.
  */
 final class Console extends ProcessManager<String, Output, Output.Builder> {
 
+    /**
+     * The maximum number of unfinished streamed texts kept by a console.
+     *
+     * <p>When a new text starts streaming while the console keeps this many, the text whose
+     * chunk was printed the longest time ago is forgotten.
+     */
+    static final int MAX_OPEN_STREAMS = 16;
+
+    private Scrollback scrollback = Scrollback.defaultLimits();
+    private OutputSink sink = OutputSink.systemOut();
+    private ConsoleJournal journal = HelloSettings.defaults()
+                                                  .journal();
+    private ConsoleMetrics metrics = ConsoleMetrics.DISABLED;
+    private Inboxes inboxes = Inboxes.UNLIMITED;
+    private CommandTraces traces = CommandTraces.DETACHED;
+
+    /**
+     * Sets the limits for the lines kept on the screen.
+     */
+    void setScrollback(Scrollback scrollback) {
+        this.scrollback = scrollback;
+    }
+
+    /**
+     * Sets the sink to which the lines are printed.
+     */
+    void setSink(OutputSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Sets the journal which keeps the state across restarts of the server.
+     */
+    void setJournal(ConsoleJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Sets the metrics to which the console reports.
+     */
+    void setMetrics(ConsoleMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets the inboxes from which the console takes its commands.
+     */
+    void setInboxes(Inboxes inboxes) {
+        this.inboxes = inboxes;
+    }
+
+    /**
+     * Sets the traces which tell the IDs of the handled commands.
+     */
+    void setTraces(CommandTraces traces) {
+        this.traces = traces;
+    }
+
     /**
      * Handles the printing command.
      *
      * <p>
      * <ol>
-     *    <li>Updates the state of the process by adding the passed text.
-     *    <li>Prints the text to the system output.
+     *    <li>Takes the command from the {@linkplain Inboxes inbox} of the console, emitting
+     *        {@link PrintDropped} if the command was dropped while waiting.
+     *    <li>Restores the state from the {@linkplain ConsoleJournal journal}, if the state
+     *        is missing in the storage of the server.
+     *    <li>Updates the state of the process by adding the passed text, evicting the oldest
+     *        lines which do not fit into the {@linkplain Scrollback scrollback}.
+     *    <li>Prints the text to the {@linkplain OutputSink output sink}.
+     *    <li>Writes the printed text to the journal.
      *    <li>Emits the event on the fact.
      * </ol>
+     *
+     * <p>The stages of handling are {@linkplain io.spine.helloworld.trace.Tracing traced}.
      */
     @Assign
-    Printed handle(Print command) {
+    EitherOf2<Printed, PrintDropped> handle(Print command, CommandContext context) {
         String username = command.getUsername();
+        String key = keyOf(context, username);
+        String commandId = traces.dispatched(key, command);
+        if (inboxes.take(key)) {
+            return EitherOf2.withB(dropped(username, 1));
+        }
+        Span handling = Tracing.begin(Stage.HANDLE);
+        long start = metrics.handlePrint.start();
         String text = command.getText();
-        builder().setUsername(username)
-                 .addLines(text);
-        println(username, text);
-        return Printed.newBuilder()
+        restore(key, commandId);
+        builder().setUsername(username);
+        long line = printedLines();
+        scrollback.append(builder(), text);
+        Span printing = Tracing.begin(Stage.PRINT);
+        sink.println(username, text);
+        printing.commit(commandId);
+        writeToJournal(key, ImmutableList.of(text), commandId);
+        Printed event = Printed.newBuilder()
                 .setUsername(username)
                 .setText(command.getText())
+                .setLine(line)
                 .vBuild();
+        metrics.printCommands.increment();
+        metrics.lines.increment();
+        metrics.handlePrint.stop(start);
+        handling.commit(commandId);
+        traces.posting(commandId);
+        return EitherOf2.withA(event);
+    }
+
+    /**
+     * Handles the command printing several lines.
+     *
+     * <p>Adds all the lines to the state and prints them to the output sink, writing
+     * them to the journal and emitting one event for the whole batch.
+     */
+    @Assign
+    EitherOf2<PrintedAll, PrintDropped> handle(PrintAll command, CommandContext context) {
+        String username = command.getUsername();
+        String key = keyOf(context, username);
+        String commandId = traces.dispatched(key, command);
+        if (inboxes.take(key)) {
+            return EitherOf2.withB(dropped(username, command.getTextCount()));
+        }
+        Span handling = Tracing.begin(Stage.HANDLE);
+        long start = metrics.handlePrintAll.start();
+        restore(key, commandId);
+        builder().setUsername(username);
+        long firstLine = printedLines();
+        scrollback.appendAll(builder(), command.getTextList());
+        Span printing = Tracing.begin(Stage.PRINT);
+        for (String text : command.getTextList()) {
+            sink.println(username, text);
+        }
+        printing.commit(commandId);
+        writeToJournal(key, command.getTextList(), commandId);
+        PrintedAll event = PrintedAll.newBuilder()
+                .setUsername(username)
+                .addAllText(command.getTextList())
+                .setFirstLine(firstLine)
+                .vBuild();
+        metrics.printAllCommands.increment();
+        metrics.lines.add(command.getTextCount());
+        metrics.handlePrintAll.stop(start);
+        handling.commit(commandId);
+        return EitherOf2.withA(event);
+    }
+
+    /**
+     * Handles a chunk of a streamed text.
+     *
+     * <p>The chunk is added to the state as a line of its own, printed to the output sink,
+     * and written to the journal, like a line printed by {@link Print}. The console keeps
+     * the index of the next chunk of each unfinished stream until the last chunk arrives,
+     * for up to {@value #MAX_OPEN_STREAMS} streams.
+     *
+     * <p>A chunk which does not follow the previous chunk of its stream is dropped, as
+     * the text it belongs to cannot be printed in order anymore. So, once a chunk is lost,
+     * all the following chunks of the stream are dropped, too.
+     */
+    @Assign
+    EitherOf2<PrintedChunk, PrintDropped> handle(PrintChunk command, CommandContext context) {
+        String username = command.getUsername();
+        String key = keyOf(context, username);
+        String commandId = traces.dispatched(key, command);
+        if (inboxes.take(key)) {
+            return EitherOf2.withB(dropped(username, 1));
+        }
+        Span handling = Tracing.begin(Stage.HANDLE);
+        long start = metrics.handlePrintChunk.start();
+        restore(key, commandId);
+        String stream = command.getStreamId();
+        int expected = builder().getOpenStreamOrDefault(stream, OpenStream.getDefaultInstance())
+                                .getNextChunk();
+        if (command.getIndex() != expected) {
+            if (command.getLast()) {
+                builder().removeOpenStream(stream);
+            }
+            metrics.handlePrintChunk.stop(start);
+            handling.commit(commandId);
+            return EitherOf2.withB(dropped(username, 1));
+        }
+        long line = printedLines();
+        if (command.getLast()) {
+            builder().removeOpenStream(stream);
+        } else {
+            if (expected == 0) {
+                forgetOldestStream();
+            }
+            OpenStream open = OpenStream.newBuilder()
+                    .setNextChunk(expected + 1)
+                    .setLastLine(line)
+                    .build();
+            builder().putOpenStream(stream, open);
+        }
+        String text = command.getText();
+        builder().setUsername(username);
+        scrollback.append(builder(), text);
+        Span printing = Tracing.begin(Stage.PRINT);
+        sink.println(username, text);
+        printing.commit(commandId);
+        writeToJournal(key, ImmutableList.of(text), commandId);
+        PrintedChunk event = PrintedChunk.newBuilder()
+                .setUsername(username)
+                .setStreamId(stream)
+                .setIndex(command.getIndex())
+                .setText(text)
+                .setLine(line)
+                .setLast(command.getLast())
+                .vBuild();
+        metrics.printChunkCommands.increment();
+        metrics.lines.increment();
+        metrics.handlePrintChunk.stop(start);
+        handling.commit(commandId);
+        return EitherOf2.withA(event);
+    }
+
+    /**
+     * Forgets the streamed text whose chunk was printed the longest time ago, if
+     * the console keeps the maximum number of unfinished texts.
+     */
+    private void forgetOldestStream() {
+        Map<String, OpenStream> open = builder().getOpenStreamMap();
+        if (open.size() < MAX_OPEN_STREAMS) {
+            return;
+        }
+        open.entrySet()
+            .stream()
+            .min(Comparator.comparingLong(entry -> entry.getValue()
+                                                        .getLastLine()))
+            .map(Map.Entry::getKey)
+            .ifPresent(builder()::removeOpenStream);
+    }
+
+    private PrintDropped dropped(String username, int lines) {
+        metrics.droppedCommands.increment();
+        return PrintDropped.newBuilder()
+                .setUsername(username)
+                .setLineCount(lines)
+                .vBuild();
+    }
+
+    /**
+     * Restores the state kept by the journal, if this console is not yet known
+     * to the storage of the server.
+     */
+    private void restore(String key, String commandId) {
+        if (!state().equals(Output.getDefaultInstance())) {
+            return;
+        }
+        Span loading = Tracing.begin(Stage.LOAD);
+        journal.restore(key)
+               .ifPresent(saved -> builder().mergeFrom(saved));
+        loading.commit(commandId);
+    }
+
+    /**
+     * Writes the printed lines to the journal.
+     */
+    private void writeToJournal(String key, List<String> lines, String commandId) {
+        Span storing = Tracing.begin(Stage.STORE);
+        journal.record(key, builder(), lines);
+        storing.commit(commandId);
+    }
+
+    /**
+     * Obtains the key of this console in the journal and the inboxes, which tells apart
+     * the consoles of the same user in different tenants.
+     */
+    private static String keyOf(CommandContext context, String username) {
+        return ConsoleKey.of(context.getActorContext()
+                                    .getTenantId(), username);
     }
 
     /**
-     * Prints the passed text to console.
+     * Obtains the number of lines printed to this console, including the evicted ones.
      */
-    @SuppressWarnings("UseOfSystemOutOrSystemErr")
-    private void println(String userName, String text) {
-        String output = format("[%s] %s", userName, text);
-        System.out.println(output);
+    private long printedLines() {
+        return builder().getEvicted() + builder().getSize();
     }
 }
@@ -0,0 +1,419 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import io.spine.helloworld.server.storage.DurableStore;
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Writes the states of consoles to the durable store as snapshots followed by tails.
+ *
+ * <p>A snapshot is the full state of a console. A tail holds the lines printed after
+ * the last snapshot. Handling a command rewrites only the tail, and the snapshot is
+ * rewritten as configured by {@link Snapshots}. So, the cost of writing does not depend
+ * on the size of the scrollback.
+ *
+ * <p>A console is restored by replaying its tail over its snapshot. The tail tells how many
+ * lines were printed before it, so that the lines already included into the snapshot are
+ * not replayed twice if the process stops between writing the snapshot and the tail.
+ *
+ * <p>The consoles are identified by their {@linkplain ConsoleKey keys}, so that the consoles
+ * of the same user in different tenants are kept apart.
+ *
+ * <p>The states of all the consoles may be {@linkplain #recoverAll(int) recovered} in
+ * parallel when the server starts. Such states are handed to the consoles when they
+ * handle their first commands.
+ *
+ * <p>The texts of the snapshots may be {@linkplain Compression compressed}. The recovered
+ * states with nothing to replay are kept compressed until their consoles take them.
+ *
+ * <p>If configured to {@linkplain WriteBehind write behind}, the journal keeps the tails and
+ * the snapshots in memory until a console handles enough commands, or a background thread
+ * writes them when the window passes. The pending writes are done at once when the journal
+ * is {@linkplain #close() closed}.
+ */
+final class ConsoleJournal implements AutoCloseable, Logging {
+
+    private static final String SNAPSHOT = "snapshot:";
+    private static final String TAIL = "tail:";
+
+    private final DurableStore store;
+    private final Snapshots snapshots;
+    private final Scrollback scrollback;
+    private final ConsoleMetrics metrics;
+    private final WriteBehind writeBehind;
+    private final Compression compression;
+    private final boolean enabled;
+
+    /** Writes the pending tails when the window passes, if the journal writes behind. */
+    private volatile @Nullable ScheduledExecutorService writer;
+
+    /** The tails of the consoles which printed since the start of the server. */
+    private final Map<String, Tail> tails = new ConcurrentHashMap<>();
+
+    /** The states recovered at start and not yet taken by the consoles. */
+    private final Map<String, Output> recovered = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("FutureReturnValueIgnored") // The task is cancelled by `close()`.
+    ConsoleJournal(DurableStore store,
+                   Snapshots snapshots,
+                   WriteBehind writeBehind,
+                   Compression compression,
+                   Scrollback scrollback,
+                   ConsoleMetrics metrics) {
+        this.store = store;
+        this.snapshots = snapshots;
+        this.writeBehind = writeBehind;
+        this.compression = compression;
+        this.scrollback = scrollback;
+        this.metrics = metrics;
+        this.enabled = store != DurableStore.none();
+        if (enabled && writeBehind.isEnabled()) {
+            ScheduledExecutorService executor = newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("hello-journal-%d")
+                                              .setDaemon(true)
+                                              .build());
+            long nanos = writeBehind.window()
+                                    .toNanos();
+            executor.scheduleWithFixedDelay(this::writePending, nanos, nanos, NANOSECONDS);
+            this.writer = executor;
+        }
+    }
+
+    /**
+     * Obtains the stored state of the console.
+     *
+     * <p>The texts of the obtained state are not compressed.
+     */
+    Optional<Output> restore(String console) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Output state = recovered.remove(console);
+        if (state != null) {
+            return Optional.of(Compression.expanded(state));
+        }
+        return recover(console).map(r -> Compression.expanded(r.state));
+    }
+
+    /**
+     * Writes the lines just printed to the console, taking a snapshot of the console
+     * if it is due.
+     *
+     * <p>When writing behind, the lines and the snapshot are only written after
+     * the console handles the number of commands set by the {@link WriteBehind} policy,
+     * or after the window of the policy passes.
+     *
+     * @param console
+     *         the {@linkplain ConsoleKey key} of the console
+     * @param state
+     *         the state of the console after the lines were printed
+     * @param lines
+     *         the printed lines
+     */
+    void record(String console, Output.Builder state, List<String> lines) {
+        if (!enabled) {
+            return;
+        }
+        long start = metrics.store.start();
+        long printed = printedLines(state);
+        Tail tail = tails.computeIfAbsent(console, u -> new Tail(printed - lines.size()));
+        synchronized (tail) {
+            tail.lines.addAll(lines);
+            if (snapshots.isDue(tail.lines.size(), System.nanoTime() - tail.snapshotNanos)) {
+                tail.snapshot = state.build();
+                tail.reset(printed);
+                metrics.snapshots.increment();
+            }
+            tail.pendingCommands++;
+            if (writer == null || tail.pendingCommands >= writeBehind.commands()) {
+                write(console, tail);
+            }
+        }
+        metrics.store.stop(start);
+    }
+
+    /**
+     * Writes the pending snapshot and the tail of the console.
+     *
+     * <p>The caller must hold the lock of the tail.
+     */
+    private void write(String console, Tail tail) {
+        if (tail.pendingCommands == 0) {
+            return;
+        }
+        Output snapshot = tail.snapshot;
+        if (snapshot != null) {
+            store.write(SNAPSHOT + console, compress(snapshot).toByteArray());
+            tail.snapshot = null;
+            metrics.writes.increment();
+        }
+        if (!tail.lines.isEmpty()) {
+            OutputTail record = OutputTail.newBuilder()
+                    .setFirstLine(tail.firstLine)
+                    .addAllLines(tail.lines)
+                    .build();
+            store.write(TAIL + console, record.toByteArray());
+            metrics.writes.increment();
+        }
+        tail.pendingCommands = 0;
+    }
+
+    private Output compress(Output snapshot) {
+        if (!compression.isEnabled()) {
+            return snapshot;
+        }
+        long start = System.nanoTime();
+        Output result = compression.compress(snapshot);
+        metrics.compressionNanos.add(System.nanoTime() - start);
+        metrics.rawSnapshotBytes.add(snapshot.getSerializedSize());
+        metrics.compressedSnapshotBytes.add(result.getSerializedSize());
+        return result;
+    }
+
+    /**
+     * Writes the tails and the snapshots of all the consoles which were not written yet.
+     */
+    void flush() {
+        tails.forEach((console, tail) -> {
+            synchronized (tail) {
+                write(console, tail);
+            }
+        });
+    }
+
+    private void writePending() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            _error().withCause(e)
+                    .log("Unable to write the states of consoles to the durable store.");
+        }
+    }
+
+    /**
+     * Stops writing in background and writes all the pending tails and snapshots.
+     *
+     * <p>After the journal is closed, the lines are written through by each command.
+     */
+    @Override
+    public void close() {
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = writer;
+            writer = null;
+        }
+        if (current != null) {
+            current.shutdown();
+            awaitTermination(current);
+        }
+        flush();
+    }
+
+    /**
+     * Waits for the background writer to complete the writing it may be doing, so that
+     * the writing is not interrupted in the middle.
+     */
+    private static void awaitTermination(ScheduledExecutorService writer) {
+        try {
+            writer.awaitTermination(1, MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    /**
+     * Restores the states of all the stored consoles using the given number of threads.
+     */
+    RecoveryReport recoverAll(int parallelism) {
+        checkArgument(parallelism > 0, "The parallelism must be positive.");
+        long start = System.nanoTime();
+        if (!enabled) {
+            return new RecoveryReport(0, 0, Duration.ZERO);
+        }
+        Set<String> stored = store.keys()
+                                  .stream()
+                                  .filter(key -> key.startsWith(SNAPSHOT)
+                                          || key.startsWith(TAIL))
+                                  .map(ConsoleJournal::console)
+                                  .collect(toSet());
+        ExecutorService workers = newFixedThreadPool(
+                parallelism,
+                new ThreadFactoryBuilder().setNameFormat("hello-recovery-%d")
+                                          .setDaemon(true)
+                                          .build());
+        try {
+            List<Future<Optional<Recovered>>> results = new ArrayList<>(stored.size());
+            for (String console : stored) {
+                results.add(workers.submit(() -> recover(console)));
+            }
+            int consoles = 0;
+            long replayed = 0;
+            for (Future<Optional<Recovered>> result : results) {
+                Optional<Recovered> found = result.get();
+                if (found.isPresent()) {
+                    recovered.put(found.get().console, found.get().state);
+                    consoles++;
+                    replayed += found.get().replayed;
+                }
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            return new RecoveryReport(consoles, replayed, elapsed);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new IllegalStateException("The recovery of consoles was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to recover consoles.", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Optional<Recovered> recover(String console) {
+        long start = metrics.load.start();
+        Optional<Output> snapshot = read(SNAPSHOT + console, Output.getDefaultInstance());
+        Optional<OutputTail> tail = read(TAIL + console, OutputTail.getDefaultInstance());
+        if (!snapshot.isPresent() && !tail.isPresent()) {
+            return Optional.empty();
+        }
+        Output.Builder state = snapshot.map(Output::toBuilder)
+                                       .orElseGet(Output::newBuilder);
+        Scrollback.upgrade(state);
+        long printed = printedLines(state);
+        List<String> replayed = new ArrayList<>();
+        if (tail.isPresent()) {
+            long line = tail.get()
+                            .getFirstLine();
+            for (String text : tail.get().getLinesList()) {
+                if (line >= printed) {
+                    replayed.add(text);
+                }
+                line++;
+            }
+            if (!replayed.isEmpty()) {
+                Compression.expand(state);
+                scrollback.appendAll(state, replayed);
+            }
+        }
+        Tail restoredTail = new Tail(printed);
+        restoredTail.lines.addAll(replayed);
+        tails.put(console, restoredTail);
+        metrics.load.stop(start);
+        return Optional.of(new Recovered(console, state.build(), replayed.size()));
+    }
+
+    @SuppressWarnings("unchecked") // The type of the parsed message is defined by the prototype.
+    private <M extends Message> Optional<M> read(String key, M prototype) {
+        return store.read(key)
+                    .map(bytes -> {
+                        try {
+                            return (M) prototype.getParserForType()
+                                                .parseFrom(bytes);
+                        } catch (InvalidProtocolBufferException e) {
+                            throw new IllegalStateException(
+                                    "Unable to read `" + key + "` from the durable store.", e);
+                        }
+                    });
+    }
+
+    private static long printedLines(OutputOrBuilder state) {
+        return state.getEvicted() + state.getSize();
+    }
+
+    private static String console(String key) {
+        return key.startsWith(SNAPSHOT)
+               ? key.substring(SNAPSHOT.length())
+               : key.substring(TAIL.length());
+    }
+
+    /**
+     * The lines printed to a console since its last snapshot.
+     */
+    private static final class Tail {
+
+        private final List<String> lines = new ArrayList<>();
+        private long firstLine;
+        private long snapshotNanos = System.nanoTime();
+
+        /** The snapshot taken but not yet written. */
+        private @Nullable Output snapshot;
+
+        /** The number of commands whose lines are not yet written. */
+        private int pendingCommands;
+
+        private Tail(long firstLine) {
+            this.firstLine = firstLine;
+        }
+
+        private void reset(long firstLine) {
+            this.firstLine = firstLine;
+            this.lines.clear();
+            this.snapshotNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * The recovered state of a console.
+     */
+    private static final class Recovered {
+
+        private final String console;
+        private final Output state;
+        private final int replayed;
+
+        private Recovered(String console, Output state, int replayed) {
+            this.console = console;
+            this.state = state;
+            this.replayed = replayed;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.common.escape.Escaper;
+import com.google.common.net.UrlEscapers;
+import io.spine.base.Identifier;
+import io.spine.core.TenantId;
+
+/**
+ * Identifies the console of a user across the tenants of a Context.
+ *
+ * <p>The {@link Console} entities are kept apart per tenant by the storage of the Context.
+ * The structures which the Context keeps besides the storage, such as the durable journal,
+ * the inboxes, and the observers of events, use the key of a console instead of the username.
+ *
+ * <p>The key of a console without a tenant is the username, so the keys in a single-tenant
+ * Context stay the same as before the tenants were introduced.
+ */
+final class ConsoleKey {
+
+    private static final char SEPARATOR = '/';
+    private static final Escaper TENANT_ESCAPER = UrlEscapers.urlPathSegmentEscaper();
+
+    /** Prevents instantiation of this utility class. */
+    private ConsoleKey() {
+    }
+
+    /**
+     * Obtains the key of the console of the user in the given tenant.
+     *
+     * <p>The tenant is escaped, so that it never contains the separator of the tenant
+     * and the username.
+     */
+    static String of(TenantId tenant, String username) {
+        if (tenant.equals(TenantId.getDefaultInstance())) {
+            return username;
+        }
+        return TENANT_ESCAPER.escape(Identifier.toString(tenant)) + SEPARATOR + username;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.helloworld.metrics.Counter;
+import io.spine.helloworld.metrics.Metrics;
+import io.spine.helloworld.metrics.Timer;
+
+/**
+ * The metrics of handling commands by {@link Console}s.
+ *
+ * <p>Created once per Context, so that the consoles do not look the metrics up by name
+ * when handling commands.
+ */
+final class ConsoleMetrics {
+
+    static final ConsoleMetrics DISABLED = new ConsoleMetrics(Metrics.disabled());
+
+    /** The time of handling the {@code Print} command. */
+    final Timer handlePrint;
+
+    /** The time of handling the {@code PrintAll} command. */
+    final Timer handlePrintAll;
+
+    /** The time of handling the {@code PrintChunk} command. */
+    final Timer handlePrintChunk;
+
+    /** The time of restoring a state from the durable store. */
+    final Timer load;
+
+    /** The time of writing printed lines to the durable store. */
+    final Timer store;
+
+    /** The number of snapshots taken. */
+    final Counter snapshots;
+
+    /** The number of snapshots and tails written to the durable store. */
+    final Counter writes;
+
+    /** The number of handled {@code Print} commands. */
+    final Counter printCommands;
+
+    /** The number of handled {@code PrintAll} commands. */
+    final Counter printAllCommands;
+
+    /** The number of handled {@code PrintChunk} commands. */
+    final Counter printChunkCommands;
+
+    /** The number of printed lines. */
+    final Counter lines;
+
+    /** The number of commands dropped without printing. */
+    final Counter droppedCommands;
+
+    /** The length of the compressed snapshots before the compression. */
+    final Counter rawSnapshotBytes;
+
+    /** The length of the compressed snapshots written to the durable store. */
+    final Counter compressedSnapshotBytes;
+
+    /** The CPU time spent on compressing snapshots. */
+    final Counter compressionNanos;
+
+    ConsoleMetrics(Metrics metrics) {
+        this.handlePrint = metrics.timer("console.handle.Print");
+        this.handlePrintAll = metrics.timer("console.handle.PrintAll");
+        this.handlePrintChunk = metrics.timer("console.handle.PrintChunk");
+        this.load = metrics.timer("console.load");
+        this.store = metrics.timer("console.store");
+        this.snapshots = metrics.counter("console.snapshots");
+        this.writes = metrics.counter("console.writes");
+        this.printCommands = metrics.counter("console.dispatched.Print");
+        this.printAllCommands = metrics.counter("console.dispatched.PrintAll");
+        this.printChunkCommands = metrics.counter("console.dispatched.PrintChunk");
+        this.lines = metrics.counter("console.lines");
+        this.droppedCommands = metrics.counter("console.dropped");
+        this.rawSnapshotBytes = metrics.counter("console.compression.rawBytes");
+        this.compressedSnapshotBytes = metrics.counter("console.compression.compressedBytes");
+        this.compressionNanos = metrics.counter("console.compression.nanos");
+        metrics.gauge("console.compression.percent",
+                      () -> ratio(compressedSnapshotBytes.value() * 100, rawSnapshotBytes.value()));
+        metrics.gauge("console.compression.nanosPerCommand",
+                      () -> ratio(compressionNanos.value(),
+                                  printCommands.value()
+                                          + printAllCommands.value()
+                                          + printChunkCommands.value()));
+    }
+
+    private static long ratio(long dividend, long divisor) {
+        return divisor == 0 ? 0 : dividend / divisor;
+    }
+}
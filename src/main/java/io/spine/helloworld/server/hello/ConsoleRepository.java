@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.server.procman.ProcessManagerRepository;
+
+/**
+ * The repository of {@link Console}s which applies the {@linkplain HelloSettings settings}
+ * of the Context to the process managers it loads.
+ */
+final class ConsoleRepository extends ProcessManagerRepository<String, Console, Output> {
+
+    private final HelloSettings settings;
+    private final Inboxes inboxes;
+    private final CommandTraces traces;
+
+    ConsoleRepository(HelloSettings settings, Inboxes inboxes, CommandTraces traces) {
+        this.settings = settings;
+        this.inboxes = inboxes;
+        this.traces = traces;
+    }
+
+    @Override
+    protected void configure(Console console) {
+        super.configure(console);
+        console.setScrollback(settings.scrollback());
+        console.setSink(settings.sink());
+        console.setJournal(settings.journal());
+        console.setMetrics(settings.consoleMetrics());
+        console.setInboxes(inboxes);
+        console.setTraces(traces);
+    }
+}
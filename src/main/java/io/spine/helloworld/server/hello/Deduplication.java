@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Tells which commands are remembered for recognizing their duplicates.
+ *
+ * <p>A command posted again with the same ID is acknowledged without being handled, while
+ * the ID of the command is remembered. The IDs are forgotten after the given time, or
+ * earlier, when the number of remembered IDs exceeds the limit.
+ */
+public final class Deduplication {
+
+    private static final Deduplication DEFAULT = of(100_000, Duration.ofMinutes(5));
+    private static final Deduplication DISABLED = new Deduplication(0, Duration.ZERO);
+
+    private final long maxCommands;
+    private final Duration window;
+
+    private Deduplication(long maxCommands, Duration window) {
+        this.maxCommands = maxCommands;
+        this.window = window;
+    }
+
+    /**
+     * Obtains the policy which remembers up to 100 000 commands for 5 minutes.
+     */
+    public static Deduplication defaultPolicy() {
+        return DEFAULT;
+    }
+
+    /**
+     * Obtains the policy which handles all the posted commands.
+     */
+    public static Deduplication disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Creates the policy which remembers up to the given number of commands for
+     * the given time.
+     */
+    public static Deduplication of(long maxCommands, Duration window) {
+        checkArgument(maxCommands > 0, "The number of commands must be positive.");
+        checkNotNull(window);
+        checkArgument(!window.isNegative() && !window.isZero(), "The window must be positive.");
+        return new Deduplication(maxCommands, window);
+    }
+
+    boolean isEnabled() {
+        return maxCommands > 0;
+    }
+
+    long maxCommands() {
+        return maxCommands;
+    }
+
+    Duration window() {
+        return window;
+    }
+
+    @Override
+    public String toString() {
+        return "Deduplication{maxCommands=" + maxCommands + ", window=" + window + '}';
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.Empty;
+import io.spine.core.Ack;
+import io.spine.core.Status;
+import io.spine.helloworld.metrics.Counter;
+import io.spine.helloworld.metrics.Metrics;
+import io.spine.server.bus.BusFilter;
+import io.spine.server.type.CommandEnvelope;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.protobuf.AnyPacker.pack;
+
+/**
+ * Acknowledges the commands posted again with the same ID without dispatching them.
+ *
+ * <p>The IDs of the dispatched commands are kept in a bounded cache as configured by
+ * {@link Deduplication}. A duplicate is acknowledged as if it was accepted, so a client
+ * retrying on a timeout does not see an error, while the {@link Console} neither loads nor
+ * stores its state again and emits no second event.
+ *
+ * <p>A command rejected by a filter which runs after this one was not dispatched, so its ID
+ * must not be remembered. Such filters are {@linkplain #forgettingRejectedBy(BusFilter)
+ * wrapped}, so that a retry of a command rejected because of an overload or a quota is
+ * dispatched rather than acknowledged as a duplicate.
+ *
+ * <p>The filter reports the numbers of unique and duplicate commands and the percentage of
+ * the duplicates to the metrics.
+ */
+final class DuplicateCommandFilter implements BusFilter<CommandEnvelope> {
+
+    private final Cache<String, Boolean> dispatched;
+    private final Counter unique;
+    private final Counter duplicates;
+
+    DuplicateCommandFilter(Deduplication policy, Metrics metrics) {
+        this.dispatched = CacheBuilder.newBuilder()
+                                      .maximumSize(policy.maxCommands())
+                                      .expireAfterWrite(policy.window().toNanos(),
+                                                        TimeUnit.NANOSECONDS)
+                                      .concurrencyLevel(Runtime.getRuntime()
+                                                               .availableProcessors())
+                                      .build();
+        this.unique = metrics.counter("commands.unique");
+        this.duplicates = metrics.counter("commands.duplicate");
+        metrics.gauge("commands.duplicate.percent", this::duplicatePercent);
+    }
+
+    @Override
+    public Optional<Ack> filter(CommandEnvelope envelope) {
+        String id = envelope.id()
+                            .getUuid();
+        Boolean seen = dispatched.asMap()
+                                 .putIfAbsent(id, Boolean.TRUE);
+        if (seen == null) {
+            unique.increment();
+            return Optional.empty();
+        }
+        duplicates.increment();
+        Ack ack = Ack.newBuilder()
+                .setMessageId(pack(envelope.id()))
+                .setStatus(Status.newBuilder()
+                                 .setOk(Empty.getDefaultInstance()))
+                .build();
+        return Optional.of(ack);
+    }
+
+    /**
+     * Wraps the filter which runs after this one, so that the IDs of the commands it rejects
+     * are forgotten.
+     */
+    BusFilter<CommandEnvelope> forgettingRejectedBy(BusFilter<CommandEnvelope> filter) {
+        checkNotNull(filter);
+        return new ForgettingRejected(filter);
+    }
+
+    /**
+     * Forgets the ID of the command, so that the command is dispatched when it is
+     * posted again.
+     */
+    private void forget(CommandEnvelope envelope) {
+        dispatched.invalidate(envelope.id()
+                                      .getUuid());
+    }
+
+    /**
+     * Obtains the percentage of the duplicates among all the posted commands.
+     */
+    long duplicatePercent() {
+        long total = unique.value() + duplicates.value();
+        return total == 0
+               ? 0
+               : duplicates.value() * 100 / total;
+    }
+
+    /**
+     * A filter which makes the {@link DuplicateCommandFilter} forget the commands
+     * it rejects.
+     */
+    private final class ForgettingRejected implements BusFilter<CommandEnvelope> {
+
+        private final BusFilter<CommandEnvelope> filter;
+
+        private ForgettingRejected(BusFilter<CommandEnvelope> filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public Optional<Ack> filter(CommandEnvelope envelope) {
+            Optional<Ack> rejection = filter.filter(envelope);
+            if (rejection.isPresent()) {
+                forget(envelope);
+            }
+            return rejection;
+        }
+    }
+}
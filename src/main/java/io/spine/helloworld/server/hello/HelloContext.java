@@ -26,8 +26,15 @@
 
 package io.spine.helloworld.server.hello;
 
+import io.spine.helloworld.hello.query.TokenIndex;
+import io.spine.helloworld.hello.query.UserPrints;
 import io.spine.server.BoundedContext;
 import io.spine.server.BoundedContextBuilder;
+import io.spine.server.bus.BusFilter;
+import io.spine.server.type.CommandEnvelope;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Provides {@link BoundedContextBuilder} for the Hello Context.
@@ -47,11 +54,117 @@ public final class HelloContext {
     }
 
     /**
-     * Creates new instance of the Hello Context builder.
+     * Creates new instance of the Hello Context builder with the
+     * {@linkplain HelloSettings#defaults() default settings}.
      */
     public static BoundedContextBuilder newBuilder() {
-        return BoundedContext
-                .singleTenant(NAME)
-                .add(Console.class);
+        return newBuilder(HelloSettings.defaults());
+    }
+
+    /**
+     * Creates new instance of the Hello Context builder with the given settings.
+     *
+     * <p>Besides the {@link Console}s, the Context has the projections which answer
+     * queries on the printed text: the {@link UserPrints} of each user and
+     * the {@link TokenIndex} of each printed word.
+     */
+    public static BoundedContextBuilder newBuilder(HelloSettings settings) {
+        return newBuilder(settings, new PrintedObservers());
+    }
+
+    /**
+     * Creates new instance of the Hello Context builder with the given settings, which
+     * sends the {@code Printed} events to the given observers.
+     *
+     * <p>The commands posted again with the same ID are acknowledged without being
+     * dispatched, as configured by the {@linkplain HelloSettings#deduplication()
+     * deduplication} of the settings. A command rejected by the quotas or the admission
+     * policy is not remembered, so that its retry is dispatched.
+     *
+     * <p>The number of the printing commands waiting for the consoles is limited by
+     * the {@linkplain HelloSettings#admission() admission} policy of the settings. The policy
+     * applies to the commands which are not duplicates.
+     *
+     * <p>If the settings are {@linkplain HelloSettings#isMultitenant() multitenant}, so is
+     * the Context. The lines printed by each tenant are limited by
+     * the {@linkplain HelloSettings#quotas() quotas} of the settings before the commands
+     * are admitted.
+     *
+     * <p>The stages of handling the admitted commands are {@linkplain
+     * io.spine.helloworld.trace.Tracing traced} by the IDs of the commands.
+     *
+     * <p>The observers must not be used by other Contexts.
+     */
+    public static BoundedContextBuilder newBuilder(HelloSettings settings,
+                                                   PrintedObservers observers) {
+        checkNotNull(settings);
+        checkNotNull(observers);
+        Inboxes inboxes = new Inboxes(settings.admission());
+        CommandTraces traces = new CommandTraces();
+        observers.setTraces(traces);
+        BoundedContextBuilder builder = settings.isMultitenant()
+                                        ? BoundedContext.multitenant(NAME)
+                                        : BoundedContext.singleTenant(NAME);
+        builder.add(new ConsoleRepository(settings, inboxes, traces))
+               .add(UserPrintsProjection.class)
+               .add(new TokenIndexRepository())
+               .addEventDispatcher(observers);
+        Deduplication deduplication = settings.deduplication();
+        @Nullable DuplicateCommandFilter duplicates = null;
+        if (deduplication.isEnabled()) {
+            duplicates = new DuplicateCommandFilter(deduplication, settings.metrics());
+            builder.addCommandFilter(duplicates);
+        }
+        Quotas quotas = settings.quotas();
+        if (quotas.isEnabled()) {
+            TenantQuotaFilter filter = new TenantQuotaFilter(quotas, settings.metrics());
+            builder.addCommandFilter(forgettingRejected(duplicates, filter));
+        }
+        if (settings.admission()
+                    .isEnabled()) {
+            AdmissionFilter filter = new AdmissionFilter(inboxes, settings.metrics());
+            builder.addCommandFilter(forgettingRejected(duplicates, filter));
+        }
+        builder.addCommandFilter(traces);
+        return builder;
+    }
+
+    /**
+     * Makes the duplicate filter, if any, forget the commands rejected by the given filter,
+     * so that they are dispatched when retried.
+     */
+    private static BusFilter<CommandEnvelope>
+    forgettingRejected(@Nullable DuplicateCommandFilter duplicates,
+                       BusFilter<CommandEnvelope> filter) {
+        return duplicates == null
+               ? filter
+               : duplicates.forgettingRejectedBy(filter);
+    }
+
+    /**
+     * Restores the states of all the consoles kept in the durable store of the settings.
+     *
+     * <p>The consoles are restored in parallel using the given number of threads. Call this
+     * method before the Context created with the same settings starts handling commands.
+     *
+     * @return the report on the recovery
+     */
+    public static RecoveryReport recover(HelloSettings settings, int parallelism) {
+        checkNotNull(settings);
+        return settings.journal()
+                       .recoverAll(parallelism);
+    }
+
+    /**
+     * Writes the states of consoles which are pending due to the {@linkplain
+     * HelloSettings#writeBehind() write-behind} policy of the settings to the durable store.
+     *
+     * <p>Afterwards, the states are written by each handled command. Call this method when
+     * the Context created with the same settings stops, before the durable store is closed.
+     */
+    public static void flush(HelloSettings settings) {
+        checkNotNull(settings);
+        settings.journal()
+                .close();
     }
 }
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.helloworld.metrics.Metrics;
+import io.spine.helloworld.server.output.OutputSink;
+import io.spine.helloworld.server.storage.DurableStore;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Settings of the Hello Context.
+ */
+public final class HelloSettings {
+
+    private static final HelloSettings DEFAULTS = newBuilder().build();
+
+    private final Scrollback scrollback;
+    private final OutputSink sink;
+    private final DurableStore store;
+    private final Metrics metrics;
+    private final Snapshots snapshots;
+    private final WriteBehind writeBehind;
+    private final Compression compression;
+    private final Deduplication deduplication;
+    private final Admission admission;
+    private final boolean multitenant;
+    private final Quotas quotas;
+    private final ConsoleMetrics consoleMetrics;
+    private final ConsoleJournal journal;
+
+    private HelloSettings(Builder builder) {
+        this.scrollback = builder.scrollback;
+        this.sink = builder.sink;
+        this.store = builder.store;
+        this.metrics = builder.metrics;
+        this.snapshots = builder.snapshots;
+        this.writeBehind = builder.writeBehind;
+        this.compression = builder.compression;
+        this.deduplication = builder.deduplication;
+        this.admission = builder.admission;
+        this.multitenant = builder.multitenant;
+        this.quotas = builder.quotas;
+        this.consoleMetrics = new ConsoleMetrics(metrics);
+        this.journal = new ConsoleJournal(store, snapshots, writeBehind, compression,
+                                          scrollback, consoleMetrics);
+    }
+
+    /**
+     * Obtains the settings with the {@linkplain Scrollback#defaultLimits() default scrollback}
+     * which print directly to {@linkplain OutputSink#systemOut() the system output}
+     * and keep {@linkplain DurableStore#none() no durable state}, with
+     * {@linkplain Metrics#disabled() metrics disabled}.
+     */
+    public static HelloSettings defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Creates a new builder of the settings.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Obtains the limits of the lines kept by consoles.
+     */
+    public Scrollback scrollback() {
+        return scrollback;
+    }
+
+    /**
+     * Obtains the sink to which consoles print lines.
+     */
+    public OutputSink sink() {
+        return sink;
+    }
+
+    /**
+     * Obtains the store which keeps the states of consoles across restarts.
+     */
+    public DurableStore store() {
+        return store;
+    }
+
+    /**
+     * Obtains the metrics to which the consoles report.
+     */
+    public Metrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Obtains how often the full states of consoles are written to the durable store.
+     */
+    public Snapshots snapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Obtains when the states of consoles are written to the durable store after
+     * the commands are handled.
+     */
+    public WriteBehind writeBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Obtains how the texts of consoles are compressed in the snapshots.
+     */
+    public Compression compression() {
+        return compression;
+    }
+
+    /**
+     * Obtains which commands are remembered for recognizing their duplicates.
+     */
+    public Deduplication deduplication() {
+        return deduplication;
+    }
+
+    /**
+     * Obtains the limits of the commands waiting in the inboxes of the consoles.
+     */
+    public Admission admission() {
+        return admission;
+    }
+
+    /**
+     * Tells if the Context serves several tenants, keeping their data apart.
+     */
+    public boolean isMultitenant() {
+        return multitenant;
+    }
+
+    /**
+     * Obtains the limits of the rate at which each tenant prints lines.
+     */
+    public Quotas quotas() {
+        return quotas;
+    }
+
+    /**
+     * Obtains the metrics of the consoles shared by all the consoles of the Context.
+     */
+    ConsoleMetrics consoleMetrics() {
+        return consoleMetrics;
+    }
+
+    /**
+     * Obtains the journal which writes the states of consoles to the durable store.
+     */
+    ConsoleJournal journal() {
+        return journal;
+    }
+
+    /**
+     * A builder of {@code HelloSettings}.
+     */
+    public static final class Builder {
+
+        private Scrollback scrollback = Scrollback.defaultLimits();
+        private OutputSink sink = OutputSink.systemOut();
+        private DurableStore store = DurableStore.none();
+        private Metrics metrics = Metrics.disabled();
+        private Snapshots snapshots = Snapshots.defaultPolicy();
+        private WriteBehind writeBehind = WriteBehind.writeThrough();
+        private Compression compression = Compression.none();
+        private Deduplication deduplication = Deduplication.defaultPolicy();
+        private Admission admission = Admission.defaultPolicy();
+        private boolean multitenant = false;
+        private Quotas quotas = Quotas.unlimited();
+
+        /** Prevents instantiation from outside. */
+        private Builder() {
+        }
+
+        /**
+         * Sets the limits of the lines kept by consoles.
+         */
+        public Builder setScrollback(Scrollback scrollback) {
+            this.scrollback = checkNotNull(scrollback);
+            return this;
+        }
+
+        /**
+         * Sets the sink to which consoles print lines.
+         */
+        public Builder setSink(OutputSink sink) {
+            this.sink = checkNotNull(sink);
+            return this;
+        }
+
+        /**
+         * Sets the store which keeps the states of consoles across restarts.
+         *
+         * <p>A console missing in the storage of the server restores its state from
+         * the store when it handles a command. The states of all the consoles may also be
+         * restored at once via {@link HelloContext#recover(HelloSettings, int)}.
+         */
+        public Builder setStore(DurableStore store) {
+            this.store = checkNotNull(store);
+            return this;
+        }
+
+        /**
+         * Sets how often the full states of consoles are written to the durable store.
+         */
+        public Builder setSnapshots(Snapshots snapshots) {
+            this.snapshots = checkNotNull(snapshots);
+            return this;
+        }
+
+        /**
+         * Sets when the states of consoles are written to the durable store after
+         * the commands are handled.
+         *
+         * <p>The states written behind must be {@linkplain HelloContext#flush(HelloSettings)
+         * flushed} before the store is closed.
+         */
+        public Builder setWriteBehind(WriteBehind writeBehind) {
+            this.writeBehind = checkNotNull(writeBehind);
+            return this;
+        }
+
+        /**
+         * Sets how the texts of consoles are compressed in the snapshots written to
+         * the durable store.
+         *
+         * <p>The snapshots written with any compression are restored, so the compression may
+         * be changed between restarts of the server.
+         */
+        public Builder setCompression(Compression compression) {
+            this.compression = checkNotNull(compression);
+            return this;
+        }
+
+        /**
+         * Sets which commands are remembered for recognizing their duplicates.
+         */
+        public Builder setDeduplication(Deduplication deduplication) {
+            this.deduplication = checkNotNull(deduplication);
+            return this;
+        }
+
+        /**
+         * Sets the limits of the commands waiting in the inboxes of the consoles.
+         */
+        public Builder setAdmission(Admission admission) {
+            this.admission = checkNotNull(admission);
+            return this;
+        }
+
+        /**
+         * Sets whether the Context serves several tenants.
+         *
+         * <p>The commands posted to a multitenant Context must tell their tenant. The states
+         * of the consoles and the projections of each tenant are kept apart.
+         */
+        public Builder setMultitenant(boolean multitenant) {
+            this.multitenant = multitenant;
+            return this;
+        }
+
+        /**
+         * Sets the limits of the rate at which each tenant prints lines.
+         */
+        public Builder setQuotas(Quotas quotas) {
+            this.quotas = checkNotNull(quotas);
+            return this;
+        }
+
+        /**
+         * Sets the metrics to which the consoles report.
+         */
+        public Builder setMetrics(Metrics metrics) {
+            this.metrics = checkNotNull(metrics);
+            return this;
+        }
+
+        /**
+         * Creates the settings.
+         */
+        public HelloSettings build() {
+            return new HelloSettings(this);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.helloworld.server.hello.Admission.Overflow;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Counts the commands waiting in the inboxes of the consoles of a Context.
+ *
+ * <p>A command is counted when it is {@linkplain #admit(String) admitted} to the inbox of
+ * a console, and is no longer counted after the console {@linkplain #take(String) takes}
+ * it for handling. The consoles handle their commands in the order of arrival, so
+ * the command taken by a console is always the oldest one in its inbox.
+ *
+ * <p>All the operations take a single lock for a few map lookups, which is negligible
+ * compared to posting a command.
+ */
+final class Inboxes {
+
+    /** The inboxes which admit all the commands. */
+    static final Inboxes UNLIMITED = new Inboxes(Admission.unlimited());
+
+    private final Admission policy;
+    private final Map<String, Inbox> inboxes = new HashMap<>();
+
+    /** The number of waiting commands which are not to be dropped. */
+    private long waiting;
+
+    /** The number of waiting commands which are to be dropped. */
+    private long dropped;
+
+    /** The number of posters waiting for room. */
+    private int blocked;
+
+    Inboxes(Admission policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Decides whether the command for the given console is admitted, blocking if
+     * the {@link Overflow#BLOCK BLOCK} policy requires so.
+     *
+     * @return {@code true} if the command is admitted, {@code false} if it should be rejected
+     */
+    synchronized boolean admit(String console) throws InterruptedException {
+        if (!policy.isEnabled()) {
+            return true;
+        }
+        long deadline = System.nanoTime() + policy.maxWait()
+                                                  .toNanos();
+        while (true) {
+            Inbox inbox = inboxes.computeIfAbsent(console, c -> new Inbox());
+            boolean roomInTotal = waiting + dropped < policy.maxTotal();
+            if (inbox.waiting < policy.maxPerConsole() && roomInTotal) {
+                inbox.waiting++;
+                waiting++;
+                return true;
+            }
+            Overflow overflow = policy.overflow();
+            if (overflow == Overflow.DROP_OLDEST && roomInTotal
+                    && inbox.waiting > 0 && inbox.dropped < policy.maxPerConsole()) {
+                // The oldest waiting command becomes dropped, the new one takes its place.
+                inbox.dropped++;
+                dropped++;
+                return true;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (overflow != Overflow.BLOCK || remaining <= 0) {
+                removeIfEmpty(console, inbox);
+                return false;
+            }
+            blocked++;
+            try {
+                NANOSECONDS.timedWait(this, remaining);
+            } finally {
+                blocked--;
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest command from the inbox of the console for handling.
+     *
+     * @return {@code true} if the command is to be dropped without handling
+     */
+    synchronized boolean take(String console) {
+        Inbox inbox = inboxes.get(console);
+        if (inbox == null) {
+            return false;
+        }
+        boolean drop = inbox.dropped > 0;
+        if (drop) {
+            inbox.dropped--;
+            dropped--;
+        } else {
+            inbox.waiting--;
+            waiting--;
+        }
+        removeIfEmpty(console, inbox);
+        if (blocked > 0) {
+            notifyAll();
+        }
+        return drop;
+    }
+
+    /**
+     * Obtains the number of commands waiting for all the consoles, including the ones to
+     * be dropped.
+     */
+    synchronized long size() {
+        return waiting + dropped;
+    }
+
+    private void removeIfEmpty(String console, Inbox inbox) {
+        if (inbox.waiting == 0 && inbox.dropped == 0) {
+            inboxes.remove(console);
+        }
+    }
+
+    /**
+     * The commands waiting for a console.
+     */
+    private static final class Inbox {
+
+        /** The number of commands to be handled. */
+        private int waiting;
+
+        /** The number of the oldest commands to be dropped. */
+        private int dropped;
+    }
+}
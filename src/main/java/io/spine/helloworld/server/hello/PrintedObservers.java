@@ -0,0 +1,368 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.protobuf.Any;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls.ServerStreamingMethod;
+import io.grpc.stub.StreamObserver;
+import io.spine.core.CommandId;
+import io.spine.core.EventContext;
+import io.spine.core.Subscribe;
+import io.spine.core.TenantId;
+import io.spine.helloworld.hello.event.PrintDropped;
+import io.spine.helloworld.hello.event.Printed;
+import io.spine.helloworld.hello.event.PrintedChunk;
+import io.spine.helloworld.hello.observation.PrintedChunkEvent;
+import io.spine.helloworld.hello.observation.PrintedEvent;
+import io.spine.helloworld.hello.observation.PrintedFilter;
+import io.spine.helloworld.hello.observation.PrintedUpdate;
+import io.spine.helloworld.trace.Span;
+import io.spine.helloworld.trace.Stage;
+import io.spine.helloworld.trace.Tracing;
+import io.spine.server.event.AbstractEventSubscriber;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.spine.protobuf.AnyPacker.unpack;
+
+/**
+ * Sends the {@link Printed} events to the observers interested in them.
+ *
+ * <p>The observers are indexed by the command ID and by the tenant and the username of their
+ * {@linkplain PrintedFilter filters}. An event is matched only against the observers found
+ * by its command ID and its console, so the cost of sending an event does not depend on
+ * the number of other observers.
+ *
+ * <p>The {@linkplain PrintedChunk chunks} of a streamed text are sent as they are printed, so
+ * an update never carries more than one chunk of the text.
+ *
+ * <p>The observers of a {@linkplain PrintDropped dropped} command are told so instead
+ * of receiving its event.
+ *
+ * <p>An observer of a command is removed after the event of the command is sent to it.
+ * Other observers are removed when their calls are cancelled.
+ *
+ * <p>The updates are sent to an observer only while its call is ready, and wait in
+ * the queue of the observer otherwise. An observer which falls behind by more than
+ * {@value #MAX_PENDING_UPDATES} updates is removed, and its call fails with
+ * the {@code RESOURCE_EXHAUSTED} status, so that a slow client does not make the server
+ * buffer its updates without a limit.
+ *
+ * @see io.spine.helloworld.net.PrintedObservation
+ */
+public final class PrintedObservers extends AbstractEventSubscriber
+        implements ServerStreamingMethod<PrintedFilter, PrintedUpdate> {
+
+    /** The maximum number of updates waiting for the call of an observer to become ready. */
+    static final int MAX_PENDING_UPDATES = 1_024;
+
+    private static final PrintedUpdate REGISTERED = PrintedUpdate.newBuilder()
+            .setRegistered(true)
+            .build();
+
+    private final Map<String, Set<Observer>> byCommand = new ConcurrentHashMap<>();
+    private final Map<String, Set<Observer>> byConsole = new ConcurrentHashMap<>();
+    private CommandTraces traces = CommandTraces.DETACHED;
+
+    /**
+     * Creates the observers of the events of a Context
+     * {@linkplain HelloContext#newBuilder(HelloSettings, PrintedObservers) built} with them.
+     */
+    public PrintedObservers() {
+        super();
+    }
+
+    /**
+     * Sets the traces which end posting the events when they are observed.
+     */
+    void setTraces(CommandTraces traces) {
+        this.traces = traces;
+    }
+
+    /**
+     * Registers the observer with the given filter.
+     *
+     * <p>Rejects the filter with neither a username nor a command ID, as such an observer
+     * would receive all the events.
+     */
+    @Override
+    public void invoke(PrintedFilter filter, StreamObserver<PrintedUpdate> updates) {
+        if (filter.getUsername().isEmpty() && filter.getCommandId().isEmpty()) {
+            updates.onError(Status.INVALID_ARGUMENT
+                                    .withDescription("The filter must not be empty.")
+                                    .asRuntimeException());
+            return;
+        }
+        Observer observer = new Observer(filter, updates);
+        if (observer.call != null) {
+            observer.call.setOnCancelHandler(() -> remove(observer));
+            observer.call.setOnReadyHandler(observer::flush);
+        }
+        index(observer).computeIfAbsent(observer.key(), k -> ConcurrentHashMap.newKeySet())
+                       .add(observer);
+        observer.send(REGISTERED);
+    }
+
+    @Subscribe
+    void on(Printed event, EventContext context) {
+        String commandId = commandId(context);
+        traces.posted(commandId);
+        Span publishing = Tracing.begin(Stage.PUBLISH);
+        PrintedUpdate update = PrintedUpdate.newBuilder()
+                .setEvent(PrintedEvent.newBuilder()
+                                  .setMessage(event)
+                                  .setCommandId(commandId)
+                                  .setTimestamp(context.getTimestamp()))
+                .build();
+        publish(ConsoleKey.of(tenant(context), event.getUsername()), commandId, update);
+        publishing.commit(commandId);
+    }
+
+    @Subscribe
+    void on(PrintedChunk event, EventContext context) {
+        String commandId = commandId(context);
+        PrintedUpdate update = PrintedUpdate.newBuilder()
+                .setChunk(PrintedChunkEvent.newBuilder()
+                                  .setMessage(event)
+                                  .setCommandId(commandId)
+                                  .setTimestamp(context.getTimestamp()))
+                .build();
+        publish(ConsoleKey.of(tenant(context), event.getUsername()), commandId, update);
+    }
+
+    /**
+     * Tells the observers of the dropped command that its event will never come.
+     */
+    @Subscribe
+    void on(PrintDropped event, EventContext context) {
+        String commandId = commandId(context);
+        PrintedUpdate update = PrintedUpdate.newBuilder()
+                .setDropped(commandId)
+                .build();
+        publish(ConsoleKey.of(tenant(context), event.getUsername()), commandId, update);
+    }
+
+    private void publish(String console, String commandId, PrintedUpdate update) {
+        Set<Observer> ofCommand = commandId.isEmpty()
+                                  ? null
+                                  : byCommand.remove(commandId);
+        if (ofCommand != null) {
+            for (Observer observer : ofCommand) {
+                if (observer.accepts(console)) {
+                    observer.send(update);
+                }
+                observer.complete();
+            }
+        }
+        Set<Observer> ofUser = byConsole.get(console);
+        if (ofUser != null) {
+            for (Observer observer : ofUser) {
+                observer.send(update);
+            }
+        }
+    }
+
+    /**
+     * Obtains the number of the registered observers.
+     */
+    int size() {
+        return byCommand.values()
+                        .stream()
+                        .mapToInt(Set::size)
+                        .sum()
+                + byConsole.values()
+                            .stream()
+                            .mapToInt(Set::size)
+                            .sum();
+    }
+
+    private Map<String, Set<Observer>> index(Observer observer) {
+        return observer.filter.getCommandId().isEmpty()
+               ? byConsole
+               : byCommand;
+    }
+
+    private void remove(Observer observer) {
+        index(observer).computeIfPresent(observer.key(), (key, observers) -> {
+            observers.remove(observer);
+            return observers.isEmpty() ? null : observers;
+        });
+    }
+
+    private static TenantId tenant(EventContext context) {
+        return context.getPastMessage()
+                      .getActorContext()
+                      .getTenantId();
+    }
+
+    private static String commandId(EventContext context) {
+        Any origin = context.getPastMessage()
+                            .getMessage()
+                            .getId();
+        return origin.is(CommandId.class)
+               ? unpack(origin, CommandId.class).getUuid()
+               : "";
+    }
+
+    /**
+     * A registered observer with its filter.
+     */
+    private final class Observer {
+
+        private final PrintedFilter filter;
+        private final StreamObserver<PrintedUpdate> updates;
+
+        /** The call of the observer, or {@code null} if the observer is not a gRPC call. */
+        private final @Nullable ServerCallStreamObserver<PrintedUpdate> call;
+
+        /** The updates waiting for the call to become ready. Guarded by {@code this}. */
+        private final Deque<PrintedUpdate> pending = new ArrayDeque<>();
+
+        /** Tells if the call is completed once the updates are sent. Guarded by {@code this}. */
+        private boolean completing;
+
+        /** Tells if the call is completed or failed. Guarded by {@code this}. */
+        private boolean closed;
+
+        private Observer(PrintedFilter filter, StreamObserver<PrintedUpdate> updates) {
+            this.filter = filter;
+            this.updates = updates;
+            this.call = updates instanceof ServerCallStreamObserver
+                        ? (ServerCallStreamObserver<PrintedUpdate>) updates
+                        : null;
+        }
+
+        /**
+         * Obtains the key by which the observer is indexed.
+         */
+        private String key() {
+            return filter.getCommandId().isEmpty()
+                   ? console()
+                   : filter.getCommandId();
+        }
+
+        private String console() {
+            return ConsoleKey.of(filter.getTenant(), filter.getUsername());
+        }
+
+        private boolean accepts(String console) {
+            return filter.getUsername().isEmpty()
+                    || console().equals(console);
+        }
+
+        private boolean isReady() {
+            return call == null || call.isReady();
+        }
+
+        /**
+         * Sends the update if the call is ready, or queues it otherwise.
+         *
+         * <p>Removes the observer if its call is broken or if too many updates wait for it.
+         *
+         * <p>The events are dispatched from several threads, while a stream observer may be
+         * called by one thread at a time.
+         */
+        private void send(PrintedUpdate update) {
+            try {
+                synchronized (this) {
+                    if (closed) {
+                        return;
+                    }
+                    if (pending.isEmpty() && isReady()) {
+                        updates.onNext(update);
+                    } else if (pending.size() < MAX_PENDING_UPDATES) {
+                        pending.add(update);
+                    } else {
+                        fallBehind();
+                    }
+                }
+            } catch (RuntimeException e) {
+                remove(this);
+            }
+        }
+
+        /**
+         * Sends the pending updates while the call is ready.
+         *
+         * <p>Called when the call becomes ready.
+         */
+        private void flush() {
+            try {
+                synchronized (this) {
+                    while (!pending.isEmpty() && isReady()) {
+                        updates.onNext(pending.poll());
+                    }
+                    if (pending.isEmpty() && completing) {
+                        finish();
+                    }
+                }
+            } catch (RuntimeException e) {
+                remove(this);
+            }
+        }
+
+        /**
+         * Completes the call after the pending updates are sent.
+         */
+        private void complete() {
+            try {
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        finish();
+                    } else {
+                        completing = true;
+                    }
+                }
+            } catch (RuntimeException ignored) {
+                // The call is already closed.
+            }
+        }
+
+        private void finish() {
+            if (!closed) {
+                closed = true;
+                updates.onCompleted();
+            }
+        }
+
+        private void fallBehind() {
+            closed = true;
+            pending.clear();
+            remove(this);
+            updates.onError(Status.RESOURCE_EXHAUSTED
+                                    .withDescription("The observer falls behind the updates.")
+                                    .asRuntimeException());
+        }
+    }
+}
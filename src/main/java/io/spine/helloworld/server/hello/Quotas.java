@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.common.collect.ImmutableMap;
+import io.spine.core.TenantId;
+import io.spine.helloworld.hello.ErrorTypes;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Limits the rate at which each tenant prints lines.
+ *
+ * <p>The lines of the printing commands of a tenant are counted against its quota when
+ * the commands are posted. A {@code PrintAll} command counts as many lines as it has.
+ * A tenant which exceeds the quota has its commands acknowledged with the error of
+ * the {@link ErrorTypes#QUOTA_EXCEEDED} type until the rate falls back under the quota.
+ * Up to a second worth of unused quota is saved for bursts.
+ *
+ * <p>So, a single tenant sending commands faster than its quota cannot take the capacity
+ * of the server from the other tenants.
+ */
+public final class Quotas {
+
+    private static final double NO_LIMIT = 0;
+
+    private static final Quotas UNLIMITED = new Quotas(NO_LIMIT, ImmutableMap.of());
+
+    private final double linesPerSecond;
+    private final ImmutableMap<TenantId, Double> byTenant;
+
+    private Quotas(double linesPerSecond, ImmutableMap<TenantId, Double> byTenant) {
+        this.linesPerSecond = linesPerSecond;
+        this.byTenant = byTenant;
+    }
+
+    /**
+     * Obtains the quotas which do not limit the tenants.
+     */
+    public static Quotas unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Creates the quotas which limit each tenant to the given number of lines per second.
+     */
+    public static Quotas perTenant(double linesPerSecond) {
+        checkRate(linesPerSecond);
+        return new Quotas(linesPerSecond, ImmutableMap.of());
+    }
+
+    /**
+     * Creates a copy of these quotas in which the given tenant has its own quota.
+     */
+    public Quotas withTenant(TenantId tenant, double linesPerSecond) {
+        checkNotNull(tenant);
+        checkRate(linesPerSecond);
+        Map<TenantId, Double> quotas = new HashMap<>(byTenant);
+        quotas.put(tenant, linesPerSecond);
+        return new Quotas(this.linesPerSecond, ImmutableMap.copyOf(quotas));
+    }
+
+    private static void checkRate(double linesPerSecond) {
+        checkArgument(linesPerSecond > 0, "The number of lines per second must be positive.");
+    }
+
+    boolean isEnabled() {
+        return linesPerSecond != NO_LIMIT || !byTenant.isEmpty();
+    }
+
+    /**
+     * Obtains the quota of the tenant in lines per second, or zero if the tenant is
+     * not limited.
+     */
+    double linesPerSecond(TenantId tenant) {
+        return byTenant.getOrDefault(tenant, linesPerSecond);
+    }
+
+    @Override
+    public String toString() {
+        return "Quotas{linesPerSecond=" + linesPerSecond + ", byTenant=" + byTenant + '}';
+    }
+}
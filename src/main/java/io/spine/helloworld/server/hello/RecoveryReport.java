@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import java.time.Duration;
+
+import static java.lang.String.format;
+
+/**
+ * The results of restoring the states of consoles from the durable store.
+ */
+public final class RecoveryReport {
+
+    private final int consoles;
+    private final long replayedLines;
+    private final Duration duration;
+
+    RecoveryReport(int consoles, long replayedLines, Duration duration) {
+        this.consoles = consoles;
+        this.replayedLines = replayedLines;
+        this.duration = duration;
+    }
+
+    /**
+     * Obtains the number of restored consoles.
+     */
+    public int consoles() {
+        return consoles;
+    }
+
+    /**
+     * Obtains the number of lines printed after the snapshots which were replayed
+     * over the snapshots.
+     */
+    public long replayedLines() {
+        return replayedLines;
+    }
+
+    /**
+     * Obtains the time spent on the recovery.
+     */
+    public Duration duration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return format("Restored %d consoles replaying %d lines in %d ms.",
+                      consoles, replayedLines, duration.toMillis());
+    }
+}
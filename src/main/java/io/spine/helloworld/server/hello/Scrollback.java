@@ -0,0 +1,458 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.common.base.Utf8;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+/**
+ * Limits the number of lines kept on the screen of a {@link Console}.
+ *
+ * <p>The lines of the screen are kept in a ring buffer. When a new line does not fit into
+ * the limits, the oldest lines are evicted, so that the cost of storing a {@link Console}
+ * does not depend on how long a user has been printing.
+ *
+ * <p>A line which is longer than the limit in bytes is kept alone on the screen.
+ *
+ * <p>The screen keeps every distinct text once, and the lines refer to the texts by their
+ * indices. The banners and status lines printed over and over again cost a couple of bytes
+ * per line in the stored state instead of the length of the text.
+ *
+ * <p>The positions of the texts of a screen are indexed once and the index is kept in memory
+ * between the appends, so that a printed text is found without scanning the whole screen.
+ * The index is only a hint: every found position is checked against the screen, and a stale
+ * index costs a duplicate text rather than a wrong line.
+ */
+public final class Scrollback {
+
+    /** The number of lines kept by {@linkplain #defaultLimits() default}. */
+    private static final int DEFAULT_MAX_LINES = 1_000;
+
+    private static final int NO_LIMIT = 0;
+
+    /** The number of screens which text indices are kept in memory. */
+    private static final int MAX_INDEXED_SCREENS = 1_000;
+
+    /**
+     * The number of texts below which the unused texts of a screen are not compacted.
+     */
+    private static final int MIN_COMPACTED_TEXTS = 16;
+
+    private static final Scrollback UNLIMITED = new Scrollback(NO_LIMIT, NO_LIMIT);
+    private static final Scrollback DEFAULT = new Scrollback(DEFAULT_MAX_LINES, NO_LIMIT);
+
+    private final int maxLines;
+    private final long maxBytes;
+    private final Cache<String, Index> indices;
+
+    private Scrollback(int maxLines, long maxBytes) {
+        this.maxLines = maxLines;
+        this.maxBytes = maxBytes;
+        this.indices = CacheBuilder.newBuilder()
+                                   .maximumSize(MAX_INDEXED_SCREENS)
+                                   .build();
+    }
+
+    /**
+     * Obtains the scrollback which never evicts lines.
+     */
+    public static Scrollback unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Obtains the scrollback which keeps up to 1000 last lines.
+     */
+    public static Scrollback defaultLimits() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates the scrollback which keeps up to the given number of last lines.
+     */
+    public static Scrollback ofLines(int maxLines) {
+        return of(maxLines, NO_LIMIT);
+    }
+
+    /**
+     * Creates the scrollback which keeps last lines fitting into the given number of bytes.
+     */
+    public static Scrollback ofBytes(long maxBytes) {
+        return of(NO_LIMIT, maxBytes);
+    }
+
+    /**
+     * Creates the scrollback with both limits applied.
+     *
+     * @param maxLines
+     *         the maximum number of lines, or zero if the number of lines is not limited
+     * @param maxBytes
+     *         the maximum total length of lines in UTF-8 bytes, or zero if not limited
+     */
+    public static Scrollback of(int maxLines, long maxBytes) {
+        checkArgument(maxLines >= 0, "The number of lines cannot be negative.");
+        checkArgument(maxBytes >= 0, "The number of bytes cannot be negative.");
+        return new Scrollback(maxLines, maxBytes);
+    }
+
+    /**
+     * Appends the line to the screen evicting the oldest lines if they do not fit
+     * into the limits.
+     */
+    void append(Output.Builder screen, String line) {
+        Index index = indexOf(screen);
+        synchronized (index) {
+            append(screen, line, new Texts(screen, index));
+        }
+    }
+
+    /**
+     * Appends the lines to the screen in the given order evicting the oldest lines if
+     * they do not fit into the limits.
+     */
+    void appendAll(Output.Builder screen, List<String> lines) {
+        Index index = indexOf(screen);
+        synchronized (index) {
+            Texts texts = new Texts(screen, index);
+            for (String line : lines) {
+                append(screen, line, texts);
+            }
+        }
+    }
+
+    /**
+     * Obtains the index of the texts of the screen kept since the previous append,
+     * or indexes the texts of the screen if there is none.
+     *
+     * <p>The screens of the users with the same name in different tenants share the index.
+     * This is safe since the index is checked against the screen, but their texts are
+     * deduplicated worse.
+     */
+    private Index indexOf(OutputOrBuilder screen) {
+        String user = screen.getUsername();
+        Index index = indices.getIfPresent(user);
+        if (index == null) {
+            index = new Index();
+            index.rebuild(screen);
+            indices.put(user, index);
+        }
+        return index;
+    }
+
+    private void append(Output.Builder screen, String line, Texts texts) {
+        long lineBytes = Utf8.encodedLength(line);
+        while (screen.getSize() > 0 && overflows(screen, lineBytes)) {
+            evictOldest(screen, texts);
+        }
+        addLine(screen, texts.use(line), lineBytes);
+    }
+
+    private static void addLine(Output.Builder screen, int text, long lineBytes) {
+        int capacity = screen.getLineCount();
+        int size = screen.getSize();
+        if (size < capacity) {
+            int tail = (screen.getHead() + size) % capacity;
+            screen.setLine(tail, text);
+        } else {
+            if (screen.getHead() != 0) {
+                straighten(screen);
+            }
+            screen.addLine(text);
+        }
+        screen.setSize(size + 1)
+              .setSizeInBytes(screen.getSizeInBytes() + lineBytes);
+    }
+
+    private boolean overflows(OutputOrBuilder screen, long lineBytes) {
+        boolean tooManyLines = maxLines != NO_LIMIT && screen.getSize() >= maxLines;
+        boolean tooManyBytes = maxBytes != NO_LIMIT
+                && screen.getSizeInBytes() + lineBytes > maxBytes;
+        return tooManyLines || tooManyBytes;
+    }
+
+    private static void evictOldest(Output.Builder screen, Texts texts) {
+        int head = screen.getHead();
+        String oldest = texts.release(screen.getLine(head));
+        screen.setHead((head + 1) % screen.getLineCount())
+              .setSize(screen.getSize() - 1)
+              .setSizeInBytes(screen.getSizeInBytes() - Utf8.encodedLength(oldest))
+              .setEvicted(screen.getEvicted() + 1);
+    }
+
+    /**
+     * Moves the lines of the full buffer so that the oldest of them is the first one.
+     *
+     * <p>This happens only when the buffer grows after some lines were evicted because
+     * of the limit in bytes.
+     */
+    private static void straighten(Output.Builder screen) {
+        int size = screen.getSize();
+        int capacity = screen.getLineCount();
+        int head = screen.getHead();
+        List<Integer> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lines.add(screen.getLine((head + i) % capacity));
+        }
+        screen.clearLine()
+              .addAllLine(lines)
+              .setHead(0);
+    }
+
+    /**
+     * Obtains the lines of the screen in the order they were printed.
+     */
+    public static ImmutableList<String> linesOf(OutputOrBuilder screen) {
+        return linesOf(screen, 0, screen.getSize());
+    }
+
+    /**
+     * Obtains the given number of lines of the screen in the order they were printed,
+     * starting from the line with the given index.
+     *
+     * <p>If the texts of the screen are {@linkplain Compression compressed}, only the blocks
+     * holding the texts of the obtained lines are decompressed.
+     *
+     * @param screen
+     *         the screen to read
+     * @param from
+     *         the index of the first line, where zero is the oldest line on the screen
+     * @param count
+     *         the number of lines to obtain
+     */
+    public static ImmutableList<String> linesOf(OutputOrBuilder screen, int from, int count) {
+        checkArgument(count >= 0, "The number of lines cannot be negative.");
+        checkPositionIndexes(from, from + count, screen.getSize());
+        int capacity = screen.getLineCount();
+        int head = screen.getHead();
+        IntFunction<String> texts = Compression.textsOf(screen);
+        ImmutableList.Builder<String> result = ImmutableList.builderWithExpectedSize(count);
+        for (int i = from; i < from + count; i++) {
+            int text = screen.getLine((head + i) % capacity);
+            result.add(texts.apply(text));
+        }
+        return result.build();
+    }
+
+    /**
+     * Converts the lines of the screen stored by the earlier versions into the format in
+     * which every distinct text is kept once.
+     *
+     * <p>Does nothing if the screen has no lines in the legacy format.
+     */
+    static void upgrade(Output.Builder screen) {
+        int capacity = screen.getLegacyLinesCount();
+        if (capacity == 0) {
+            return;
+        }
+        int size = screen.getSize();
+        int head = screen.getHead();
+        List<String> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lines.add(screen.getLegacyLines((head + i) % capacity));
+        }
+        screen.clearLegacyLines()
+              .clearText()
+              .clearTextUses()
+              .clearLine()
+              .setHead(0)
+              .setSize(0)
+              .setSizeInBytes(0);
+        Index index = new Index();
+        Texts texts = new Texts(screen, index);
+        for (String line : lines) {
+            addLine(screen, texts.use(line), Utf8.encodedLength(line));
+        }
+    }
+
+    /**
+     * The positions of the distinct texts of a screen.
+     *
+     * <p>The positions may be stale: the screen could have been restored from the storage or
+     * changed by another instance. Each position is thus checked before it is used.
+     */
+    private static final class Index {
+
+        private final Map<String, Integer> positions = new HashMap<>();
+        private final Deque<Integer> free = new ArrayDeque<>();
+
+        private void rebuild(OutputOrBuilder screen) {
+            positions.clear();
+            free.clear();
+            for (int i = 0; i < screen.getTextCount(); i++) {
+                if (screen.getTextUses(i) > 0) {
+                    positions.put(screen.getText(i), i);
+                } else {
+                    free.add(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * The distinct texts of a screen.
+     *
+     * <p>When an unused text is not known to the index, the screen may accumulate empty
+     * entries. Once the entries outnumber the lines twice, the unused entries are removed.
+     */
+    private static final class Texts {
+
+        private final Output.Builder screen;
+        private final Index index;
+
+        private Texts(Output.Builder screen, Index index) {
+            this.screen = screen;
+            this.index = index;
+        }
+
+        /**
+         * Obtains the position of the given text adding it if needed, and counts one more
+         * line referring to it.
+         */
+        private int use(String text) {
+            int position = positionOf(text);
+            if (position < 0) {
+                position = add(text);
+            }
+            screen.setTextUses(position, screen.getTextUses(position) + 1);
+            return position;
+        }
+
+        /**
+         * Counts one less line referring to the text at the given position, freeing the entry
+         * if it is no longer used.
+         *
+         * @return the text at the position
+         */
+        private String release(int position) {
+            String text = screen.getText(position);
+            int uses = screen.getTextUses(position) - 1;
+            screen.setTextUses(position, uses);
+            if (uses == 0) {
+                screen.setText(position, "");
+                index.positions.remove(text, position);
+                index.free.add(position);
+            }
+            return text;
+        }
+
+        private int positionOf(String text) {
+            Integer position = index.positions.get(text);
+            if (position == null) {
+                return -1;
+            }
+            if (position < screen.getTextCount()
+                    && screen.getTextUses(position) > 0
+                    && text.equals(screen.getText(position))) {
+                return position;
+            }
+            index.positions.remove(text);
+            return -1;
+        }
+
+        private int add(String text) {
+            int position = nextFree();
+            if (position < 0 && compact()) {
+                position = nextFree();
+            }
+            if (position < 0) {
+                position = screen.getTextCount();
+                screen.addText(text)
+                      .addTextUses(0);
+            } else {
+                screen.setText(position, text);
+            }
+            index.positions.put(text, position);
+            return position;
+        }
+
+        private int nextFree() {
+            Integer position = index.free.poll();
+            while (position != null) {
+                if (position < screen.getTextCount() && screen.getTextUses(position) == 0) {
+                    return position;
+                }
+                position = index.free.poll();
+            }
+            return -1;
+        }
+
+        /**
+         * Removes the unused texts if they are likely to outnumber the used ones.
+         *
+         * <p>Every line refers to a single text, so there are no more used texts than lines.
+         *
+         * @return {@code true} if the texts were compacted, {@code false} otherwise
+         */
+        private boolean compact() {
+            int count = screen.getTextCount();
+            if (count < 2 * Math.max(screen.getSize(), MIN_COMPACTED_TEXTS)) {
+                return false;
+            }
+            int[] moved = new int[count];
+            List<String> texts = new ArrayList<>(screen.getSize());
+            List<Integer> uses = new ArrayList<>(screen.getSize());
+            for (int i = 0; i < count; i++) {
+                int used = screen.getTextUses(i);
+                if (used > 0) {
+                    moved[i] = texts.size();
+                    texts.add(screen.getText(i));
+                    uses.add(used);
+                }
+            }
+            int capacity = screen.getLineCount();
+            int head = screen.getHead();
+            for (int i = 0; i < screen.getSize(); i++) {
+                int line = (head + i) % capacity;
+                screen.setLine(line, moved[screen.getLine(line)]);
+            }
+            screen.clearText()
+                  .addAllText(texts)
+                  .clearTextUses()
+                  .addAllTextUses(uses);
+            index.rebuild(screen);
+            return true;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Scrollback{maxLines=" + maxLines + ", maxBytes=" + maxBytes + '}';
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Tells how often the full state of a console is written to the durable store.
+ *
+ * <p>Between the snapshots, only the lines printed after the last snapshot are written.
+ * A snapshot is taken when the number of such lines reaches the limit, or when the period
+ * passes since the last snapshot, whichever comes first.
+ */
+public final class Snapshots {
+
+    private static final Snapshots DEFAULT = every(100, Duration.ofSeconds(10));
+
+    private final int lines;
+    private final long periodNanos;
+
+    private Snapshots(int lines, long periodNanos) {
+        this.lines = lines;
+        this.periodNanos = periodNanos;
+    }
+
+    /**
+     * Obtains the policy which takes a snapshot every 100 lines or 10 seconds.
+     */
+    public static Snapshots defaultPolicy() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates the policy which takes a snapshot every given number of lines or
+     * the given period.
+     */
+    public static Snapshots every(int lines, Duration period) {
+        checkArgument(lines > 0, "The number of lines must be positive.");
+        checkNotNull(period);
+        checkArgument(!period.isNegative() && !period.isZero(), "The period must be positive.");
+        return new Snapshots(lines, period.toNanos());
+    }
+
+    /**
+     * Tells if a snapshot should be taken.
+     *
+     * @param tailLines
+     *         the number of lines printed since the last snapshot
+     * @param sinceLastNanos
+     *         the time passed since the last snapshot
+     */
+    boolean isDue(int tailLines, long sinceLastNanos) {
+        return tailLines >= lines || sinceLastNanos >= periodNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "Snapshots{lines=" + lines + ", period=" + Duration.ofNanos(periodNanos) + '}';
+    }
+}
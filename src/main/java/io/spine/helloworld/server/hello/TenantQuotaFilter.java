@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.RateLimiter;
+import io.spine.base.CommandMessage;
+import io.spine.base.Error;
+import io.spine.core.Ack;
+import io.spine.core.Status;
+import io.spine.core.TenantId;
+import io.spine.helloworld.hello.ErrorTypes;
+import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.hello.command.PrintAll;
+import io.spine.helloworld.hello.command.PrintChunk;
+import io.spine.helloworld.metrics.Counter;
+import io.spine.helloworld.metrics.Metrics;
+import io.spine.server.bus.BusFilter;
+import io.spine.server.type.CommandEnvelope;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.protobuf.AnyPacker.pack;
+
+/**
+ * Rejects the printing commands of the tenants which exceed their {@link Quotas}.
+ *
+ * <p>The rate of each tenant is tracked by its own {@link RateLimiter}. The limiters of
+ * the tenants which have not posted commands for a while are discarded.
+ *
+ * <p>The filter reports the number of rejected commands to the metrics.
+ */
+final class TenantQuotaFilter implements BusFilter<CommandEnvelope> {
+
+    private static final long IDLE_MINUTES = 10;
+
+    private final Quotas quotas;
+    private final LoadingCache<TenantId, Optional<RateLimiter>> limiters;
+    private final Counter exceeded;
+
+    TenantQuotaFilter(Quotas quotas, Metrics metrics) {
+        this.quotas = quotas;
+        this.limiters = CacheBuilder.newBuilder()
+                                    .expireAfterAccess(IDLE_MINUTES, TimeUnit.MINUTES)
+                                    .build(CacheLoader.from(this::newLimiter));
+        this.exceeded = metrics.counter("commands.quota.exceeded");
+    }
+
+    private Optional<RateLimiter> newLimiter(TenantId tenant) {
+        double linesPerSecond = quotas.linesPerSecond(tenant);
+        return linesPerSecond > 0
+               ? Optional.of(RateLimiter.create(linesPerSecond))
+               : Optional.empty();
+    }
+
+    @Override
+    public Optional<Ack> filter(CommandEnvelope envelope) {
+        int lines = linesOf(envelope.message());
+        if (lines == 0) {
+            return Optional.empty();
+        }
+        TenantId tenant = envelope.context()
+                                  .getActorContext()
+                                  .getTenantId();
+        Optional<RateLimiter> limiter = limiters.getUnchecked(tenant);
+        if (!limiter.isPresent() || limiter.get().tryAcquire(lines)) {
+            return Optional.empty();
+        }
+        exceeded.increment();
+        Error error = Error.newBuilder()
+                .setType(ErrorTypes.QUOTA_EXCEEDED)
+                .setMessage("The tenant exceeds its quota of printed lines.")
+                .build();
+        Ack ack = Ack.newBuilder()
+                .setMessageId(pack(envelope.id()))
+                .setStatus(Status.newBuilder()
+                                 .setError(error))
+                .build();
+        return Optional.of(ack);
+    }
+
+    private static int linesOf(CommandMessage command) {
+        if (command instanceof Print || command instanceof PrintChunk) {
+            return 1;
+        }
+        if (command instanceof PrintAll) {
+            return Math.max(1, ((PrintAll) command).getTextCount());
+        }
+        return 0;
+    }
+}
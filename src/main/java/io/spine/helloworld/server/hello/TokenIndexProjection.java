@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.core.Subscribe;
+import io.spine.helloworld.hello.Tokens;
+import io.spine.helloworld.hello.event.Printed;
+import io.spine.helloworld.hello.event.PrintedAll;
+import io.spine.helloworld.hello.query.LineRef;
+import io.spine.helloworld.hello.query.TokenIndex;
+import io.spine.server.projection.Projection;
+
+/**
+ * Keeps the references to the printed lines containing a word.
+ *
+ * <p>The events are routed to the projections of all the words they contain by
+ * the {@link TokenIndexRepository}. So, updating the index costs one write per distinct
+ * word of a line, while finding the lines with a word costs one read.
+ */
+final class TokenIndexProjection
+        extends Projection<String, TokenIndex, TokenIndex.Builder> {
+
+    /**
+     * The number of the most recent line references kept for a word.
+     *
+     * <p>The numbers of lines by user are counted for all the lines.
+     */
+    static final int MAX_REFS = 1000;
+
+    @Subscribe
+    void on(Printed event) {
+        builder().setToken(id());
+        add(event.getUsername(), event.getLine());
+    }
+
+    @Subscribe
+    void on(PrintedAll event) {
+        builder().setToken(id());
+        long line = event.getFirstLine();
+        for (String text : event.getTextList()) {
+            if (Tokens.of(text)
+                      .contains(id())) {
+                add(event.getUsername(), line);
+            }
+            line++;
+        }
+    }
+
+    private void add(String username, long line) {
+        TokenIndex.Builder builder = builder();
+        long count = builder.getLinesByUserOrDefault(username, 0);
+        LineRef ref = LineRef.newBuilder()
+                .setUsername(username)
+                .setLine(line)
+                .build();
+        builder.putLinesByUser(username, count + 1)
+               .addRef(ref);
+        if (builder.getRefCount() > MAX_REFS) {
+            builder.removeRef(0);
+        }
+    }
+}
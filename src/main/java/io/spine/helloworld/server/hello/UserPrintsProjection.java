@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.common.base.Utf8;
+import io.spine.core.Subscribe;
+import io.spine.helloworld.hello.event.Printed;
+import io.spine.helloworld.hello.event.PrintedAll;
+import io.spine.helloworld.hello.query.UserPrints;
+import io.spine.server.projection.Projection;
+
+/**
+ * Counts the lines printed by a user and keeps the most recent of them.
+ *
+ * <p>Unlike the {@link Console}, which keeps what is on the screen, this projection answers
+ * queries without loading the whole scrollback.
+ */
+final class UserPrintsProjection
+        extends Projection<String, UserPrints, UserPrints.Builder> {
+
+    /** The number of recent lines kept by the projection. */
+    static final int RECENT_LINES = 100;
+
+    @Subscribe
+    void on(Printed event) {
+        builder().setUsername(event.getUsername())
+                 .setCommandCount(builder().getCommandCount() + 1);
+        add(event.getText());
+    }
+
+    @Subscribe
+    void on(PrintedAll event) {
+        builder().setUsername(event.getUsername())
+                 .setCommandCount(builder().getCommandCount() + 1);
+        for (String line : event.getTextList()) {
+            add(line);
+        }
+    }
+
+    private void add(String line) {
+        UserPrints.Builder builder = builder();
+        builder.setLineCount(builder.getLineCount() + 1)
+               .setByteCount(builder.getByteCount() + Utf8.encodedLength(line))
+               .addRecentLine(line);
+        if (builder.getRecentLineCount() > RECENT_LINES) {
+            builder.removeRecentLine(0);
+        }
+    }
+}
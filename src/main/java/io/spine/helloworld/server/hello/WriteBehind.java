@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Tells how the states of consoles are written to the durable store after the commands
+ * are handled.
+ *
+ * <p>By default, the state of a console is written {@linkplain #writeThrough() through} to
+ * the store by each command. When writing behind, the lines printed to a console are
+ * collected in memory and written at once when the number of the commands handled by
+ * the console reaches the batch size, or when the window passes, whichever comes first.
+ * So, a console receiving many commands writes to the store about once per batch.
+ *
+ * <p>The states written behind are lost if the process stops before they are written.
+ * The server writes all the pending states when it {@linkplain
+ * HelloContext#flush(HelloSettings) shuts down}.
+ */
+public final class WriteBehind {
+
+    private static final WriteBehind WRITE_THROUGH = new WriteBehind(1, 0);
+    private static final WriteBehind DEFAULT = every(64, Duration.ofMillis(100));
+
+    private final int commands;
+    private final long windowNanos;
+
+    private WriteBehind(int commands, long windowNanos) {
+        this.commands = commands;
+        this.windowNanos = windowNanos;
+    }
+
+    /**
+     * Obtains the policy which writes the state of a console by each command.
+     */
+    public static WriteBehind writeThrough() {
+        return WRITE_THROUGH;
+    }
+
+    /**
+     * Obtains the policy which writes the state of a console every 64 commands
+     * or 100 milliseconds.
+     */
+    public static WriteBehind defaultPolicy() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates the policy which writes the state of a console every given number of commands
+     * or the given window.
+     */
+    public static WriteBehind every(int commands, Duration window) {
+        checkArgument(commands > 0, "The number of commands must be positive.");
+        checkNotNull(window);
+        checkArgument(!window.isNegative() && !window.isZero(), "The window must be positive.");
+        return new WriteBehind(commands, window.toNanos());
+    }
+
+    /**
+     * Tells if the states are written behind the commands.
+     */
+    boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    /**
+     * Obtains the number of commands after which the state of a console is written.
+     */
+    int commands() {
+        return commands;
+    }
+
+    /**
+     * Obtains the period after which the pending states are written.
+     */
+    Duration window() {
+        return Duration.ofNanos(windowNanos);
+    }
+
+    @Override
+    public String toString() {
+        return isEnabled()
+               ? "WriteBehind{commands=" + commands + ", window=" + window() + '}'
+               : "WriteBehind{writeThrough}";
+    }
+}
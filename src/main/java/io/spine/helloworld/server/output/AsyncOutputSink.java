@@ -0,0 +1,249 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.output;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.spine.helloworld.metrics.Counter;
+import io.spine.helloworld.metrics.Metrics;
+import io.spine.logging.Logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.util.concurrent.Uninterruptibles.joinUninterruptibly;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The sink which writes lines to a channel from a dedicated thread.
+ *
+ * <p>Printing a line only puts it into a lock-free queue, so the command handlers neither
+ * wait for the I/O nor contend for a lock of a {@code PrintStream}. The writer thread drains
+ * the queue into a {@link LineBuffer} and writes the buffer to the channel when the buffer
+ * is full or the queue is empty. The lines are encoded into the buffer without creating
+ * intermediate strings.
+ *
+ * <p>The queue holds up to {@value #MAX_QUEUED_LINES} lines. When the writer falls behind
+ * and the queue is full, printing a line blocks until the writer takes a line from the queue,
+ * so that no printed line is lost and the memory taken by the queue stays bounded.
+ * The {@code output.blocked} counter of the metrics tells how many lines waited for the space.
+ *
+ * <p>Every line accepted before the sink is {@linkplain #close() closed} is written before
+ * {@code close()} returns. Closing the sink waits for the lines being printed concurrently,
+ * and the lines printed after that are rejected.
+ *
+ * <p>When there are no lines to write, the writer thread is parked until a line is printed.
+ */
+public final class AsyncOutputSink implements OutputSink, Logging {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The maximum number of lines waiting for the writer. */
+    static final int MAX_QUEUED_LINES = 16 * 1024;
+
+    private final Queue<Line> queue = new ConcurrentLinkedQueue<>();
+    private final Semaphore space = new Semaphore(MAX_QUEUED_LINES);
+    private final LineBuffer buffer = LineBuffer.allocateDirect(BUFFER_SIZE, this::writeFully);
+    private final WritableByteChannel channel;
+    private final boolean ownsChannel;
+    private final Thread writer;
+    private final Counter blocked;
+
+    /** The number of the {@link #println(String, String) println()} calls in progress. */
+    private final AtomicInteger printing = new AtomicInteger();
+
+    private volatile boolean idle;
+
+    /** Tells if the new lines are rejected. */
+    private volatile boolean closed;
+
+    /** Tells if no more lines are queued, so that the writer stops once the queue is empty. */
+    private volatile boolean drained;
+
+    private AsyncOutputSink(WritableByteChannel channel, boolean ownsChannel, Metrics metrics) {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.blocked = metrics.counter("output.blocked");
+        this.writer = new Thread(this::drain, "hello-output");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Creates the sink writing to {@link System#out}.
+     *
+     * <p>Closing the sink does not close the standard output.
+     */
+    public static AsyncOutputSink toSystemOut() {
+        return toSystemOut(Metrics.disabled());
+    }
+
+    /**
+     * Creates the sink writing to {@link System#out} which counts the blocked lines in
+     * the given metrics.
+     *
+     * <p>Closing the sink does not close the standard output.
+     */
+    @SuppressWarnings("UseOfSystemOutOrSystemErr")
+    public static AsyncOutputSink toSystemOut(Metrics metrics) {
+        checkNotNull(metrics);
+        return new AsyncOutputSink(Channels.newChannel(System.out), false, metrics);
+    }
+
+    /**
+     * Creates the sink writing to the given channel, which the sink does not close.
+     */
+    @VisibleForTesting
+    static AsyncOutputSink toChannel(WritableByteChannel channel, Metrics metrics) {
+        return new AsyncOutputSink(channel, false, metrics);
+    }
+
+    /**
+     * Creates the sink appending lines to the given file.
+     *
+     * <p>The file is created if it does not exist. Closing the sink closes the file.
+     */
+    public static AsyncOutputSink toFile(Path file) throws IOException {
+        checkNotNull(file);
+        FileChannel channel = FileChannel.open(file, CREATE, WRITE, APPEND);
+        return new AsyncOutputSink(channel, true, Metrics.disabled());
+    }
+
+    @Override
+    public void println(String username, String text) {
+        printing.incrementAndGet();
+        try {
+            checkState(!closed, "The output sink is closed.");
+            if (!space.tryAcquire()) {
+                blocked.increment();
+                space.acquireUninterruptibly();
+            }
+            queue.offer(new Line(username, text));
+        } finally {
+            printing.decrementAndGet();
+        }
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Writes the queued lines until no more lines are queued and the queue is empty.
+     */
+    private void drain() {
+        while (!drained || !queue.isEmpty()) {
+            Line line = queue.poll();
+            if (line != null) {
+                space.release();
+                buffer.putLine(line.username, line.text);
+            } else {
+                buffer.flush();
+                awaitLines();
+            }
+        }
+        buffer.flush();
+    }
+
+    /**
+     * Parks the writer until a line is queued or the sink is closed.
+     *
+     * <p>The queue is checked after the writer is marked idle, so that a line queued
+     * concurrently either is seen here or unparks the writer.
+     */
+    private void awaitLines() {
+        idle = true;
+        if (queue.isEmpty() && !drained) {
+            LockSupport.park(this);
+        }
+        idle = false;
+    }
+
+    private void writeFully(ByteBuffer bytes) {
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            _error().withCause(e)
+                    .log("Unable to write %d bytes of the output.", bytes.remaining());
+        }
+    }
+
+    /**
+     * Rejects the new lines, writes all the accepted ones, and stops the writer thread.
+     */
+    @Override
+    @SuppressWarnings("UnstableApiUsage") // `joinUninterruptibly()` is @Beta.
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // A line printed concurrently either sees the sink closed, or is counted here.
+        // The writer keeps taking the lines meanwhile, so a blocked line gets its space.
+        while (printing.get() > 0) {
+            Thread.yield();
+        }
+        drained = true;
+        LockSupport.unpark(writer);
+        joinUninterruptibly(writer);
+        if (ownsChannel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                _error().withCause(e)
+                        .log("Unable to close the output channel.");
+            }
+        }
+    }
+
+    /**
+     * A line queued for writing.
+     */
+    private static final class Line {
+
+        private final String username;
+        private final String text;
+
+        private Line(String username, String text) {
+            this.username = username;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.output;
+
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A reusable buffer which encodes printed lines into UTF-8 bytes.
+ *
+ * <p>A line is encoded in the {@code [username] text} form followed by the line separator.
+ * The characters are encoded directly into the buffer, so that putting a line does not
+ * create strings or any other objects. When the buffer is full, its content is passed
+ * to the {@link Drain}.
+ *
+ * <p>Unpaired surrogate characters are encoded as {@code '?'}, similarly to
+ * {@link String#getBytes(java.nio.charset.Charset) String.getBytes(UTF_8)}.
+ *
+ * <p>The class is not thread-safe.
+ */
+final class LineBuffer {
+
+    /** The maximum number of bytes taken by one character in UTF-8. */
+    private static final int MAX_CHAR_BYTES = 4;
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator()
+                                                       .getBytes(UTF_8);
+
+    private final ByteBuffer buffer;
+    private final Drain drain;
+
+    LineBuffer(ByteBuffer buffer, Drain drain) {
+        checkArgument(buffer.capacity() >= Math.max(MAX_CHAR_BYTES, LINE_SEPARATOR.length),
+                      "The buffer of %s bytes is too small.", buffer.capacity());
+        this.buffer = buffer;
+        this.drain = drain;
+    }
+
+    /**
+     * Creates a buffer backed by an array of the given size.
+     */
+    static LineBuffer allocate(int size, Drain drain) {
+        return new LineBuffer(ByteBuffer.allocate(size), drain);
+    }
+
+    /**
+     * Creates a buffer of the given size allocated outside the Java heap.
+     */
+    static LineBuffer allocateDirect(int size, Drain drain) {
+        return new LineBuffer(ByteBuffer.allocateDirect(size), drain);
+    }
+
+    /**
+     * Encodes the line printed by the user.
+     */
+    void putLine(CharSequence username, CharSequence text) {
+        putAscii('[');
+        putChars(username);
+        putAscii(']');
+        putAscii(' ');
+        putChars(text);
+        ensureRemaining(LINE_SEPARATOR.length);
+        buffer.put(LINE_SEPARATOR);
+    }
+
+    /**
+     * Passes the encoded bytes, if any, to the drain and clears the buffer.
+     */
+    void flush() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        drain.write(buffer);
+        buffer.clear();
+    }
+
+    private void putAscii(char c) {
+        ensureRemaining(1);
+        buffer.put((byte) c);
+    }
+
+    @SuppressWarnings({"MagicNumber", "NumericCastThatLosesPrecision"}) // UTF-8 bit layout.
+    private void putChars(CharSequence chars) {
+        int length = chars.length();
+        for (int i = 0; i < length; i++) {
+            char c = chars.charAt(i);
+            ensureRemaining(MAX_CHAR_BYTES);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >>> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (!Character.isSurrogate(c)) {
+                buffer.put((byte) (0xE0 | (c >>> 12)));
+                buffer.put((byte) (0x80 | ((c >>> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < length
+                    && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                i++;
+                int codePoint = Character.toCodePoint(c, chars.charAt(i));
+                buffer.put((byte) (0xF0 | (codePoint >>> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                buffer.put((byte) '?');
+            }
+        }
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * A destination of the encoded bytes.
+     */
+    @FunctionalInterface
+    interface Drain {
+
+        /**
+         * Writes all the remaining bytes of the passed buffer.
+         */
+        void write(ByteBuffer bytes);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.output;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Prints lines to {@link System#out} in the calling thread.
+ *
+ * <p>Each thread encodes lines into its own {@link LineBuffer}, so that printing a line
+ * does not create intermediate strings.
+ *
+ * <p>A line which may not fit into the buffer is encoded into a new array instead, so that
+ * every line is printed by a single write and does not interleave with the lines printed by
+ * other threads.
+ */
+final class SystemOutSink implements OutputSink {
+
+    static final OutputSink INSTANCE = new SystemOutSink();
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * The number of characters of a username and a text which surely fit into the buffer
+     * along with the brackets, the space, and the line separator.
+     */
+    private static final int MAX_BUFFERED_CHARS = BUFFER_SIZE / 4 - 4;
+
+    private static final ThreadLocal<LineBuffer> buffer =
+            ThreadLocal.withInitial(() -> LineBuffer.allocate(BUFFER_SIZE, SystemOutSink::write));
+
+    private SystemOutSink() {
+    }
+
+    @Override
+    public void println(String username, String text) {
+        if (username.length() + text.length() > MAX_BUFFERED_CHARS) {
+            printLong(username, text);
+            return;
+        }
+        LineBuffer lineBuffer = buffer.get();
+        lineBuffer.putLine(username, text);
+        lineBuffer.flush();
+    }
+
+    @SuppressWarnings("UseOfSystemOutOrSystemErr")
+    private static void printLong(String username, String text) {
+        byte[] line = ('[' + username + "] " + text + System.lineSeparator()).getBytes(UTF_8);
+        System.out.write(line, 0, line.length);
+    }
+
+    @SuppressWarnings("UseOfSystemOutOrSystemErr")
+    private static void write(ByteBuffer bytes) {
+        System.out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        bytes.position(bytes.limit());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.storage;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Optional;
+
+/**
+ * A store which keeps the latest serialized state per key across restarts of the server.
+ *
+ * <p>Implementations must be safe for use from multiple threads.
+ */
+public interface DurableStore extends AutoCloseable {
+
+    /**
+     * Obtains the store which keeps nothing.
+     *
+     * <p>Use it when the states are kept only by the in-memory storage of the server.
+     */
+    static DurableStore none() {
+        return NoOpStore.INSTANCE;
+    }
+
+    /**
+     * Reads the latest value written for the key.
+     */
+    Optional<byte[]> read(String key);
+
+    /**
+     * Writes the value for the key replacing the previous one.
+     */
+    void write(String key, byte[] value);
+
+    /**
+     * Obtains the keys which have values in the store.
+     */
+    ImmutableSet<String> keys();
+
+    /**
+     * Persists all the written values and releases the resources of the store.
+     *
+     * <p>Does nothing by default.
+     */
+    @Override
+    default void close() {
+        // Nothing to release by default.
+    }
+}
@@ -0,0 +1,574 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.storage;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.spine.logging.Logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+
+/**
+ * A durable store which appends records to memory-mapped segment files.
+ *
+ * <p>Each write appends a record to the active segment. An in-memory index points to
+ * the latest record of each key, so that a read copies the value directly from the mapped
+ * segment without touching the disk in the common case.
+ *
+ * <p>When the active segment is full, it is sealed and a new one is created. Sealed segments
+ * in which less than a half of the bytes belong to the latest records are compacted in
+ * the background: their latest records are appended to the active segment, and the segment
+ * files are deleted.
+ *
+ * <p>When opened, the log scans the existing segments to rebuild the index. Each record
+ * carries a sequence number and a checksum, so that records moved by compaction do not
+ * shadow newer ones, and a record torn by a crash ends the scan of its segment.
+ *
+ * <p>The written records survive a crash of the process. Call {@link #flush()} to make them
+ * survive a crash of the operating system. A sealed segment is forced to the storage device
+ * in the background, so that the writer which fills a segment does not wait for the disk.
+ */
+public final class RecordLog implements DurableStore, Logging {
+
+    /** The default size of a segment file. */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /** The size, the sequence number, the checksum, and the length of the key. */
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES
+            + Integer.BYTES;
+
+    private static final double COMPACTION_THRESHOLD = 0.5;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ExecutorService compactor;
+
+    /** Serializes the compactions started in the background and by the tests. */
+    private final Object compaction = new Object();
+
+    /** The segment to which the records are appended. Guarded by {@code this}. */
+    private Segment active;
+
+    /** The sequence number of the next record. Guarded by {@code this}. */
+    private long nextSequence;
+
+    /** Guarded by {@code this}. */
+    private boolean closed;
+
+    private RecordLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.compactor = newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("hello-compactor-%d")
+                                          .setDaemon(true)
+                                          .build());
+    }
+
+    /**
+     * Opens the log stored in the given directory with the
+     * {@linkplain #DEFAULT_SEGMENT_SIZE default} segment size.
+     */
+    public static RecordLog open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the log stored in the given directory creating the directory if needed.
+     *
+     * @param directory
+     *         the directory with the segment files
+     * @param segmentSize
+     *         the size of new segment files, which also limits the size of a record
+     */
+    public static RecordLog open(Path directory, int segmentSize) throws IOException {
+        checkNotNull(directory);
+        checkArgument(segmentSize > HEADER_SIZE, "The segment size is too small.");
+        Files.createDirectories(directory);
+        RecordLog log = new RecordLog(directory, segmentSize);
+        log.recover();
+        return log;
+    }
+
+    private synchronized void recover() throws IOException {
+        for (Path file : segmentFiles()) {
+            Segment segment = Segment.open(file);
+            segments.put(segment.id, segment);
+            segment.scan(this::indexRecovered);
+        }
+        if (segments.isEmpty()) {
+            active = Segment.create(directory, 0, segmentSize);
+            segments.put(active.id, active);
+        } else {
+            active = segments.lastEntry()
+                             .getValue();
+            active.truncateTornTail();
+            segments.headMap(active.id)
+                    .values()
+                    .forEach(Segment::seal);
+        }
+        compactor.execute(this::compact);
+    }
+
+    private boolean indexRecovered(String key, Location location) {
+        Location current = index.get(key);
+        if (current == null || current.sequence < location.sequence) {
+            index.put(key, location);
+            location.acquire();
+            if (current != null) {
+                current.release();
+            }
+        }
+        nextSequence = Math.max(nextSequence, location.sequence + 1);
+        return true;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        List<Path> result = new ArrayList<>();
+        try (DirectoryStream<Path> files =
+                     Files.newDirectoryStream(directory, SEGMENT_PREFIX + '*' + SEGMENT_SUFFIX)) {
+            files.forEach(result::add);
+        }
+        result.sort(null);
+        return result;
+    }
+
+    @Override
+    public Optional<byte[]> read(String key) {
+        checkNotNull(key);
+        Location location = index.get(key);
+        if (location == null) {
+            return Optional.empty();
+        }
+        return Optional.of(location.value());
+    }
+
+    @Override
+    public ImmutableSet<String> keys() {
+        return ImmutableSet.copyOf(index.keySet());
+    }
+
+    @Override
+    public void write(String key, byte[] value) {
+        checkNotNull(key);
+        checkNotNull(value);
+        byte[] keyBytes = key.getBytes(UTF_8);
+        int size = HEADER_SIZE + keyBytes.length + value.length;
+        checkArgument(size <= segmentSize,
+                      "The record of %s bytes does not fit into a segment.", size);
+        synchronized (this) {
+            checkState(!closed, "The log is closed.");
+            append(key, keyBytes, value, nextSequence);
+            nextSequence++;
+        }
+    }
+
+    /**
+     * Appends the record to the active segment and points the index to it.
+     *
+     * <p>The caller must hold the lock of the log.
+     */
+    private void append(String key, byte[] keyBytes, byte[] value, long sequence) {
+        int size = HEADER_SIZE + keyBytes.length + value.length;
+        if (!active.fits(size)) {
+            roll();
+        }
+        Location location = active.append(sequence, keyBytes, value);
+        location.acquire();
+        Location previous = index.put(key, location);
+        if (previous != null) {
+            previous.release();
+        }
+    }
+
+    private void roll() {
+        Segment sealed = active;
+        sealed.seal();
+        long id = sealed.id + 1;
+        try {
+            active = Segment.create(directory, id, segmentSize);
+        } catch (IOException e) {
+            throw new IllegalStateException(format("Unable to create the segment %d.", id), e);
+        }
+        segments.put(id, active);
+        compactor.execute(sealed::forceSealed);
+        compactor.execute(this::compact);
+    }
+
+    /**
+     * Compacts the sealed segments most of which are occupied by outdated records.
+     *
+     * <p>The log runs the compaction in the background each time a segment is sealed.
+     *
+     * <p>The moved records are forced to the storage device before the compacted segment
+     * is deleted, so that a record made durable by {@link #flush()} stays durable.
+     */
+    @VisibleForTesting
+    void compact() {
+        synchronized (compaction) {
+            for (Segment segment : segments.values()) {
+                if (isActive(segment) || segment.liveRatio() >= COMPACTION_THRESHOLD) {
+                    continue;
+                }
+                boolean completed = segment.scan(this::moveIfLatest);
+                if (completed) {
+                    segments.remove(segment.id);
+                    flush();
+                    delete(segment);
+                }
+            }
+        }
+    }
+
+    private void delete(Segment segment) {
+        try {
+            segment.delete();
+        } catch (IOException e) {
+            _error().withCause(e)
+                    .log("Unable to delete the compacted segment `%s`.", segment.file);
+        }
+    }
+
+    private synchronized boolean isActive(Segment segment) {
+        return closed || segment == active;
+    }
+
+    /**
+     * Appends the record to the active segment if it is still the latest for its key.
+     *
+     * @return {@code false} if the log is closed, {@code true} otherwise
+     */
+    private synchronized boolean moveIfLatest(String key, Location location) {
+        if (closed) {
+            return false;
+        }
+        Location current = index.get(key);
+        if (current != null && current.isAt(location)) {
+            append(key, key.getBytes(UTF_8), location.value(), location.sequence);
+        }
+        return true;
+    }
+
+    /**
+     * Forces the records written so far to the storage device.
+     *
+     * <p>The sealed segments not yet forced in the background are forced without holding
+     * the lock of the log.
+     */
+    public void flush() {
+        synchronized (this) {
+            active.force();
+        }
+        segments.values()
+                .forEach(Segment::forceSealed);
+    }
+
+    /**
+     * Stops the compaction and forces all the written records to the storage device.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        compactor.shutdownNow();
+        segments.values()
+                .forEach(Segment::force);
+    }
+
+    /**
+     * Obtains the number of segments with the records not yet forced to the storage device.
+     */
+    @VisibleForTesting
+    long unforcedSegments() {
+        return segments.values()
+                       .stream()
+                       .filter(segment -> segment.dirty)
+                       .count();
+    }
+
+    /**
+     * Obtains the number of segment files of the log.
+     */
+    @VisibleForTesting
+    int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * A callback for the records found when scanning a segment.
+     */
+    @FunctionalInterface
+    private interface RecordVisitor {
+
+        /**
+         * Visits the record.
+         *
+         * @return {@code true} to continue the scan, {@code false} to stop it
+         */
+        boolean visit(String key, Location location);
+    }
+
+    /**
+     * A position of a record in a segment.
+     */
+    private static final class Location {
+
+        private final Segment segment;
+        private final int offset;
+        private final int size;
+        private final int valueOffset;
+        private final long sequence;
+
+        private Location(Segment segment, int offset, int size, int valueOffset, long sequence) {
+            this.segment = segment;
+            this.offset = offset;
+            this.size = size;
+            this.valueOffset = valueOffset;
+            this.sequence = sequence;
+        }
+
+        private byte[] value() {
+            return segment.read(valueOffset, offset + size - valueOffset);
+        }
+
+        private boolean isAt(Location other) {
+            return segment == other.segment && offset == other.offset;
+        }
+
+        /** Counts the record as the latest one for its key. */
+        private void acquire() {
+            segment.liveBytes.addAndGet(size);
+        }
+
+        /** Counts the record as outdated. */
+        private void release() {
+            segment.liveBytes.addAndGet(-size);
+        }
+    }
+
+    /**
+     * A memory-mapped segment file.
+     */
+    private static final class Segment {
+
+        private final long id;
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private final AtomicLong liveBytes = new AtomicLong();
+
+        /** The position of the next record. Guarded by the lock of the log. */
+        private int position;
+
+        /** Tells if the segment has records not yet forced to the storage device. */
+        private volatile boolean dirty;
+
+        /** Guarded by {@code this}. */
+        private boolean sealed;
+
+        /** Tells if the sealed segment was forced. Guarded by {@code this}. */
+        private boolean forced;
+
+        private Segment(long id, Path file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        private static Segment create(Path directory, long id, int size) throws IOException {
+            Path file = directory.resolve(format("%s%019d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+            try (FileChannel channel = FileChannel.open(file, CREATE_NEW, READ, WRITE)) {
+                return new Segment(id, file, channel.map(READ_WRITE, 0, size));
+            }
+        }
+
+        private static Segment open(Path file) throws IOException {
+            String name = file.getFileName()
+                              .toString();
+            String number = name.substring(SEGMENT_PREFIX.length(),
+                                           name.length() - SEGMENT_SUFFIX.length());
+            long id = Long.parseLong(number);
+            try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+                return new Segment(id, file, channel.map(READ_WRITE, 0, channel.size()));
+            }
+        }
+
+        private boolean fits(int size) {
+            return position + size <= buffer.capacity();
+        }
+
+        private Location append(long sequence, byte[] key, byte[] value) {
+            int offset = position;
+            int size = HEADER_SIZE + key.length + value.length;
+            ByteBuffer target = buffer.duplicate();
+            target.position(offset + Integer.BYTES);
+            target.putLong(sequence)
+                  .putInt(checksum(key, value))
+                  .putInt(key.length)
+                  .put(key)
+                  .put(value);
+            // The size is written last, so that a partially written record is not visible.
+            buffer.putInt(offset, size);
+            position = offset + size;
+            dirty = true;
+            return new Location(this, offset, size, offset + HEADER_SIZE + key.length, sequence);
+        }
+
+        private byte[] read(int offset, int length) {
+            byte[] result = new byte[length];
+            ByteBuffer source = buffer.duplicate();
+            source.position(offset);
+            source.get(result);
+            return result;
+        }
+
+        /**
+         * Visits the valid records of the segment in the order of writing.
+         *
+         * <p>Sets the position of the segment after the last valid record.
+         *
+         * @return {@code true} if all the valid records were visited, {@code false} if
+         *         the visitor stopped the scan
+         */
+        @CanIgnoreReturnValue
+        private boolean scan(RecordVisitor visitor) {
+            ByteBuffer source = buffer.duplicate();
+            int offset = 0;
+            while (offset + HEADER_SIZE <= source.capacity()) {
+                int size = source.getInt(offset);
+                if (size < HEADER_SIZE || offset + size > source.capacity()) {
+                    break;
+                }
+                long sequence = source.getLong(offset + Integer.BYTES);
+                int checksum = source.getInt(offset + Integer.BYTES + Long.BYTES);
+                int keyLength = source.getInt(offset + Integer.BYTES + Long.BYTES
+                                                      + Integer.BYTES);
+                if (keyLength < 0 || HEADER_SIZE + keyLength > size) {
+                    break;
+                }
+                byte[] key = read(offset + HEADER_SIZE, keyLength);
+                int valueOffset = offset + HEADER_SIZE + keyLength;
+                byte[] value = read(valueOffset, offset + size - valueOffset);
+                if (checksum(key, value) != checksum) {
+                    break;
+                }
+                Location location = new Location(this, offset, size, valueOffset, sequence);
+                if (!visitor.visit(new String(key, UTF_8), location)) {
+                    return false;
+                }
+                offset += size;
+            }
+            position = offset;
+            return true;
+        }
+
+        /**
+         * Clears the bytes after the last valid record, if a torn record is there.
+         */
+        private void truncateTornTail() {
+            if (position + Integer.BYTES > buffer.capacity() || buffer.getInt(position) == 0) {
+                return;
+            }
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+
+        private double liveRatio() {
+            return (double) liveBytes.get() / buffer.capacity();
+        }
+
+        private void force() {
+            dirty = false;
+            buffer.force();
+        }
+
+        /** Marks the segment as the one to which no records are appended anymore. */
+        private synchronized void seal() {
+            sealed = true;
+        }
+
+        /**
+         * Forces the segment if it is sealed and was not forced since.
+         */
+        private synchronized void forceSealed() {
+            if (isUnforced()) {
+                force();
+                forced = true;
+            }
+        }
+
+        private synchronized boolean isUnforced() {
+            return sealed && !forced;
+        }
+
+        private void delete() throws IOException {
+            Files.deleteIfExists(file);
+        }
+
+        private static int checksum(byte[] key, byte[] value) {
+            CRC32 crc = new CRC32();
+            crc.update(key);
+            crc.update(value);
+            return (int) crc.getValue();
+        }
+    }
+}
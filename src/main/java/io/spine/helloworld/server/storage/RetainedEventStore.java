@@ -0,0 +1,400 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.storage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Any;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Timestamps;
+import io.grpc.stub.StreamObserver;
+import io.spine.core.Event;
+import io.spine.core.EventContext;
+import io.spine.core.TenantId;
+import io.spine.server.BoundedContext;
+import io.spine.server.event.EventFilter;
+import io.spine.server.event.EventStore;
+import io.spine.server.event.EventStreamQuery;
+import io.spine.type.TypeUrl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * The in-memory event store which drops the events as told by the {@link Retention} policy.
+ *
+ * <p>The events are kept in a queue per producer in the order of appending. Appending locks
+ * only the queue of the producer of the event, and so does the {@linkplain #compact(Retention,
+ * long) compaction} while it drops the events of that producer. So, the compaction pauses
+ * the delivery of the events of one producer at a time, and only for the time of dropping its
+ * expired events.
+ *
+ * <p>The events are read for a single tenant only. Reading the events of a multitenant
+ * Context is not supported.
+ */
+final class RetainedEventStore implements EventStore {
+
+    private final boolean multitenant;
+    private final Map<Producer, Events> producers = new ConcurrentHashMap<>();
+    private final AtomicLong storedEvents = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicLong reclaimedEvents = new AtomicLong();
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+    private final AtomicLong maxPauseNanos = new AtomicLong();
+
+    private @Nullable BoundedContext context;
+    private volatile boolean open = true;
+
+    RetainedEventStore(boolean multitenant) {
+        this.multitenant = multitenant;
+    }
+
+    @Override
+    public void registerWith(BoundedContext context) {
+        checkNotNull(context);
+        checkState(this.context == null, "The event store is already registered.");
+        this.context = context;
+    }
+
+    @Override
+    public boolean isRegistered() {
+        return context != null;
+    }
+
+    @Override
+    public void append(Event event) {
+        appendAll(ImmutableList.of(event));
+    }
+
+    @Override
+    public void appendAll(Iterable<Event> events) {
+        checkNotNull(events);
+        checkOpen();
+        for (Event event : events) {
+            Stored stored = new Stored(event);
+            Producer producer = Producer.of(event);
+            while (!producers.computeIfAbsent(producer, p -> new Events())
+                             .add(stored)) {
+                // The queue was removed by the compaction, so a new one is created.
+            }
+            storedEvents.incrementAndGet();
+            storedBytes.addAndGet(stored.bytes);
+        }
+    }
+
+    @Override
+    public void read(EventStreamQuery request, StreamObserver<Event> responseObserver) {
+        checkNotNull(request);
+        checkNotNull(responseObserver);
+        checkOpen();
+        checkState(!multitenant,
+                   "Reading the events of a multitenant Context is not supported.");
+        for (EventFilter filter : request.getFilterList()) {
+            checkArgument(filter.getEventFieldFilterCount() == 0
+                                  && filter.getContextFieldFilterCount() == 0,
+                          "Filtering events by their fields is not supported.");
+        }
+        List<Stored> found = new ArrayList<>();
+        for (Events events : producers.values()) {
+            events.collect(request, found);
+        }
+        found.sort(Comparator.comparing(stored -> stored.event
+                                                        .getContext()
+                                                        .getTimestamp(),
+                                        Timestamps.comparator()));
+        int limit = request.hasLimit()
+                    ? request.getLimit()
+                             .getValue()
+                    : found.size();
+        for (int i = 0; i < found.size() && i < limit; i++) {
+            responseObserver.onNext(found.get(i).event);
+        }
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Drops the events which the given policy does not keep.
+     *
+     * <p>First, drops the expired events and the events exceeding the limit of each
+     * producer. Then, if the events still take too many bytes, drops the oldest events
+     * of all the producers.
+     *
+     * @param retention
+     *         the policy telling which events to keep
+     * @param nowMillis
+     *         the current time in milliseconds since the epoch
+     */
+    void compact(Retention retention, long nowMillis) {
+        producers.forEach((producer, events) -> {
+            long start = System.nanoTime();
+            events.dropExpired(retention, nowMillis);
+            if (events.removeIfEmpty()) {
+                producers.remove(producer, events);
+            }
+            recordPause(System.nanoTime() - start);
+        });
+        if (!retention.exceedsBytes(storedBytes.get())) {
+            return;
+        }
+        PriorityQueue<Events> oldestFirst =
+                new PriorityQueue<>(Comparator.comparingLong(Events::oldestMillis));
+        producers.values()
+                 .stream()
+                 .filter(events -> events.oldestMillis() != Long.MAX_VALUE)
+                 .forEach(oldestFirst::add);
+        while (retention.exceedsBytes(storedBytes.get()) && !oldestFirst.isEmpty()) {
+            Events events = oldestFirst.poll();
+            long start = System.nanoTime();
+            boolean dropped = events.dropOldest();
+            recordPause(System.nanoTime() - start);
+            if (dropped && events.oldestMillis() != Long.MAX_VALUE) {
+                oldestFirst.add(events);
+            }
+        }
+    }
+
+    private void recordPause(long nanos) {
+        maxPauseNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Obtains the number of kept events.
+     */
+    long storedEvents() {
+        return storedEvents.get();
+    }
+
+    /**
+     * Obtains the length of the kept events in bytes.
+     */
+    long storedBytes() {
+        return storedBytes.get();
+    }
+
+    /**
+     * Obtains the number of events dropped by the compaction.
+     */
+    long reclaimedEvents() {
+        return reclaimedEvents.get();
+    }
+
+    /**
+     * Obtains the length of the events dropped by the compaction in bytes.
+     */
+    long reclaimedBytes() {
+        return reclaimedBytes.get();
+    }
+
+    /**
+     * Obtains the longest time for which the compaction paused appending the events of
+     * a producer.
+     */
+    long maxPauseNanos() {
+        return maxPauseNanos.get();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+        producers.clear();
+    }
+
+    private void checkOpen() {
+        checkState(open, "The event store is closed.");
+    }
+
+    /**
+     * The producer of events within a tenant.
+     */
+    private static final class Producer {
+
+        private final TenantId tenant;
+        private final Any id;
+
+        private Producer(TenantId tenant, Any id) {
+            this.tenant = tenant;
+            this.id = id;
+        }
+
+        private static Producer of(Event event) {
+            EventContext context = event.getContext();
+            TenantId tenant = context.getPastMessage()
+                                     .getActorContext()
+                                     .getTenantId();
+            return new Producer(tenant, context.getProducerId());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Producer)) {
+                return false;
+            }
+            Producer other = (Producer) o;
+            return tenant.equals(other.tenant) && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, id);
+        }
+    }
+
+    /**
+     * An event with its time and length.
+     */
+    private static final class Stored {
+
+        private final Event event;
+        private final long millis;
+        private final int bytes;
+
+        private Stored(Event event) {
+            this.event = event;
+            this.millis = Timestamps.toMillis(event.getContext()
+                                                   .getTimestamp());
+            this.bytes = event.getSerializedSize();
+        }
+    }
+
+    /**
+     * The events of a producer in the order of appending.
+     */
+    private final class Events {
+
+        private final Deque<Stored> queue = new ArrayDeque<>();
+        private boolean removed;
+
+        /**
+         * Adds the event unless this queue is removed.
+         */
+        private synchronized boolean add(Stored event) {
+            if (removed) {
+                return false;
+            }
+            queue.addLast(event);
+            return true;
+        }
+
+        private synchronized void collect(EventStreamQuery query, List<Stored> result) {
+            for (Stored stored : queue) {
+                if (matches(query, stored.event)) {
+                    result.add(stored);
+                }
+            }
+        }
+
+        private synchronized void dropExpired(Retention retention, long nowMillis) {
+            while (!queue.isEmpty()
+                    && (retention.exceedsCount(queue.size())
+                    || retention.isExpired(queue.peekFirst().millis, nowMillis))) {
+                drop();
+            }
+        }
+
+        private synchronized boolean dropOldest() {
+            if (queue.isEmpty()) {
+                return false;
+            }
+            drop();
+            return true;
+        }
+
+        private void drop() {
+            Stored dropped = queue.removeFirst();
+            storedEvents.decrementAndGet();
+            storedBytes.addAndGet(-dropped.bytes);
+            reclaimedEvents.incrementAndGet();
+            reclaimedBytes.addAndGet(dropped.bytes);
+        }
+
+        /**
+         * Marks this queue removed if it has no events, so that the events of the producer
+         * are added to a new queue.
+         */
+        private synchronized boolean removeIfEmpty() {
+            removed = queue.isEmpty();
+            return removed;
+        }
+
+        private synchronized long oldestMillis() {
+            return queue.isEmpty()
+                   ? Long.MAX_VALUE
+                   : queue.peekFirst().millis;
+        }
+    }
+
+    private static boolean matches(EventStreamQuery query, Event event) {
+        Timestamp time = event.getContext()
+                              .getTimestamp();
+        if (query.hasAfter() && Timestamps.compare(time, query.getAfter()) <= 0) {
+            return false;
+        }
+        if (query.hasBefore() && Timestamps.compare(time, query.getBefore()) >= 0) {
+            return false;
+        }
+        if (query.getFilterCount() == 0) {
+            return true;
+        }
+        TypeUrl type = TypeUrl.ofEnclosed(event.getMessage());
+        return query.getFilterList()
+                    .stream()
+                    .anyMatch(filter -> matches(filter, type, event));
+    }
+
+    private static boolean matches(EventFilter filter, TypeUrl type, Event event) {
+        String eventType = filter.getEventType();
+        boolean typeMatches = eventType.isEmpty()
+                || eventType.equals(type.value())
+                || eventType.equals(type.toTypeName()
+                                        .value());
+        boolean producerMatches = filter.getAggregateIdCount() == 0
+                || filter.getAggregateIdList()
+                         .contains(event.getContext()
+                                        .getProducerId());
+        return typeMatches && producerMatches;
+    }
+}
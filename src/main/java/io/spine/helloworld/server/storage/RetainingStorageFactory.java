@@ -0,0 +1,228 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.logging.Logging;
+import io.spine.server.ContextSpec;
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.delivery.CatchUpStorage;
+import io.spine.server.delivery.InboxStorage;
+import io.spine.server.entity.Entity;
+import io.spine.server.event.EventStore;
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.ToLongFunction;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The storage factory which creates the event stores dropping the events as told by
+ * the {@link Retention} policy.
+ *
+ * <p>All the other storages are created by the wrapped factory.
+ *
+ * <p>The events are dropped by a background thread once per {@linkplain #COMPACTION_PERIOD
+ * period}, so that appending the events does not wait for the compaction. The numbers of
+ * the kept and the dropped events, and the longest pause of appending caused by
+ * the compaction, are available for the metrics.
+ */
+public final class RetainingStorageFactory implements StorageFactory, Logging {
+
+    /** The period with which the events are compacted. */
+    private static final Duration COMPACTION_PERIOD = Duration.ofSeconds(1);
+
+    private final StorageFactory delegate;
+    private final Retention retention;
+    private final List<RetainedEventStore> eventStores = new CopyOnWriteArrayList<>();
+
+    /** Compacts the event stores, started when the first store is created. */
+    private @Nullable ScheduledExecutorService compactor;
+
+    private RetainingStorageFactory(StorageFactory delegate, Retention retention) {
+        this.delegate = delegate;
+        this.retention = retention;
+    }
+
+    /**
+     * Creates the factory which creates the event stores with the given retention, and
+     * the other storages with the given factory.
+     */
+    public static RetainingStorageFactory wrap(StorageFactory delegate, Retention retention) {
+        checkNotNull(delegate);
+        checkNotNull(retention);
+        return new RetainingStorageFactory(delegate, retention);
+    }
+
+    @Override
+    public <I> AggregateStorage<I>
+    createAggregateStorage(ContextSpec context,
+                           Class<? extends Aggregate<I, ?, ?>> aggregateClass) {
+        return delegate.createAggregateStorage(context, aggregateClass);
+    }
+
+    @Override
+    public <I> RecordStorage<I>
+    createRecordStorage(ContextSpec context, Class<? extends Entity<I, ?>> entityClass) {
+        return delegate.createRecordStorage(context, entityClass);
+    }
+
+    @Override
+    public <I> ProjectionStorage<I>
+    createProjectionStorage(ContextSpec context,
+                            Class<? extends Projection<I, ?, ?>> projectionClass) {
+        return delegate.createProjectionStorage(context, projectionClass);
+    }
+
+    @Override
+    public InboxStorage createInboxStorage(boolean multitenant) {
+        return delegate.createInboxStorage(multitenant);
+    }
+
+    @Override
+    public CatchUpStorage createCatchUpStorage(boolean multitenant) {
+        return delegate.createCatchUpStorage(multitenant);
+    }
+
+    /**
+     * Creates the event store which keeps the events in memory as told by
+     * the retention policy.
+     *
+     * <p>If the policy keeps all the events, the event store is created by the wrapped
+     * factory.
+     */
+    @Override
+    public EventStore createEventStore(ContextSpec context) {
+        if (!retention.isLimited()) {
+            return delegate.createEventStore(context);
+        }
+        RetainedEventStore store = new RetainedEventStore(context.isMultitenant());
+        eventStores.add(store);
+        startCompaction();
+        return store;
+    }
+
+    @SuppressWarnings("FutureReturnValueIgnored") // The task is cancelled by `close()`.
+    private synchronized void startCompaction() {
+        if (compactor != null) {
+            return;
+        }
+        compactor = newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("hello-compactor-%d")
+                                          .setDaemon(true)
+                                          .build());
+        long nanos = COMPACTION_PERIOD.toNanos();
+        compactor.scheduleWithFixedDelay(this::compact, nanos, nanos, NANOSECONDS);
+    }
+
+    private void compact() {
+        try {
+            long now = System.currentTimeMillis();
+            for (RetainedEventStore store : eventStores) {
+                if (store.isOpen()) {
+                    store.compact(retention, now);
+                } else {
+                    eventStores.remove(store);
+                }
+            }
+        } catch (RuntimeException e) {
+            _error().withCause(e)
+                    .log("Unable to compact the event stores.");
+        }
+    }
+
+    /**
+     * Obtains the number of the events kept by the event stores.
+     */
+    public long storedEvents() {
+        return sum(RetainedEventStore::storedEvents);
+    }
+
+    /**
+     * Obtains the length of the events kept by the event stores in bytes.
+     */
+    public long storedBytes() {
+        return sum(RetainedEventStore::storedBytes);
+    }
+
+    /**
+     * Obtains the number of the events dropped by the compaction.
+     */
+    public long reclaimedEvents() {
+        return sum(RetainedEventStore::reclaimedEvents);
+    }
+
+    /**
+     * Obtains the length of the events dropped by the compaction in bytes.
+     */
+    public long reclaimedBytes() {
+        return sum(RetainedEventStore::reclaimedBytes);
+    }
+
+    /**
+     * Obtains the longest time for which the compaction paused appending the events of
+     * a producer.
+     */
+    public Duration maxPause() {
+        long nanos = eventStores.stream()
+                                .mapToLong(RetainedEventStore::maxPauseNanos)
+                                .max()
+                                .orElse(0);
+        return Duration.ofNanos(nanos);
+    }
+
+    private long sum(ToLongFunction<RetainedEventStore> value) {
+        return eventStores.stream()
+                          .mapToLong(value)
+                          .sum();
+    }
+
+    /**
+     * Stops the compaction and closes the wrapped factory.
+     */
+    @Override
+    public void close() throws Exception {
+        synchronized (this) {
+            if (compactor != null) {
+                compactor.shutdown();
+                compactor = null;
+            }
+        }
+        delegate.close();
+    }
+}
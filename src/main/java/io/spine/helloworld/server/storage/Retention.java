@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.storage;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Tells which events are kept by the {@linkplain RetainingStorageFactory event stores}.
+ *
+ * <p>An event is dropped when it becomes older than the maximum age, when its producer has
+ * produced the maximum number of newer events, or when the events of all the producers do not
+ * fit into the maximum number of bytes, in which case the oldest events are dropped first.
+ * The producer of the events of a console is the console, so the number of kept events is
+ * limited per user.
+ *
+ * <p>The events are dropped by the background compaction, so the store may exceed
+ * the limits until the next compaction.
+ */
+public final class Retention {
+
+    private static final long NO_LIMIT = 0;
+
+    private static final Retention FOREVER = new Retention(NO_LIMIT, NO_LIMIT, NO_LIMIT);
+    private static final Retention DEFAULT =
+            new Retention(Duration.ofHours(1).toMillis(), 10_000, 64L * 1024 * 1024);
+
+    private final long maxAgeMillis;
+    private final long maxPerProducer;
+    private final long maxBytes;
+
+    private Retention(long maxAgeMillis, long maxPerProducer, long maxBytes) {
+        this.maxAgeMillis = maxAgeMillis;
+        this.maxPerProducer = maxPerProducer;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Obtains the policy which keeps all the events.
+     */
+    public static Retention forever() {
+        return FOREVER;
+    }
+
+    /**
+     * Obtains the policy which keeps the events of the last hour, up to 10 000 events of
+     * a producer, and up to 64 MiB of events in total.
+     */
+    public static Retention defaultPolicy() {
+        return DEFAULT;
+    }
+
+    /**
+     * Obtains the policy which also drops the events older than the given age.
+     */
+    public Retention withMaxAge(Duration maxAge) {
+        checkNotNull(maxAge);
+        checkArgument(!maxAge.isNegative() && !maxAge.isZero(), "The age must be positive.");
+        return new Retention(maxAge.toMillis(), maxPerProducer, maxBytes);
+    }
+
+    /**
+     * Obtains the policy which also keeps up to the given number of the latest events of
+     * each producer.
+     */
+    public Retention withMaxPerProducer(long maxEvents) {
+        checkArgument(maxEvents > 0, "The number of events must be positive.");
+        return new Retention(maxAgeMillis, maxEvents, maxBytes);
+    }
+
+    /**
+     * Obtains the policy which also keeps up to the given number of bytes of the latest
+     * serialized events.
+     */
+    public Retention withMaxBytes(long maxBytes) {
+        checkArgument(maxBytes > 0, "The number of bytes must be positive.");
+        return new Retention(maxAgeMillis, maxPerProducer, maxBytes);
+    }
+
+    /**
+     * Tells if the policy drops any events.
+     */
+    boolean isLimited() {
+        return maxAgeMillis != NO_LIMIT || maxPerProducer != NO_LIMIT || maxBytes != NO_LIMIT;
+    }
+
+    /**
+     * Tells if the event with the given time is too old to keep.
+     */
+    boolean isExpired(long eventMillis, long nowMillis) {
+        return maxAgeMillis != NO_LIMIT && nowMillis - eventMillis > maxAgeMillis;
+    }
+
+    /**
+     * Tells if a producer has more events than kept.
+     */
+    boolean exceedsCount(long producerEvents) {
+        return maxPerProducer != NO_LIMIT && producerEvents > maxPerProducer;
+    }
+
+    /**
+     * Tells if the events of all the producers take more bytes than kept.
+     */
+    boolean exceedsBytes(long totalBytes) {
+        return maxBytes != NO_LIMIT && totalBytes > maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "Retention{maxAge=" + Duration.ofMillis(maxAgeMillis)
+                + ", maxPerProducer=" + maxPerProducer
+                + ", maxBytes=" + maxBytes + '}';
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.trace;
+
+/**
+ * A stage in the lifecycle of a printing command.
+ *
+ * <p>The stages are listed in the order in which a command passes them.
+ */
+public enum Stage {
+
+    /** Building and validating the command on the client. */
+    VALIDATE,
+
+    /** Posting the command from the client until the client receives the acknowledgement. */
+    POST,
+
+    /** Waiting in the inbox of the console from passing the bus filters until handling. */
+    DISPATCH,
+
+    /** Handling the command by the console as a whole. */
+    HANDLE,
+
+    /** Restoring the state of the console from the journal, if it is missing. */
+    LOAD,
+
+    /** Printing the lines to the output sink. */
+    PRINT,
+
+    /** Writing the printed lines to the journal. */
+    STORE,
+
+    /** Posting the event of the command from the console until the server observes it. */
+    EVENT_POST,
+
+    /** Sending the observed event to the clients observing it. */
+    PUBLISH,
+
+    /** Handling the received event by the client, including the callbacks of the command. */
+    DELIVER
+}
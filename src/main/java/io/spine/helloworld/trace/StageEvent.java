@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Flight Recorder event of a stage of a command.
+ *
+ * <p>The events of all the stages of a command have the same command ID, so a recording
+ * tells how long each stage of the command took.
+ */
+@Name("io.spine.helloworld.CommandStage")
+@Label("Command Stage")
+@Description("A stage in the lifecycle of a printing command.")
+@Category({"Hello World", "Commands"})
+@StackTrace(false)
+final class StageEvent extends Event implements Span {
+
+    /** The type of the event, which tells if a recording is running without allocating. */
+    private static final EventType TYPE = EventType.getEventType(StageEvent.class);
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Command ID")
+    String commandId;
+
+    /**
+     * Begins the span of the stage, if the event is enabled in a running recording.
+     */
+    static Span begin(Stage stage) {
+        if (!TYPE.isEnabled()) {
+            return Span.none();
+        }
+        StageEvent event = new StageEvent();
+        event.stage = stage.name();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Tells if the event is enabled in a running recording.
+     */
+    static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+
+    @Override
+    public void commit(String commandId) {
+        end();
+        if (shouldCommit()) {
+            this.commandId = commandId;
+            commit();
+        }
+    }
+}
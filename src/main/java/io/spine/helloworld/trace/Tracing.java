@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.trace;
+
+/**
+ * Traces the stages of commands with the Java Flight Recorder.
+ *
+ * <p>Each stage is recorded as the {@code io.spine.helloworld.CommandStage} event with
+ * the name of the stage and the ID of the command. To obtain the breakdown of the time of
+ * the commands by stages, start a recording, e.g. with
+ * {@code -XX:StartFlightRecording=filename=hello.jfr}, and group the events of the recording by
+ * the command ID.
+ *
+ * <p>While no recording is running, beginning a span costs checking a flag, and the spans do
+ * nothing. On a JVM without the Flight Recorder, the tracing is always off.
+ */
+public final class Tracing {
+
+    private static final boolean AVAILABLE = flightRecorderAvailable();
+
+    /** Prevents instantiation of this utility class. */
+    private Tracing() {
+    }
+
+    /**
+     * Begins the span of the given stage of a command.
+     */
+    public static Span begin(Stage stage) {
+        return AVAILABLE
+               ? StageEvent.begin(stage)
+               : Span.none();
+    }
+
+    /**
+     * Tells if the stages are being recorded.
+     *
+     * <p>Use it to skip the work done only for the tracing.
+     */
+    public static boolean isRecording() {
+        return AVAILABLE && StageEvent.enabled();
+    }
+
+    private static boolean flightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, Tracing.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
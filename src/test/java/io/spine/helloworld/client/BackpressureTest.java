@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`Backpressure` should")
+class BackpressureTest {
+
+    @Test
+    @DisplayName("suggest no delay until the server is overloaded")
+    void noDelay() {
+        Backpressure backpressure = new Backpressure();
+        assertThat(backpressure.isOverloaded()).isFalse();
+        assertThat(backpressure.delay()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("double the delay while overloads keep coming")
+    void growDelay() {
+        Backpressure backpressure = new Backpressure();
+        backpressure.onOverloaded();
+        assertThat(backpressure.delay()).isEqualTo(Duration.ofMillis(1));
+        backpressure.onOverloaded();
+        assertThat(backpressure.delay()).isEqualTo(Duration.ofMillis(2));
+        assertThat(backpressure.overloads()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("not suggest a delay longer than a second")
+    void limitDelay() {
+        Backpressure backpressure = new Backpressure();
+        for (int i = 0; i < 100; i++) {
+            backpressure.onOverloaded();
+        }
+        assertThat(backpressure.delay()).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("shorten the delay as the commands are accepted")
+    void shrinkDelay() {
+        Backpressure backpressure = new Backpressure();
+        backpressure.onOverloaded();
+        backpressure.onOverloaded();
+        backpressure.onAccepted();
+        assertThat(backpressure.delay()).isEqualTo(Duration.ofMillis(1));
+        backpressure.onAccepted();
+        assertThat(backpressure.isOverloaded()).isFalse();
+    }
+}
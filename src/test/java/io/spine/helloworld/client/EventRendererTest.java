@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.Message;
+import io.spine.helloworld.hello.event.Printed;
+import io.spine.helloworld.hello.event.PrintedAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.json.Json.fromJson;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@DisplayName("`EventRenderer` should")
+class EventRendererTest {
+
+    private static final String PREFIX = "The client received the event: ";
+
+    @Test
+    @DisplayName("print events as JSON readable by the Protobuf JSON parser")
+    void printJson() {
+        Printed printed = Printed.newBuilder()
+                .setUsername("john")
+                .setText("Say \"hi\"\n\tand\\or \u0001 <bye>")
+                .setLine(42)
+                .build();
+        PrintedAll printedAll = PrintedAll.newBuilder()
+                .setUsername("jane")
+                .addText("one")
+                .addText("two")
+                .build();
+        TextRenderer renderer = new TextRenderer(System.out);
+
+        assertThat(parse(renderer.format(printed), Printed.class)).isEqualTo(printed);
+        assertThat(parse(renderer.format(printedAll), PrintedAll.class)).isEqualTo(printedAll);
+    }
+
+    @Test
+    @DisplayName("omit the fields with default values")
+    void omitDefaults() {
+        Printed printed = Printed.newBuilder()
+                .setUsername("john")
+                .setText("Hello")
+                .build();
+        String line = new TextRenderer(System.out).format(printed);
+        assertThat(line).endsWith("{\"username\":\"john\",\"text\":\"Hello\"}");
+    }
+
+    @Test
+    @DisplayName("write length-delimited events")
+    void writeBinary() throws IOException {
+        Printed first = Printed.newBuilder()
+                .setUsername("john")
+                .setText("first")
+                .build();
+        Printed second = first.toBuilder()
+                              .setText("second")
+                              .setLine(1)
+                              .build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (EventRenderer renderer = EventRenderer.binary(bytes)) {
+            renderer.render(first);
+            renderer.render(second);
+        }
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes.toByteArray());
+        assertThat(unpack(Any.parseDelimitedFrom(in), Printed.class)).isEqualTo(first);
+        assertThat(unpack(Any.parseDelimitedFrom(in), Printed.class)).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("render one of each `rate` events when sampled")
+    void sample() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true);
+        EventRenderer renderer = EventRenderer.sampled(EventRenderer.text(out), 3);
+        Printed event = Printed.newBuilder()
+                .setUsername("john")
+                .setText("Hello")
+                .build();
+        for (int i = 0; i < 7; i++) {
+            renderer.render(event);
+        }
+        String[] lines = new String(bytes.toByteArray(), UTF_8).split(System.lineSeparator());
+        assertThat(lines).hasLength(3);
+    }
+
+    private static <T extends Message> T parse(String line, Class<T> type) {
+        assertThat(line).startsWith(PREFIX + type.getName());
+        String json = line.substring(PREFIX.length() + type.getName()
+                                                           .length());
+        return fromJson(json, type);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import io.spine.helloworld.hello.command.PrintAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`PrintBatch` should")
+class PrintBatchTest {
+
+    private static final Duration LONG_DELAY = Duration.ofMinutes(1);
+
+    private final List<PrintAll> sent = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void createScheduler() {
+        scheduler = newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void stopScheduler() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("complete the results of the lines when their batch is acknowledged")
+    void acknowledged() {
+        PrintBatch batch = new PrintBatch(this::acknowledge, scheduler, "jane", 2, LONG_DELAY);
+        CompletableFuture<Void> first = batch.print("a");
+        assertThat(first.isDone()).isFalse();
+        CompletableFuture<Void> second = batch.print("b");
+        assertThat(second).isSameInstanceAs(first);
+        assertThat(first.isDone()).isTrue();
+        assertThat(first.isCompletedExceptionally()).isFalse();
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0)
+                       .getTextList()).containsExactly("a", "b")
+                                      .inOrder();
+    }
+
+    @Test
+    @DisplayName("fail the results of the lines when their batch is not acknowledged")
+    void overloaded() {
+        PrintBatch batch = new PrintBatch(PrintBatchTest::overload, scheduler, "jane", 1,
+                                          LONG_DELAY);
+        CompletableFuture<Void> result = batch.print("a");
+        ExecutionException e = assertThrows(ExecutionException.class, result::get);
+        assertThat(e).hasCauseThat()
+                     .isInstanceOf(OverloadedException.class);
+    }
+
+    @Test
+    @DisplayName("report the failure of the batch sent by timeout")
+    void scheduledFailure() {
+        PrintBatch batch = new PrintBatch(PrintBatchTest::overload, scheduler, "jane", 10,
+                                          Duration.ofMillis(1));
+        CompletableFuture<Void> result = batch.print("a");
+        ExecutionException e = assertThrows(ExecutionException.class,
+                                            () -> result.get(5, SECONDS));
+        assertThat(e).hasCauseThat()
+                     .isInstanceOf(OverloadedException.class);
+    }
+
+    private CompletableFuture<Void> acknowledge(PrintAll command) {
+        sent.add(command);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static CompletableFuture<Void> overload(PrintAll command) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        result.completeExceptionally(new OverloadedException("The server is overloaded."));
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`TextChunks` should")
+class TextChunksTest {
+
+    @Test
+    @DisplayName("split the text into chunks of the given size")
+    void split() throws IOException {
+        assertThat(chunksOf("Hello, World!", 5))
+                .containsExactly("Hello", ", Wor", "ld!")
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("tell the last chunk")
+    void last() throws IOException {
+        TextChunks chunks = new TextChunks(new StringReader("abcd"), 2);
+        assertThat(chunks.next()).isEqualTo("ab");
+        assertThat(chunks.isLast()).isFalse();
+        assertThat(chunks.next()).isEqualTo("cd");
+        assertThat(chunks.isLast()).isTrue();
+        assertThat(chunks.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("not split a surrogate pair")
+    void surrogatePair() throws IOException {
+        String smile = new String(Character.toChars(0x1F600));
+        assertThat(chunksOf("ab" + smile + "c", 3))
+                .containsExactly("ab", smile + "c")
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("have no chunks for the empty text")
+    void empty() throws IOException {
+        assertThat(chunksOf("", 4)).isEmpty();
+    }
+
+    private static List<String> chunksOf(String text, int chunkChars) throws IOException {
+        TextChunks chunks = new TextChunks(new StringReader(text), chunkChars);
+        List<String> result = new ArrayList<>();
+        for (String chunk = chunks.next(); chunk != null; chunk = chunks.next()) {
+            result.add(chunk);
+        }
+        return result;
+    }
+}
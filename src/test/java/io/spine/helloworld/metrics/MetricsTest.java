@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`Metrics` should")
+class MetricsTest {
+
+    @Test
+    @DisplayName("count and time operations when enabled")
+    void enabled() {
+        Metrics metrics = Metrics.enabled();
+        metrics.counter("commands").add(3);
+        metrics.counter("commands").increment();
+        metrics.timer("handle").record(1_000);
+        metrics.gauge("depth", () -> 7);
+
+        assertThat(metrics.getCounters()).containsExactly("commands", 4L, "depth", 7L);
+        assertThat(metrics.timer("handle").count()).isEqualTo(1);
+        assertThat(metrics.getReport()).contains("handle: count=1");
+    }
+
+    @Test
+    @DisplayName("record nothing when disabled")
+    void disabled() {
+        Metrics metrics = Metrics.disabled();
+        metrics.counter("commands").increment();
+        Timer timer = metrics.timer("handle");
+        timer.stop(timer.start());
+
+        assertThat(timer.isEnabled()).isFalse();
+        assertThat(metrics.getCounters()).isEmpty();
+        assertThat(metrics.getTimers()).isEmpty();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server;
+
+import com.google.common.collect.ImmutableList;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.MethodType;
+import io.grpc.ServerCall;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.spine.helloworld.net.PrintedObservation;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`DeferredHandlerRegistry` should")
+class DeferredHandlerRegistryTest {
+
+    private static final String OBSERVE = PrintedObservation.OBSERVE.getFullMethodName();
+
+    private AtomicInteger created;
+    private DeferredHandlerRegistry registry;
+
+    @BeforeEach
+    void createRegistry() {
+        created = new AtomicInteger();
+        registry = new DeferredHandlerRegistry(() -> {
+            created.incrementAndGet();
+            ServerServiceDefinition service =
+                    PrintedObservation.service((filter, observer) -> observer.onCompleted());
+            return ImmutableList.of(service);
+        });
+    }
+
+    @Test
+    @DisplayName("not create the services until they are needed")
+    void deferCreation() {
+        assertThat(registry.getServices()).isEmpty();
+        assertThat(created.get()).isEqualTo(0);
+        assertThat(closingStatus(method).getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+    }
+
+    @Test
+    @DisplayName("reject the calls with an internal error if the services cannot be created")
+    void rejectAfterFailure() {
+        DeferredHandlerRegistry failing = new DeferredHandlerRegistry(() -> {
+            throw new IllegalStateException("Unable to recover the consoles.");
+        });
+        assertThrows(IllegalStateException.class, failing::initialize);
+        ServerMethodDefinition<?, ?> method = failing.lookupMethod(OBSERVE, null);
+        assertThat(method).isNotNull();
+        assertThat(closingStatus(method).getCode()).isEqualTo(Status.Code.INTERNAL);
+    }
+
+    @Test
+    @DisplayName("reject the calls until the services are created")
+    void rejectUntilCreated() {
+        ServerMethodDefinition<?, ?> method = registry.lookupMethod(OBSERVE, null);
+        assertThat(method).isNotNull();
+        assertThat(method.getMethodDescriptor()
+                         .getType()).isEqualTo(MethodType.UNKNOWN);
+        assertThat(created.get()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("create the services once")
+    void createOnce() {
+        registry.initialize();
+        registry.initialize();
+        assertThat(registry.getServices()).hasSize(1);
+        assertThat(registry.lookupMethod(OBSERVE, null)
+                           .getMethodDescriptor()).isSameInstanceAs(PrintedObservation.OBSERVE);
+        assertThat(created.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("not find unknown methods")
+    void unknownMethod() {
+        registry.initialize();
+        assertThat(registry.lookupMethod("hello.Unknown/Call", null)).isNull();
+    }
+
+    private static <Q, R> Status closingStatus(ServerMethodDefinition<Q, R> method) {
+        ClosedCall<Q, R> call = new ClosedCall<>(method.getMethodDescriptor());
+        method.getServerCallHandler()
+              .startCall(call, new Metadata());
+        assertThat(call.status).isNotNull();
+        return call.status;
+    }
+
+    /**
+     * The call which remembers the status with which it is closed.
+     */
+    private static final class ClosedCall<Q, R> extends ServerCall<Q, R> {
+
+        private final MethodDescriptor<Q, R> method;
+        private @Nullable Status status;
+
+        private ClosedCall(MethodDescriptor<Q, R> method) {
+            super();
+            this.method = method;
+        }
+
+        @Override
+        public void request(int numMessages) {
+            // No messages are read by the rejected calls.
+        }
+
+        @Override
+        public void sendHeaders(Metadata headers) {
+            // No headers are sent by the rejected calls.
+        }
+
+        @Override
+        public void sendMessage(R message) {
+            throw new UnsupportedOperationException("The call is rejected.");
+        }
+
+        @Override
+        public void close(Status status, Metadata trailers) {
+            this.status = status;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public MethodDescriptor<Q, R> getMethodDescriptor() {
+            return method;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.delivery;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.environment.Tests;
+import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.server.hello.HelloContext;
+import io.spine.helloworld.server.hello.HelloSettings;
+import io.spine.helloworld.server.output.OutputSink;
+import io.spine.server.BoundedContext;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`ShardedDelivery` should")
+@SuppressWarnings("UnstableApiUsage") // `awaitUninterruptibly()` is @Beta.
+class ShardedDeliveryTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private final TestActorRequestFactory requests =
+            new TestActorRequestFactory(ShardedDeliveryTest.class);
+
+    private ShardedDelivery delivery;
+    private BoundedContext context;
+
+    @AfterEach
+    void closeContext() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        ServerEnvironment.instance()
+                         .reset();
+    }
+
+    @Test
+    @DisplayName("not accept a non-positive number of shards")
+    void positiveShards() {
+        assertThrows(IllegalArgumentException.class, () -> ShardedDelivery.withShards(0));
+    }
+
+    @Test
+    @DisplayName("keep the order of the lines of each console")
+    void order() throws InterruptedException {
+        RecordingSink sink = new RecordingSink();
+        start(4, sink);
+        int users = 8;
+        int linesPerUser = 64;
+        for (int line = 0; line < linesPerUser; line++) {
+            for (int user = 0; user < users; user++) {
+                print("user-" + user, "line " + line);
+            }
+        }
+        await(() -> sink.count() == users * linesPerUser && delivery.pendingMessages() == 0);
+
+        for (int user = 0; user < users; user++) {
+            assertThat(sink.lines("user-" + user)).containsExactlyElementsIn(lines(linesPerUser))
+                                                  .inOrder();
+        }
+    }
+
+    @Test
+    @DisplayName("deliver the messages received while the shard is being delivered")
+    void receivedDuringDelivery() throws InterruptedException {
+        RecordingSink sink = new RecordingSink();
+        CountDownLatch printing = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        OutputSink held = (username, text) -> {
+            printing.countDown();
+            awaitUninterruptibly(released);
+            sink.println(username, text);
+        };
+        start(1, held);
+        print("jane", "line 0");
+        awaitUninterruptibly(printing);
+        for (int line = 1; line < 4; line++) {
+            print("jane", "line " + line);
+        }
+        assertThat(delivery.inboxDepth(0)).isAtLeast(4);
+
+        released.countDown();
+        await(() -> sink.count() == 4 && delivery.pendingMessages() == 0);
+        assertThat(sink.lines("jane")).containsExactlyElementsIn(lines(4))
+                                      .inOrder();
+    }
+
+    @Test
+    @DisplayName("count the messages waiting for delivery in each shard")
+    void inboxDepths() throws InterruptedException {
+        RecordingSink sink = new RecordingSink();
+        start(2, sink);
+        assertThat(delivery.inboxDepths()).containsExactly(0L, 0L);
+
+        for (int user = 0; user < 16; user++) {
+            print("user-" + user, "Hello World!");
+        }
+        await(() -> sink.count() == 16 && delivery.pendingMessages() == 0);
+        assertThat(delivery.inboxDepths()).containsExactly(0L, 0L);
+        assertThat(delivery.inboxDepth(0)).isEqualTo(0);
+        assertThat(delivery.inboxDepth(1)).isEqualTo(0);
+    }
+
+    private void start(int shards, OutputSink sink) {
+        delivery = ShardedDelivery.withShards(shards);
+        ServerEnvironment.when(Tests.class)
+                .use(InMemoryStorageFactory.newInstance())
+                .use(delivery.delivery())
+                .use(InMemoryTransportFactory.newInstance());
+        HelloSettings settings = HelloSettings.newBuilder()
+                .setSink(sink)
+                .build();
+        context = HelloContext.newBuilder(settings)
+                              .build();
+    }
+
+    private void print(String username, String text) {
+        Print command = Print.newBuilder()
+                .setUsername(username)
+                .setText(text)
+                .vBuild();
+        context.commandBus()
+               .post(requests.command()
+                             .create(command), noOpObserver());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static ImmutableList<String> lines(int count) {
+        ImmutableList.Builder<String> lines = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            lines.add("line " + i);
+        }
+        return lines.build();
+    }
+
+    /**
+     * The sink which collects the printed lines of each user.
+     */
+    private static final class RecordingSink implements OutputSink {
+
+        private final Map<String, List<String>> lines = new ConcurrentHashMap<>();
+
+        @Override
+        public void println(String username, String text) {
+            List<String> printed = lines.computeIfAbsent(username, name -> new ArrayList<>());
+            synchronized (printed) {
+                printed.add(text);
+            }
+        }
+
+        private ImmutableList<String> lines(String username) {
+            List<String> printed = lines.getOrDefault(username, ImmutableList.of());
+            synchronized (printed) {
+                return ImmutableList.copyOf(printed);
+            }
+        }
+
+        private int count() {
+            int result = 0;
+            for (String username : lines.keySet()) {
+                result += lines(username).size();
+            }
+            return result;
+        }
+    }
+}
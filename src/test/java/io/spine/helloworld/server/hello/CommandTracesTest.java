@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.core.Command;
+import io.spine.helloworld.hello.command.Print;
+import io.spine.server.type.CommandEnvelope;
+import io.spine.testing.client.TestActorRequestFactory;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`CommandTraces` should")
+class CommandTracesTest {
+
+    private static final String STAGE_EVENT = "io.spine.helloworld.CommandStage";
+
+    private final TestActorRequestFactory requests =
+            new TestActorRequestFactory(CommandTracesTest.class);
+
+    @Test
+    @DisplayName("not queue the commands while not recording")
+    void notRecording() {
+        CommandTraces traces = new CommandTraces();
+        CommandEnvelope print = print("Hello");
+        assertThat(traces.filter(print).isPresent()).isFalse();
+        assertThat(traces.dispatched(consoleOf(print), print.message())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("tell the console the ID of the command it handles")
+    void commandId() {
+        CommandTraces traces = new CommandTraces();
+        CommandEnvelope first = print("Hello");
+        CommandEnvelope second = print("World");
+        try (Recording recording = new Recording()) {
+            recording.enable(STAGE_EVENT);
+            recording.start();
+            assertThat(traces.filter(first).isPresent()).isFalse();
+            assertThat(traces.filter(second).isPresent()).isFalse();
+            String console = consoleOf(first);
+            assertThat(traces.dispatched(console, first.message()))
+                    .isEqualTo(first.id().getUuid());
+            assertThat(traces.dispatched(console, second.message()))
+                    .isEqualTo(second.id().getUuid());
+        }
+    }
+
+    @Test
+    @DisplayName("not tell the ID of a command other than the handled one")
+    void otherCommand() {
+        CommandTraces traces = new CommandTraces();
+        CommandEnvelope queued = print("Hello");
+        CommandEnvelope handled = print("World");
+        try (Recording recording = new Recording()) {
+            recording.enable(STAGE_EVENT);
+            recording.start();
+            assertThat(traces.filter(queued).isPresent()).isFalse();
+            assertThat(traces.dispatched(consoleOf(queued), handled.message())).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("tell the IDs of the commands queued after one which never reaches the console")
+    void lostCommand() {
+        CommandTraces traces = new CommandTraces();
+        CommandEnvelope lost = print("Lost");
+        CommandEnvelope first = print("Hello");
+        CommandEnvelope second = print("World");
+        try (Recording recording = new Recording()) {
+            recording.enable(STAGE_EVENT);
+            recording.start();
+            assertThat(traces.filter(lost).isPresent()).isFalse();
+            assertThat(traces.filter(first).isPresent()).isFalse();
+            assertThat(traces.filter(second).isPresent()).isFalse();
+            String console = consoleOf(first);
+            assertThat(traces.dispatched(console, first.message()))
+                    .isEqualTo(first.id().getUuid());
+            assertThat(traces.dispatched(console, second.message()))
+                    .isEqualTo(second.id().getUuid());
+            assertThat(traces.dispatched(console, lost.message())).isEmpty();
+        }
+    }
+
+    private CommandEnvelope print(String text) {
+        Print print = Print.newBuilder()
+                .setUsername("jane")
+                .setText(text)
+                .vBuild();
+        Command command = requests.createCommand(print);
+        return CommandEnvelope.of(command);
+    }
+
+    private static String consoleOf(CommandEnvelope envelope) {
+        Print print = (Print) envelope.message();
+        return ConsoleKey.of(envelope.context()
+                                     .getActorContext()
+                                     .getTenantId(), print.getUsername());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.zip.Deflater;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`Compression` should")
+class CompressionTest {
+
+    private static final int PRINTED_LINES = 1_000;
+
+    @Test
+    @DisplayName("restore the compressed texts")
+    void roundTrip() {
+        Output state = printLines();
+        Output compressed = Compression.deflate(Deflater.BEST_SPEED, 256)
+                                       .compress(state);
+        assertThat(compressed.getTextCount()).isEqualTo(0);
+        assertThat(compressed.getTextBlockCount()).isGreaterThan(1);
+        assertThat(Compression.expanded(compressed)).isEqualTo(state);
+        assertThat(Scrollback.linesOf(compressed)).isEqualTo(Scrollback.linesOf(state));
+    }
+
+    @Test
+    @DisplayName("keep the state as is if turned off")
+    void none() {
+        Output state = printLines();
+        assertThat(Compression.none()
+                              .compress(state)).isSameInstanceAs(state);
+    }
+
+    @Test
+    @DisplayName("decompress only the blocks of the read lines")
+    void lazyDecompression() {
+        Output compressed = Compression.deflate(Deflater.BEST_SPEED, 256)
+                                       .compress(printLines());
+        int last = compressed.getTextBlockCount() - 1;
+        TextBlock corrupted = compressed.getTextBlock(last)
+                                        .toBuilder()
+                                        .setDeflated(ByteString.copyFromUtf8("corrupted"))
+                                        .build();
+        Output screen = compressed.toBuilder()
+                                  .setTextBlock(last, corrupted)
+                                  .build();
+        ImmutableList<String> lines = Scrollback.linesOf(screen, 10, 3);
+        assertThat(lines).containsExactly(line(10), line(11), line(12))
+                         .inOrder();
+        assertThrows(IllegalStateException.class, () -> Scrollback.linesOf(screen));
+    }
+
+    @Test
+    @DisplayName("keep repetitive texts in fewer bytes")
+    void reduceFootprint() {
+        Output state = printLines();
+        Output compressed = Compression.deflate()
+                                       .compress(state);
+        assertThat(compressed.getSerializedSize()).isLessThan(state.getSerializedSize() / 2);
+    }
+
+    private static Output printLines() {
+        Output.Builder screen = Output.newBuilder()
+                                      .setUsername("jane");
+        for (int i = 0; i < PRINTED_LINES; i++) {
+            Scrollback.unlimited()
+                      .append(screen, line(i));
+        }
+        return screen.build();
+    }
+
+    private static String line(int index) {
+        return format("[INFO] Handled the request #%d of the user `jane` in %d ms.",
+                      index, index % 17);
+    }
+}
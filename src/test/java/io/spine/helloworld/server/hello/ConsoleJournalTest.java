@@ -0,0 +1,180 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.helloworld.server.storage.RecordLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`ConsoleJournal` should")
+class ConsoleJournalTest {
+
+    private static final String USER = "john";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("restore a console from its snapshot and tail")
+    void restoreSnapshotAndTail() throws IOException {
+        Output expected;
+        try (RecordLog log = RecordLog.open(directory)) {
+            expected = printLines(newJournal(log), 5);
+        }
+        try (RecordLog log = RecordLog.open(directory)) {
+            Output restored = newJournal(log).restore(USER)
+                                             .get();
+            assertThat(restored).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("recover all the consoles replaying their tails")
+    void recoverAll() throws IOException {
+        try (RecordLog log = RecordLog.open(directory)) {
+            ConsoleJournal journal = newJournal(log);
+            printLines(journal, 5);
+            Output.Builder jane = Output.newBuilder()
+                                        .setUsername("jane");
+            Scrollback.unlimited()
+                      .append(jane, "hi");
+            journal.record("jane", jane, ImmutableList.of("hi"));
+        }
+        try (RecordLog log = RecordLog.open(directory)) {
+            ConsoleJournal journal = newJournal(log);
+            RecoveryReport report = journal.recoverAll(2);
+            assertThat(report.consoles()).isEqualTo(2);
+            assertThat(report.replayedLines()).isEqualTo(2);
+            assertThat(Scrollback.linesOf(journal.restore("jane").get())).containsExactly("hi");
+        }
+    }
+
+    @Test
+    @DisplayName("write the state of a console once per batch of commands")
+    void writeBehindBatch() throws IOException {
+        try (RecordLog log = RecordLog.open(directory)) {
+            ConsoleJournal journal = newJournal(log, WriteBehind.every(3, Duration.ofHours(1)));
+            Output.Builder state = Output.newBuilder()
+                                         .setUsername(USER);
+            print(journal, state, "one");
+            print(journal, state, "two");
+            assertThat(log.keys()).isEmpty();
+            print(journal, state, "three");
+            assertThat(log.keys()).isNotEmpty();
+            journal.close();
+        }
+        try (RecordLog log = RecordLog.open(directory)) {
+            Output restored = newJournal(log).restore(USER)
+                                             .get();
+            assertThat(Scrollback.linesOf(restored)).containsExactly("one", "two", "three");
+        }
+    }
+
+    @Test
+    @DisplayName("write the pending states when closed")
+    void flushOnClose() throws IOException {
+        Output expected;
+        try (RecordLog log = RecordLog.open(directory)) {
+            ConsoleJournal journal = newJournal(log, WriteBehind.every(100, Duration.ofHours(1)));
+            expected = printLines(journal, 5);
+            assertThat(log.keys()).isEmpty();
+            journal.close();
+        }
+        try (RecordLog log = RecordLog.open(directory)) {
+            Output restored = newJournal(log).restore(USER)
+                                             .get();
+            assertThat(restored).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("restore a console from its compressed snapshot")
+    void restoreCompressed() throws IOException {
+        Output expected;
+        try (RecordLog log = RecordLog.open(directory)) {
+            ConsoleJournal journal = newJournal(log,
+                                                WriteBehind.writeThrough(),
+                                                Compression.deflate());
+            expected = printLines(journal, 4);
+        }
+        try (RecordLog log = RecordLog.open(directory)) {
+            ConsoleJournal journal = newJournal(log);
+            RecoveryReport report = journal.recoverAll(1);
+            assertThat(report.replayedLines()).isEqualTo(0);
+            assertThat(journal.restore(USER)
+                              .get()).isEqualTo(expected);
+        }
+    }
+
+    private static void print(ConsoleJournal journal, Output.Builder state, String text) {
+        Scrollback.unlimited()
+                  .append(state, text);
+        journal.record(USER, state, ImmutableList.of(text));
+    }
+
+    /**
+     * Prints the given number of lines, so that a snapshot is taken after every two lines.
+     */
+    private static Output printLines(ConsoleJournal journal, int count) {
+        Output.Builder state = Output.newBuilder()
+                                     .setUsername(USER);
+        for (int i = 0; i < count; i++) {
+            String text = "line-" + i;
+            Scrollback.unlimited()
+                      .append(state, text);
+            journal.record(USER, state, ImmutableList.of(text));
+        }
+        return state.build();
+    }
+
+    private static ConsoleJournal newJournal(RecordLog log) {
+        return newJournal(log, WriteBehind.writeThrough());
+    }
+
+    private static ConsoleJournal newJournal(RecordLog log, WriteBehind writeBehind) {
+        return newJournal(log, writeBehind, Compression.none());
+    }
+
+    private static ConsoleJournal newJournal(RecordLog log,
+                                             WriteBehind writeBehind,
+                                             Compression compression) {
+        return new ConsoleJournal(log,
+                                  Snapshots.every(2, Duration.ofHours(1)),
+                                  writeBehind,
+                                  compression,
+                                  Scrollback.unlimited(),
+                                  ConsoleMetrics.DISABLED);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.metrics.Metrics;
+import io.spine.server.bus.BusFilter;
+import io.spine.server.type.CommandEnvelope;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`DuplicateCommandFilter` should")
+class DuplicateCommandFilterTest {
+
+    private final TestActorRequestFactory requests = new TestActorRequestFactory(getClass());
+
+    private Metrics metrics;
+    private DuplicateCommandFilter filter;
+
+    @BeforeEach
+    void createFilter() {
+        metrics = Metrics.enabled();
+        filter = new DuplicateCommandFilter(Deduplication.of(10, Duration.ofMinutes(1)), metrics);
+    }
+
+    @Test
+    @DisplayName("let a command pass once")
+    void passOnce() {
+        CommandEnvelope command = newCommand();
+
+        assertThat(filter.filter(command).isPresent()).isFalse();
+        Optional<Ack> duplicate = filter.filter(command);
+        assertThat(duplicate.isPresent()).isTrue();
+        assertThat(duplicate.get().getStatus().hasOk()).isTrue();
+    }
+
+    @Test
+    @DisplayName("let different commands pass")
+    void passDifferent() {
+        assertThat(filter.filter(newCommand()).isPresent()).isFalse();
+        assertThat(filter.filter(newCommand()).isPresent()).isFalse();
+    }
+
+    @Test
+    @DisplayName("report the percentage of duplicates")
+    void reportDuplicates() {
+        CommandEnvelope command = newCommand();
+        assertThat(filter.filter(command).isPresent()).isFalse();
+        assertThat(filter.filter(command).isPresent()).isTrue();
+        assertThat(filter.filter(newCommand()).isPresent()).isFalse();
+        assertThat(filter.filter(newCommand()).isPresent()).isFalse();
+
+        assertThat(filter.duplicatePercent()).isEqualTo(25);
+        assertThat(metrics.getCounters()).containsEntry("commands.duplicate", 1L);
+    }
+
+    @Test
+    @DisplayName("dispatch the retry of a command rejected by a later filter")
+    void dispatchRetry() {
+        Inboxes inboxes = new Inboxes(Admission.of(1, 10, Admission.Overflow.REJECT));
+        BusFilter<CommandEnvelope> admission =
+                filter.forgettingRejectedBy(new AdmissionFilter(inboxes, metrics));
+        CommandEnvelope first = newCommand();
+        CommandEnvelope second = newCommand();
+        assertThat(passes(first, admission)).isTrue();
+
+        assertThat(filter.filter(second).isPresent()).isFalse();
+        Optional<Ack> rejected = admission.filter(second);
+        assertThat(rejected.isPresent()).isTrue();
+        assertThat(rejected.get().getStatus().hasError()).isTrue();
+
+        String console = ConsoleKey.of(first.context()
+                                            .getActorContext()
+                                            .getTenantId(), "john");
+        assertThat(inboxes.take(console)).isFalse();
+        assertThat(passes(second, admission)).isTrue();
+    }
+
+    /**
+     * Tells if the command passes this filter followed by the given one, and so reaches
+     * the console.
+     */
+    private boolean passes(CommandEnvelope command, BusFilter<CommandEnvelope> next) {
+        return !filter.filter(command).isPresent() && !next.filter(command).isPresent();
+    }
+
+    private CommandEnvelope newCommand() {
+        Print print = Print.newBuilder()
+                .setUsername("john")
+                .setText("Hello")
+                .vBuild();
+        Command command = requests.createCommand(print);
+        return CommandEnvelope.of(command);
+    }
+}
@@ -26,8 +26,16 @@
 
 package io.spine.helloworld.server.hello;
 
+import com.google.common.base.Utf8;
 import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.hello.command.PrintAll;
+import io.spine.helloworld.hello.command.PrintChunk;
+import io.spine.helloworld.hello.event.PrintDropped;
 import io.spine.helloworld.hello.event.Printed;
+import io.spine.helloworld.hello.event.PrintedAll;
+import io.spine.helloworld.hello.query.LineRef;
+import io.spine.helloworld.hello.query.TokenIndex;
+import io.spine.helloworld.hello.query.UserPrints;
 import io.spine.server.BoundedContextBuilder;
 import io.spine.testing.server.blackbox.ContextAwareTest;
 import org.junit.jupiter.api.BeforeEach;
@@ -73,9 +81,209 @@ class HelloContextTest extends ContextAwareTest {
         void entity() {
             Output expected = Output.newBuilder()
                     .setUsername(command.getUsername())
-                    .addLines(command.getText())
+                    .addText(command.getText())
+                    .addTextUses(1)
+                    .addLine(0)
+                    .setSize(1)
+                    .setSizeInBytes(Utf8.encodedLength(command.getText()))
                     .vBuild();
             context().assertState(command.getUsername(), expected);
         }
     }
+
+    @Nested
+    @DisplayName("handle the `PrintAll` command")
+    class PrintAllCommand {
+
+        private PrintAll command;
+
+        @BeforeEach
+        void sendCommand() {
+            command = PrintAll.newBuilder()
+                    .setUsername(randomString())
+                    .addText(randomString())
+                    .addText(randomString())
+                    .vBuild();
+            context().receivesCommand(command);
+        }
+
+        @Test @DisplayName("emitting one `PrintedAll` event")
+        void event() {
+            PrintedAll expected = PrintedAll.newBuilder()
+                    .setUsername(command.getUsername())
+                    .addAllText(command.getTextList())
+                    .build();
+            context().assertEvents()
+                     .hasSize(1);
+            context().assertEvent(expected);
+        }
+
+        @Test @DisplayName("adding all the lines to the `Console` entity")
+        void entity() {
+            long bytes = command.getTextList()
+                                .stream()
+                                .mapToLong(Utf8::encodedLength)
+                                .sum();
+            Output expected = Output.newBuilder()
+                    .setUsername(command.getUsername())
+                    .addAllText(command.getTextList())
+                    .addTextUses(1)
+                    .addTextUses(1)
+                    .addLine(0)
+                    .addLine(1)
+                    .setSize(command.getTextCount())
+                    .setSizeInBytes(bytes)
+                    .vBuild();
+            context().assertState(command.getUsername(), expected);
+        }
+    }
+
+    @Nested
+    @DisplayName("handle the `PrintChunk` commands")
+    class PrintChunkCommands {
+
+        private static final String STREAM = "large-text";
+
+        private String username;
+
+        @BeforeEach
+        void createUser() {
+            username = randomString();
+        }
+
+        @Test @DisplayName("printing each chunk of a stream as a line")
+        void stream() {
+            context().receivesCommand(chunk(0, "Hello, ", false));
+            context().receivesCommand(chunk(1, "World!", true));
+
+            context().assertEvents()
+                     .hasSize(2);
+            Output expected = Output.newBuilder()
+                    .setUsername(username)
+                    .addText("Hello, ")
+                    .addText("World!")
+                    .addTextUses(1)
+                    .addTextUses(1)
+                    .addLine(0)
+                    .addLine(1)
+                    .setSize(2)
+                    .setSizeInBytes(13)
+                    .vBuild();
+            context().assertState(username, expected);
+        }
+
+        @Test @DisplayName("keeping the index of the next chunk of an unfinished stream")
+        void unfinished() {
+            context().receivesCommand(chunk(0, "Hello, ", false));
+
+            Output expected = Output.newBuilder()
+                    .setUsername(username)
+                    .addText("Hello, ")
+                    .addTextUses(1)
+                    .addLine(0)
+                    .setSize(1)
+                    .setSizeInBytes(7)
+                    .putOpenStream(STREAM, OpenStream.newBuilder()
+                                                     .setNextChunk(1)
+                                                     .build())
+                    .vBuild();
+            context().assertState(username, expected);
+        }
+
+        @Test @DisplayName("dropping a chunk which does not follow the previous one")
+        void outOfOrder() {
+            context().receivesCommand(chunk(1, "World!", true));
+
+            PrintDropped expected = PrintDropped.newBuilder()
+                    .setUsername(username)
+                    .setLineCount(1)
+                    .build();
+            context().assertEvents()
+                     .hasSize(1);
+            context().assertEvent(expected);
+        }
+
+        @Test @DisplayName("forgetting the oldest unfinished stream when too many are open")
+        void tooManyStreams() {
+            for (int i = 0; i <= Console.MAX_OPEN_STREAMS; i++) {
+                context().receivesCommand(chunk("stream-" + i, 0, "Hello, ", false));
+            }
+            context().receivesCommand(chunk("stream-0", 1, "World!", true));
+
+            PrintDropped expected = PrintDropped.newBuilder()
+                    .setUsername(username)
+                    .setLineCount(1)
+                    .build();
+            context().assertEvents()
+                     .hasSize(Console.MAX_OPEN_STREAMS + 2);
+            context().assertEvent(expected);
+        }
+
+        private PrintChunk chunk(int index, String text, boolean last) {
+            return chunk(STREAM, index, text, last);
+        }
+
+        private PrintChunk chunk(String stream, int index, String text, boolean last) {
+            return PrintChunk.newBuilder()
+                    .setUsername(username)
+                    .setStreamId(stream)
+                    .setIndex(index)
+                    .setText(text)
+                    .setLast(last)
+                    .vBuild();
+        }
+    }
+
+    @Nested
+    @DisplayName("index the printed text")
+    class Index {
+
+        private String username;
+
+        @BeforeEach
+        void sendCommands() {
+            username = randomString();
+            context().receivesCommand(Print.newBuilder()
+                                           .setUsername(username)
+                                           .setText("Hello, World!")
+                                           .vBuild());
+            context().receivesCommand(PrintAll.newBuilder()
+                                              .setUsername(username)
+                                              .addText("Hello again")
+                                              .addText("Goodbye")
+                                              .vBuild());
+        }
+
+        @Test @DisplayName("counting and keeping the recent lines of a user")
+        void userPrints() {
+            UserPrints expected = UserPrints.newBuilder()
+                    .setUsername(username)
+                    .setLineCount(3)
+                    .setCommandCount(2)
+                    .setByteCount(31)
+                    .addRecentLine("Hello, World!")
+                    .addRecentLine("Hello again")
+                    .addRecentLine("Goodbye")
+                    .vBuild();
+            context().assertState(username, expected);
+        }
+
+        @Test @DisplayName("referring to the lines with a word")
+        void tokenIndex() {
+            TokenIndex expected = TokenIndex.newBuilder()
+                    .setToken("hello")
+                    .putLinesByUser(username, 2)
+                    .addRef(lineRef(0))
+                    .addRef(lineRef(1))
+                    .vBuild();
+            context().assertState("hello", expected);
+        }
+
+        private LineRef lineRef(long line) {
+            return LineRef.newBuilder()
+                    .setUsername(username)
+                    .setLine(line)
+                    .build();
+        }
+    }
 }
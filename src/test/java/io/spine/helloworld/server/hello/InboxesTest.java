@@ -0,0 +1,150 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.helloworld.server.hello.Admission.Overflow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`Inboxes` should")
+class InboxesTest {
+
+    @Test
+    @DisplayName("admit commands within the limit of a console")
+    void limitConsole() throws InterruptedException {
+        Inboxes inboxes = new Inboxes(Admission.of(2, 10, Overflow.REJECT));
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.admit("jane")).isFalse();
+        assertThat(inboxes.admit("john")).isTrue();
+        assertThat(inboxes.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("admit commands within the limit of all the consoles")
+    void limitTotal() throws InterruptedException {
+        Inboxes inboxes = new Inboxes(Admission.of(2, 3, Overflow.REJECT));
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.admit("john")).isTrue();
+        assertThat(inboxes.admit("john")).isFalse();
+    }
+
+    @Test
+    @DisplayName("make room for a command after a console takes one")
+    void makeRoom() throws InterruptedException {
+        Inboxes inboxes = new Inboxes(Admission.of(1, 10, Overflow.REJECT));
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.take("jane")).isFalse();
+        assertThat(inboxes.admit("jane")).isTrue();
+    }
+
+    @Test
+    @DisplayName("drop the oldest commands of an overflowing console")
+    void dropOldest() throws InterruptedException {
+        Inboxes inboxes = new Inboxes(Admission.of(2, 10, Overflow.DROP_OLDEST));
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.size()).isEqualTo(3);
+
+        assertThat(inboxes.take("jane")).isTrue();
+        assertThat(inboxes.take("jane")).isFalse();
+        assertThat(inboxes.take("jane")).isFalse();
+        assertThat(inboxes.size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("reject commands when a console has too many dropped ones")
+    void limitDropped() throws InterruptedException {
+        Inboxes inboxes = new Inboxes(Admission.of(1, 10, Overflow.DROP_OLDEST));
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.admit("jane")).isFalse();
+    }
+
+    @Test
+    @DisplayName("count the dropped commands against the limit of all the consoles")
+    void limitTotalDropped() throws InterruptedException {
+        Inboxes inboxes = new Inboxes(Admission.of(2, 3, Overflow.DROP_OLDEST));
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.admit("jane")).isFalse();
+        assertThat(inboxes.admit("john")).isFalse();
+        assertThat(inboxes.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("block the poster until a console takes a command")
+    void block() throws InterruptedException {
+        Admission policy = Admission.of(1, 10, Overflow.BLOCK)
+                                    .withMaxWait(Duration.ofSeconds(10));
+        Inboxes inboxes = new Inboxes(policy);
+        assertThat(inboxes.admit("jane")).isTrue();
+        CompletableFuture<Boolean> blocked = CompletableFuture.supplyAsync(() -> admit(inboxes));
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertThat(blocked.isDone()).isFalse();
+
+        assertThat(inboxes.take("jane")).isFalse();
+        assertThat(blocked.join()).isTrue();
+    }
+
+    @Test
+    @DisplayName("reject the command of a poster blocked for too long")
+    void blockTimeout() throws InterruptedException {
+        Admission policy = Admission.of(1, 10, Overflow.BLOCK)
+                                    .withMaxWait(Duration.ofMillis(10));
+        Inboxes inboxes = new Inboxes(policy);
+        assertThat(inboxes.admit("jane")).isTrue();
+        assertThat(inboxes.admit("jane")).isFalse();
+    }
+
+    @Test
+    @DisplayName("admit all the commands if not limited")
+    void unlimited() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            assertThat(Inboxes.UNLIMITED.admit("jane")).isTrue();
+        }
+        assertThat(Inboxes.UNLIMITED.take("jane")).isFalse();
+    }
+
+    private static boolean admit(Inboxes inboxes) {
+        try {
+            return inboxes.admit("jane");
+        } catch (InterruptedException e) {
+            throw new CompletionException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * Compares the size of the stored state of a {@link Console} in which every line keeps its
+ * text with the one in which the distinct texts are kept once.
+ *
+ * <p>The states of entities are kept serialized by the storage of the server, so the size of
+ * the serialized state is the memory the storage spends on the lines of a console.
+ *
+ * <p>The sizes themselves are reported by the {@code OutputFootprintBenchmark}.
+ */
+@DisplayName("`Console` state should")
+class OutputFootprintTest {
+
+    private static final int PRINTED_LINES = 10_000;
+
+    /** Every tenth line is unique, while the rest repeat the banners and status lines. */
+    private static final String[] REPEATED = {
+            "==================== Welcome to the Hello Context ====================",
+            "Status: all systems operational, 0 warnings, 0 errors.",
+            "Loading the configuration from the default location...",
+            "Connected to the server.",
+            "Waiting for the next command."
+    };
+
+    @Test
+    @DisplayName("keep repeated lines in fewer bytes than their texts")
+    void deduplicateLines() {
+        Output.Builder screen = Output.newBuilder()
+                                      .setUsername("jane");
+        Scrollback scrollback = Scrollback.defaultLimits();
+        for (int i = 0; i < PRINTED_LINES; i++) {
+            String line = i % 10 == 0
+                          ? "Handled the request #" + i + '.'
+                          : REPEATED[i % REPEATED.length];
+            scrollback.append(screen, line);
+        }
+        Output deduplicated = screen.build();
+        Output legacy = Output.newBuilder()
+                .setUsername(deduplicated.getUsername())
+                .addAllLegacyLines(Scrollback.linesOf(deduplicated))
+                .setSize(deduplicated.getSize())
+                .setSizeInBytes(deduplicated.getSizeInBytes())
+                .setEvicted(deduplicated.getEvicted())
+                .build();
+
+        assertThat(bytesPerLine(deduplicated)).isLessThan(bytesPerLine(legacy) / 2);
+    }
+
+    private static double bytesPerLine(Output state) {
+        return (double) state.getSerializedSize() / state.getSize();
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.spine.core.EventContext;
+import io.spine.helloworld.hello.event.Printed;
+import io.spine.helloworld.hello.event.PrintedChunk;
+import io.spine.helloworld.hello.observation.PrintedFilter;
+import io.spine.helloworld.hello.observation.PrintedUpdate;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`PrintedObservers` should")
+class PrintedObserversTest {
+
+    private PrintedObservers observers;
+
+    @BeforeEach
+    void createObservers() {
+        observers = new PrintedObservers();
+    }
+
+    @Test
+    @DisplayName("send only the events of the observed user")
+    void filterByUsername() {
+        Recorder john = observe("john");
+        Recorder jane = observe("jane");
+
+        observers.on(printed("john", "Hi"), EventContext.getDefaultInstance());
+
+        assertThat(john.texts()).containsExactly("Hi");
+        assertThat(jane.texts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("send the chunks of a streamed text one by one")
+    void sendChunks() {
+        Recorder john = observe("john");
+
+        observers.on(chunk("john", 0, "Hello, "), EventContext.getDefaultInstance());
+        observers.on(chunk("john", 1, "World!"), EventContext.getDefaultInstance());
+
+        assertThat(john.chunks()).containsExactly("Hello, ", "World!").inOrder();
+    }
+
+    @Test
+    @DisplayName("tell the observer that it is registered")
+    void confirmRegistration() {
+        Recorder john = observe("john");
+
+        assertThat(john.updates).hasSize(1);
+        assertThat(john.updates.get(0).getRegistered()).isTrue();
+        assertThat(observers.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("reject the empty filter")
+    void rejectEmptyFilter() {
+        Recorder recorder = new Recorder();
+        observers.invoke(PrintedFilter.getDefaultInstance(), recorder);
+
+        assertThat(recorder.error).isNotNull();
+        assertThat(observers.size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("send the updates when the call of the observer becomes ready")
+    void awaitReady() {
+        SlowCall john = new SlowCall();
+        observers.invoke(filter("john"), john);
+        observers.on(printed("john", "Hi"), EventContext.getDefaultInstance());
+        assertThat(john.recorder.updates).isEmpty();
+
+        john.becomeReady();
+
+        assertThat(john.recorder.updates).hasSize(2);
+        assertThat(john.recorder.texts()).containsExactly("Hi");
+    }
+
+    @Test
+    @DisplayName("remove the observer which falls behind the updates")
+    void removeSlow() {
+        SlowCall john = new SlowCall();
+        observers.invoke(filter("john"), john);
+        for (int i = 0; i < PrintedObservers.MAX_PENDING_UPDATES; i++) {
+            observers.on(printed("john", "Hi"), EventContext.getDefaultInstance());
+        }
+
+        assertThat(john.recorder.error).isNotNull();
+        assertThat(Status.fromThrowable(john.recorder.error)
+                         .getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThat(observers.size()).isEqualTo(0);
+    }
+
+    private static PrintedFilter filter(String username) {
+        return PrintedFilter.newBuilder()
+                .setUsername(username)
+                .build();
+    }
+
+    private Recorder observe(String username) {
+        Recorder recorder = new Recorder();
+        observers.invoke(filter(username), recorder);
+        return recorder;
+    }
+
+    private static Printed printed(String username, String text) {
+        return Printed.newBuilder()
+                .setUsername(username)
+                .setText(text)
+                .build();
+    }
+
+    private static PrintedChunk chunk(String username, int index, String text) {
+        return PrintedChunk.newBuilder()
+                .setUsername(username)
+                .setStreamId("greeting")
+                .setIndex(index)
+                .setText(text)
+                .build();
+    }
+
+    /**
+     * Records the updates sent to an observer.
+     */
+    private static final class Recorder implements StreamObserver<PrintedUpdate> {
+
+        private final List<PrintedUpdate> updates = new ArrayList<>();
+        private @Nullable Throwable error;
+
+        @Override
+        public void onNext(PrintedUpdate update) {
+            updates.add(update);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to record.
+        }
+
+        private List<String> texts() {
+            List<String> result = new ArrayList<>();
+            for (PrintedUpdate update : updates) {
+                if (update.hasEvent()) {
+                    result.add(update.getEvent()
+                                     .getMessage()
+                                     .getText());
+                }
+            }
+            return result;
+        }
+
+        private List<String> chunks() {
+            List<String> result = new ArrayList<>();
+            for (PrintedUpdate update : updates) {
+                if (update.hasChunk()) {
+                    result.add(update.getChunk()
+                                     .getMessage()
+                                     .getText());
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The call which is not ready until told so, and records the updates sent to it.
+     */
+    private static final class SlowCall extends ServerCallStreamObserver<PrintedUpdate> {
+
+        private final Recorder recorder = new Recorder();
+        private boolean ready;
+        private @Nullable Runnable onReady;
+
+        private void becomeReady() {
+            ready = true;
+            if (onReady != null) {
+                onReady.run();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+            this.onReady = onReadyHandler;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setOnCancelHandler(Runnable onCancelHandler) {
+            // The call is never cancelled.
+        }
+
+        @Override
+        public void setCompression(String compression) {
+            // The updates are not compressed.
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+            // The call has no inbound messages.
+        }
+
+        @Override
+        public void request(int count) {
+            // The call has no inbound messages.
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+            // The updates are not compressed.
+        }
+
+        @Override
+        public void onNext(PrintedUpdate update) {
+            recorder.onNext(update);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            recorder.onError(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            recorder.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.helloworld.server.hello.Scrollback.linesOf;
+
+@DisplayName("`Scrollback` should")
+class ScrollbackTest {
+
+    @Test
+    @DisplayName("keep all lines if not limited")
+    void unlimited() {
+        Output.Builder screen = print(Scrollback.unlimited(), "a", "b", "c");
+        assertThat(linesOf(screen)).containsExactly("a", "b", "c").inOrder();
+        assertThat(screen.getEvicted()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("evict the oldest lines exceeding the number of lines")
+    void limitLines() {
+        Output.Builder screen = print(Scrollback.ofLines(2), "a", "b", "c", "d", "e");
+        assertThat(linesOf(screen)).containsExactly("d", "e").inOrder();
+        assertThat(screen.getLineCount()).isEqualTo(2);
+        assertThat(screen.getEvicted()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("evict the oldest lines exceeding the number of bytes")
+    void limitBytes() {
+        Output.Builder screen = print(Scrollback.ofBytes(5), "aa", "bb", "c", "dddd", "e");
+        assertThat(linesOf(screen)).containsExactly("dddd", "e").inOrder();
+        assertThat(screen.getSizeInBytes()).isEqualTo(5);
+        assertThat(screen.getEvicted()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("keep a line longer than the limit in bytes alone")
+    void longLine() {
+        Output.Builder screen = print(Scrollback.ofBytes(3), "a", "bcdef");
+        assertThat(linesOf(screen)).containsExactly("bcdef");
+    }
+
+    @Test
+    @DisplayName("keep the order of lines when the buffer grows after eviction")
+    void growAfterEviction() {
+        Output.Builder screen = print(Scrollback.ofBytes(4), "aaa", "b", "cc", "d", "e");
+        assertThat(linesOf(screen)).containsExactly("cc", "d", "e").inOrder();
+    }
+
+    @Test
+    @DisplayName("keep a text printed many times once")
+    void distinctTexts() {
+        Output.Builder screen = print(Scrollback.unlimited(), "a", "b", "a", "a", "b");
+        assertThat(linesOf(screen)).containsExactly("a", "b", "a", "a", "b").inOrder();
+        assertThat(screen.getTextList()).containsExactly("a", "b").inOrder();
+        assertThat(screen.getTextUsesList()).containsExactly(3, 2).inOrder();
+    }
+
+    @Test
+    @DisplayName("reuse the entries of texts no longer on the screen")
+    void reuseTexts() {
+        Output.Builder screen = print(Scrollback.ofLines(2), "a", "b", "c", "c", "d");
+        assertThat(linesOf(screen)).containsExactly("c", "d").inOrder();
+        assertThat(screen.getTextList()).containsExactly("c", "d").inOrder();
+    }
+
+    @Test
+    @DisplayName("check the indexed texts against the screen")
+    void staleIndex() {
+        Scrollback scrollback = Scrollback.unlimited();
+        scrollback.append(Output.newBuilder()
+                                .setUsername("stale"), "x");
+        Output.Builder screen = Output.newBuilder()
+                                      .setUsername("stale")
+                                      .addText("y")
+                                      .addTextUses(1)
+                                      .addLine(0)
+                                      .setSize(1)
+                                      .setSizeInBytes(1);
+        scrollback.append(screen, "x");
+        scrollback.append(screen, "y");
+        assertThat(linesOf(screen)).containsExactly("y", "x", "y").inOrder();
+    }
+
+    @Test
+    @DisplayName("remove the unused texts unknown to the index")
+    void compactTexts() {
+        Scrollback scrollback = Scrollback.unlimited();
+        scrollback.append(Output.newBuilder()
+                                .setUsername("compacted"), "x");
+        Output.Builder screen = Output.newBuilder()
+                                      .setUsername("compacted");
+        for (int i = 0; i < 40; i++) {
+            screen.addText("")
+                  .addTextUses(0);
+        }
+        scrollback.append(screen, "a");
+        assertThat(linesOf(screen)).containsExactly("a");
+        assertThat(screen.getTextList()).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("append several lines at once in the same way as one by one")
+    void appendAll() {
+        Scrollback scrollback = Scrollback.ofBytes(5);
+        ImmutableList<String> lines = ImmutableList.of("aa", "b", "aa", "cc", "b", "b");
+        Output.Builder screen = Output.newBuilder();
+        scrollback.appendAll(screen, lines);
+        Output.Builder expected = print(scrollback, lines.toArray(new String[0]));
+        assertThat(linesOf(screen)).isEqualTo(linesOf(expected));
+        assertThat(screen.getSizeInBytes()).isEqualTo(expected.getSizeInBytes());
+        assertThat(screen.getEvicted()).isEqualTo(expected.getEvicted());
+    }
+
+    @Test
+    @DisplayName("convert the lines stored in the legacy format")
+    void upgrade() {
+        Output.Builder screen = Output.newBuilder()
+                .addLegacyLines("c")
+                .addLegacyLines("a")
+                .addLegacyLines("b")
+                .setHead(1)
+                .setSize(3)
+                .setSizeInBytes(3)
+                .setEvicted(4);
+        Scrollback.upgrade(screen);
+        assertThat(screen.getLegacyLinesCount()).isEqualTo(0);
+        assertThat(linesOf(screen)).containsExactly("a", "b", "c").inOrder();
+        assertThat(screen.getSizeInBytes()).isEqualTo(3);
+        assertThat(screen.getEvicted()).isEqualTo(4);
+    }
+
+    private static Output.Builder print(Scrollback scrollback, String... lines) {
+        Output.Builder screen = Output.newBuilder();
+        for (String line : lines) {
+            scrollback.append(screen, line);
+        }
+        return screen;
+    }
+}
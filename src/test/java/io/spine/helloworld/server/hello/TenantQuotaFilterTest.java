@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.hello;
+
+import io.spine.base.CommandMessage;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.TenantId;
+import io.spine.helloworld.hello.ErrorTypes;
+import io.spine.helloworld.hello.command.Print;
+import io.spine.helloworld.hello.command.PrintAll;
+import io.spine.helloworld.metrics.Metrics;
+import io.spine.server.type.CommandEnvelope;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`TenantQuotaFilter` should")
+class TenantQuotaFilterTest {
+
+    private static final TenantId ACME = tenant("acme");
+    private static final TenantId GLOBEX = tenant("globex");
+
+    @Test
+    @DisplayName("reject the commands of a tenant exceeding its quota")
+    void rejectExceeding() {
+        TenantQuotaFilter filter = new TenantQuotaFilter(Quotas.perTenant(1), Metrics.disabled());
+        assertThat(filter.filter(print(ACME)).isPresent()).isFalse();
+        Optional<Ack> rejected = filter.filter(print(ACME));
+        assertThat(rejected.isPresent()).isTrue();
+        assertThat(rejected.get().getStatus().getError().getType())
+                .isEqualTo(ErrorTypes.QUOTA_EXCEEDED);
+    }
+
+    @Test
+    @DisplayName("keep the quotas of the tenants apart")
+    void separateTenants() {
+        TenantQuotaFilter filter = new TenantQuotaFilter(Quotas.perTenant(1), Metrics.disabled());
+        assertThat(filter.filter(print(ACME)).isPresent()).isFalse();
+        assertThat(filter.filter(print(GLOBEX)).isPresent()).isFalse();
+    }
+
+    @Test
+    @DisplayName("apply the quota of a particular tenant")
+    void tenantQuota() {
+        Quotas quotas = Quotas.perTenant(1)
+                              .withTenant(ACME, 1_000_000);
+        TenantQuotaFilter filter = new TenantQuotaFilter(quotas, Metrics.disabled());
+        for (int i = 0; i < 10; i++) {
+            assertThat(filter.filter(print(ACME)).isPresent()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("count all the lines of a batch")
+    void countBatch() {
+        TenantQuotaFilter filter = new TenantQuotaFilter(Quotas.perTenant(1), Metrics.disabled());
+        PrintAll batch = PrintAll.newBuilder()
+                .setUsername("jane")
+                .addText("one")
+                .addText("two")
+                .vBuild();
+        assertThat(filter.filter(command(ACME, batch)).isPresent()).isFalse();
+        assertThat(filter.filter(print(ACME)).isPresent()).isTrue();
+    }
+
+    private static CommandEnvelope print(TenantId tenant) {
+        Print print = Print.newBuilder()
+                .setUsername("jane")
+                .setText("Hello")
+                .vBuild();
+        return command(tenant, print);
+    }
+
+    private static CommandEnvelope command(TenantId tenant, CommandMessage message) {
+        TestActorRequestFactory requests =
+                new TestActorRequestFactory(TenantQuotaFilterTest.class, tenant);
+        Command command = requests.createCommand(message);
+        return CommandEnvelope.of(command);
+    }
+
+    private static TenantId tenant(String value) {
+        return TenantId.newBuilder()
+                .setValue(value)
+                .build();
+    }
+}
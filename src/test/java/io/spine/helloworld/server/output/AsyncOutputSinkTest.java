@@ -0,0 +1,173 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.output;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import io.spine.helloworld.metrics.Counter;
+import io.spine.helloworld.metrics.Metrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static io.spine.helloworld.server.output.AsyncOutputSink.MAX_QUEUED_LINES;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`AsyncOutputSink` should")
+@SuppressWarnings("UnstableApiUsage") // `awaitUninterruptibly()` is @Beta.
+class AsyncOutputSinkTest {
+
+    private static final String USER = "jane";
+
+    @Test
+    @DisplayName("write the lines in the order they are printed")
+    void order() {
+        RecordingChannel channel = new RecordingChannel(false);
+        AsyncOutputSink sink = AsyncOutputSink.toChannel(channel, Metrics.disabled());
+        print(sink, 0, 1_000);
+        sink.close();
+        assertThat(channel.lines()).containsExactlyElementsIn(expected(1_000))
+                                   .inOrder();
+    }
+
+    @Test
+    @DisplayName("write all the printed lines when closed and reject the new ones")
+    void writeOnClose() {
+        RecordingChannel channel = new RecordingChannel(false);
+        AsyncOutputSink sink = AsyncOutputSink.toChannel(channel, Metrics.disabled());
+        print(sink, 0, 3);
+        sink.close();
+        assertThat(channel.lines()).containsExactlyElementsIn(expected(3))
+                                   .inOrder();
+        assertThrows(IllegalStateException.class, () -> sink.println(USER, "late"));
+    }
+
+    @Test
+    @DisplayName("block printing while the queue is full")
+    void blockWhenFull() throws InterruptedException {
+        RecordingChannel channel = new RecordingChannel(true);
+        try (Metrics metrics = Metrics.enabled()) {
+            AsyncOutputSink sink = AsyncOutputSink.toChannel(channel, metrics);
+            print(sink, 0, 1);
+            channel.awaitWrite();
+            print(sink, 1, MAX_QUEUED_LINES);
+            Counter blocked = metrics.counter("output.blocked");
+            assertThat(blocked.value()).isEqualTo(0);
+
+            Thread printer = new Thread(() -> print(sink, MAX_QUEUED_LINES + 1, 1));
+            printer.start();
+            while (blocked.value() == 0) {
+                Thread.sleep(1);
+            }
+            assertThat(printer.isAlive()).isTrue();
+
+            channel.release();
+            printer.join();
+            sink.close();
+        }
+        assertThat(channel.lines()).containsExactlyElementsIn(expected(MAX_QUEUED_LINES + 2))
+                                   .inOrder();
+    }
+
+    private static void print(AsyncOutputSink sink, int first, int count) {
+        for (int i = first; i < first + count; i++) {
+            sink.println(USER, "line " + i);
+        }
+    }
+
+    private static ImmutableList<String> expected(int count) {
+        ImmutableList.Builder<String> lines = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            lines.add('[' + USER + "] line " + i);
+        }
+        return lines.build();
+    }
+
+    /**
+     * The channel which collects the written bytes and, if held, blocks the writes until
+     * it is released.
+     */
+    private static final class RecordingChannel implements WritableByteChannel {
+
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch released;
+
+        private RecordingChannel(boolean held) {
+            this.released = new CountDownLatch(held ? 1 : 0);
+        }
+
+        private void awaitWrite() {
+            awaitUninterruptibly(writing);
+        }
+
+        private void release() {
+            released.countDown();
+        }
+
+        private List<String> lines() {
+            String written;
+            synchronized (output) {
+                written = new String(output.toByteArray(), UTF_8);
+            }
+            return Splitter.on(System.lineSeparator())
+                           .omitEmptyStrings()
+                           .splitToList(written);
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            writing.countDown();
+            awaitUninterruptibly(released);
+            int count = source.remaining();
+            synchronized (output) {
+                while (source.hasRemaining()) {
+                    output.write(source.get());
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // The written bytes stay available.
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.output;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@DisplayName("`LineBuffer` should")
+class LineBufferTest {
+
+    private static final String SEPARATOR = System.lineSeparator();
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    @DisplayName("encode a line with the username")
+    void ascii() {
+        assertEncoded(64, "john", "Hello World!");
+    }
+
+    @Test
+    @DisplayName("encode multibyte characters and surrogate pairs")
+    void multibyte() {
+        assertEncoded(64, "Олена", "Привіт, 世界! 😀");
+    }
+
+    @Test
+    @DisplayName("replace unpaired surrogates as `String.getBytes()` does")
+    void unpairedSurrogates() {
+        assertEncoded(64, "user", "a\uD83Db\uDE00c");
+    }
+
+    @Test
+    @DisplayName("drain lines longer than the buffer in chunks")
+    void longLine() {
+        assertEncoded(8, "Олена", "Привіт, 世界! 😀 Hello World!");
+    }
+
+    private void assertEncoded(int bufferSize, String username, String text) {
+        LineBuffer buffer = LineBuffer.allocate(bufferSize, this::write);
+        buffer.putLine(username, text);
+        buffer.flush();
+        byte[] expected = ('[' + username + "] " + text + SEPARATOR).getBytes(UTF_8);
+        assertThat(output.toByteArray()).isEqualTo(expected);
+    }
+
+    private void write(ByteBuffer bytes) {
+        while (bytes.hasRemaining()) {
+            output.write(bytes.get());
+        }
+    }
+}
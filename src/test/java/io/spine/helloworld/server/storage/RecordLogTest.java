@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@DisplayName("`RecordLog` should")
+class RecordLogTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("read the latest value of a key")
+    void readLatest() throws IOException {
+        try (RecordLog log = RecordLog.open(directory, SEGMENT_SIZE)) {
+            assertThat(log.read("john").isPresent()).isFalse();
+            log.write("john", bytes("first"));
+            log.write("jane", bytes("other"));
+            log.write("john", bytes("second"));
+            assertThat(string(log.read("john").get())).isEqualTo("second");
+            assertThat(string(log.read("jane").get())).isEqualTo("other");
+        }
+    }
+
+    @Test
+    @DisplayName("restore the values when reopened")
+    void reopen() throws IOException {
+        try (RecordLog log = RecordLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 20; i++) {
+                log.write("john", bytes("value-" + i));
+            }
+        }
+        try (RecordLog log = RecordLog.open(directory, SEGMENT_SIZE)) {
+            assertThat(string(log.read("john").get())).isEqualTo("value-19");
+        }
+    }
+
+    @Test
+    @DisplayName("delete the segments with outdated records when compacted")
+    void compact() throws IOException {
+        try (RecordLog log = RecordLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 100; i++) {
+                log.write("john", bytes("value-" + i));
+                log.write("jane", bytes("value-" + i));
+            }
+            log.compact();
+            assertThat(log.segmentCount()).isAtMost(2);
+            assertThat(string(log.read("john").get())).isEqualTo("value-99");
+        }
+        try (RecordLog log = RecordLog.open(directory, SEGMENT_SIZE)) {
+            assertThat(string(log.read("jane").get())).isEqualTo("value-99");
+        }
+    }
+
+    @Test
+    @DisplayName("force the sealed segments when flushed")
+    void flushSealed() throws IOException {
+        try (RecordLog log = RecordLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 100; i++) {
+                log.write("key-" + i, bytes("value-" + i));
+            }
+            log.flush();
+            assertThat(log.unforcedSegments()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    @DisplayName("force the moved records before deleting the compacted segments")
+    void forceMoved() throws IOException {
+        try (RecordLog log = RecordLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 100; i++) {
+                log.write("john", bytes("value-" + i));
+                log.write("jane", bytes("value-" + i));
+            }
+            log.flush();
+            log.compact();
+            assertThat(log.unforcedSegments()).isEqualTo(0);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(UTF_8);
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, UTF_8);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.helloworld.server.storage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.util.Timestamps;
+import io.spine.base.Identifier;
+import io.spine.core.Event;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.helloworld.hello.event.Printed;
+import io.spine.server.event.EventStreamQuery;
+import io.spine.testing.server.TestEventFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static java.util.stream.Collectors.toList;
+
+@DisplayName("`RetainedEventStore` should")
+class RetainedEventStoreTest {
+
+    private static final long NOW = Duration.ofDays(1)
+                                            .toMillis();
+
+    private final RetainedEventStore store = new RetainedEventStore(false);
+
+    @Test
+    @DisplayName("drop the events older than the maximum age")
+    void dropExpired() {
+        store.appendAll(ImmutableList.of(printed("jane", "old", NOW - 5_000),
+                                         printed("jane", "new", NOW - 1_000)));
+        store.compact(Retention.forever()
+                               .withMaxAge(Duration.ofSeconds(2)), NOW);
+        assertThat(texts()).containsExactly("new");
+        assertThat(store.storedEvents()).isEqualTo(1);
+        assertThat(store.reclaimedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("keep the latest events of each producer")
+    void keepLatestOfProducer() {
+        store.appendAll(ImmutableList.of(printed("jane", "one", NOW - 3_000),
+                                         printed("jane", "two", NOW - 2_000),
+                                         printed("jane", "three", NOW - 1_000),
+                                         printed("john", "alone", NOW - 4_000)));
+        store.compact(Retention.forever()
+                               .withMaxPerProducer(2), NOW);
+        assertThat(texts()).containsExactly("alone", "two", "three")
+                           .inOrder();
+    }
+
+    @Test
+    @DisplayName("drop the oldest events of all the producers when they take too many bytes")
+    void dropOldestOverBytes() {
+        Event oldest = printed("john", "first", NOW - 3_000);
+        store.appendAll(ImmutableList.of(printed("jane", "second", NOW - 2_000),
+                                         printed("jane", "third", NOW - 1_000)));
+        store.append(oldest);
+        long bytes = store.storedBytes();
+        store.compact(Retention.forever()
+                               .withMaxBytes(bytes - 1), NOW);
+        assertThat(texts()).containsExactly("second", "third")
+                           .inOrder();
+        assertThat(store.reclaimedBytes()).isEqualTo(oldest.getSerializedSize());
+        assertThat(store.storedBytes()).isEqualTo(bytes - oldest.getSerializedSize());
+    }
+
+    @Test
+    @DisplayName("keep appending the events of a producer whose events were all dropped")
+    void appendAfterCompaction() {
+        store.append(printed("jane", "old", NOW - 5_000));
+        store.compact(Retention.forever()
+                               .withMaxAge(Duration.ofSeconds(1)), NOW);
+        store.append(printed("jane", "new", NOW));
+        assertThat(texts()).containsExactly("new");
+    }
+
+    private List<String> texts() {
+        MemoizingObserver<Event> observer = memoizingObserver();
+        store.read(EventStreamQuery.getDefaultInstance(), observer);
+        assertThat(observer.isCompleted()).isTrue();
+        return observer.responses()
+                       .stream()
+                       .map(Event::enclosedMessage)
+                       .map(message -> ((Printed) message).getText())
+                       .collect(toList());
+    }
+
+    private static Event printed(String username, String text, long millis) {
+        TestEventFactory events =
+                TestEventFactory.newInstance(Identifier.pack(username),
+                                             RetainedEventStoreTest.class);
+        Printed printed = Printed.newBuilder()
+                .setUsername(username)
+                .setText(text)
+                .vBuild();
+        Event event = events.createEvent(printed);
+        return event.toBuilder()
+                    .setContext(event.getContext()
+                                     .toBuilder()
+                                     .setTimestamp(Timestamps.fromMillis(millis)))
+                    .build();
+    }
+}